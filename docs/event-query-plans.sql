@@ -0,0 +1,107 @@
+-- docs/event-query-plans.sql — EXPLAIN check for the GET /events access paths (V4, V9, V11)
+--
+-- Purpose: Seed one million event_records rows into a scratch schema and print the plan
+-- of every repository query EventQueryService can choose, so an index change can be
+-- checked before it ships. Each page query should show an Index Scan (or Index Only Scan)
+-- on the index named above it and a handful of buffers. The recorded output of this script
+-- is docs/event-query-plans.out; re-run it and update that file when an index changes.
+--
+-- Prerequisites:
+--   - A database migrated by Flyway (docker compose up postgres, then start the backend once)
+--
+-- Usage:
+--   psql -h localhost -U arca -d arca -f docs/event-query-plans.sql
+--
+-- Everything runs in a transaction that is rolled back; the seed never persists.
+
+BEGIN;
+
+-- 1M events: 20k packages × 50 events, 13 types, ~4 logs per block, 12 s blocks
+INSERT INTO event_records (chain_id, proxy_address, package_key, event_type, emitting_address,
+                           block_number, block_hash, tx_hash, log_index, block_timestamp, raw_data)
+SELECT 11155111,
+       '0x1234567890abcdef1234567890abcdef12345678',
+       '0x' || lpad(to_hex(n % 20000), 64, '0'),
+       (ARRAY['PackageActivated','ManifestUpdated','CheckIn','Renewed','GuardianApproved',
+              'GuardianVetoed','GuardianVetoRescinded','GuardianApproveRescinded','GuardianStateReset',
+              'PendingRelease','Released','Revoked','PackageRescued'])[1 + (n * 7) % 13],
+       '0x1234567890abcdef1234567890abcdef12345678',
+       5000000 + n / 4,
+       '0x' || lpad(to_hex(5000000 + n / 4), 64, '0'),
+       '0x' || lpad(to_hex(n), 64, '0'),
+       n % 4,
+       timestamptz '2025-01-01 00:00:00+00' + ((n / 4) * interval '12 seconds'),
+       '{}'::jsonb
+FROM generate_series(0, 999999) AS n;
+
+ANALYZE event_records;
+
+\echo '── PROXY: idx_event_records_chain_block_log (deep page) ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND (block_number, log_index) > (5200000, 1) AND block_number <= 9223372036854775807
+ORDER BY block_number, log_index LIMIT 201;
+
+\echo '── PACKAGE: idx_event_records_package_block (V4), Incremental Sort on log_index ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM event_records WHERE package_key = '0x' || lpad(to_hex(4242), 64, '0')
+  AND chain_id = 11155111 AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND (block_number, log_index) > (0, -1) AND block_number <= 9223372036854775807
+ORDER BY block_number, log_index LIMIT 201;
+
+\echo '── PROXY_TYPE: idx_event_records_proxy_type_block_log (block range) ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678' AND event_type = 'Released'
+  AND (block_number, log_index) > (5100000, -1) AND block_number <= 5150000
+ORDER BY block_number, log_index LIMIT 201;
+
+\echo '── PACKAGE_TYPE: idx_event_records_pkg_type_block_log ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM event_records WHERE package_key = '0x' || lpad(to_hex(4242), 64, '0')
+  AND event_type = 'CheckIn'
+  AND chain_id = 11155111 AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND (block_number, log_index) > (0, -1) AND block_number <= 9223372036854775807
+ORDER BY block_number, log_index LIMIT 201;
+
+\echo '── fromTime -> block: idx_event_records_proxy_time_block (Index Only Scan) ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT block_number FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND block_timestamp >= timestamptz '2025-01-15 00:00:00+00'
+ORDER BY block_timestamp, block_number LIMIT 1;
+
+\echo '── toTime -> block: idx_event_records_proxy_time_block, backward ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT block_number FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND block_timestamp <= timestamptz '2025-01-20 00:00:00+00'
+ORDER BY block_timestamp DESC, block_number DESC LIMIT 1;
+
+\echo '── total, PROXY unfiltered: pg_class estimate, no scan ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'event_records'::regclass;
+
+\echo '── total, PROXY_TYPE over the whole proxy: pg_stats estimate, no scan ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT (GREATEST(c.reltuples, 0) * COALESCE((
+          SELECT sum(m.freq) FROM pg_stats s
+          CROSS JOIN LATERAL unnest(s.most_common_vals::text::text[], s.most_common_freqs) AS m(val, freq)
+          WHERE s.schemaname = current_schema() AND s.tablename = 'event_records'
+            AND s.attname = 'event_type' AND m.val IN ('Released', 'Revoked')), 0))::bigint
+FROM pg_class c WHERE c.oid = 'event_records'::regclass;
+
+\echo '── total, PROXY_TYPE over the whole proxy, exact count(*) for comparison (not used) ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND event_type IN ('Released', 'Revoked') AND block_number BETWEEN 0 AND 9223372036854775807;
+
+\echo '── total, PROXY_TYPE over a block range: exact count(*) on idx_event_records_proxy_type_block_log ──'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM event_records WHERE chain_id = 11155111
+  AND proxy_address = '0x1234567890abcdef1234567890abcdef12345678'
+  AND event_type IN ('Released', 'Revoked') AND block_number BETWEEN 5100000 AND 5150000;
+
+ROLLBACK;
@@ -31,12 +31,15 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/auth/verify").permitAll()
                 .requestMatchers(HttpMethod.GET, "/config").permitAll()
                 .requestMatchers(HttpMethod.GET, "/packages/*/status").permitAll()
+                .requestMatchers(HttpMethod.POST, "/packages/status:batch").permitAll()
                 .requestMatchers(HttpMethod.GET, "/packages/*/recovery-kit").permitAll()
                 .requestMatchers(HttpMethod.POST, "/packages/*/tx/renew").permitAll()
                 .requestMatchers(HttpMethod.POST, "/packages/*/tx/rescue").permitAll()
                 .requestMatchers(HttpMethod.GET, "/acc-template").permitAll()
                 .requestMatchers(HttpMethod.POST, "/validate-manifest").permitAll()
                 .requestMatchers(HttpMethod.GET, "/events").permitAll()
+                .requestMatchers(HttpMethod.GET, "/events/export").permitAll()
+                .requestMatchers(HttpMethod.GET, "/events/stream").permitAll()
                 .requestMatchers(HttpMethod.GET, "/artifacts/*").permitAll()
                 .requestMatchers(HttpMethod.GET, "/health/**").permitAll()
                 // SpringDoc / Swagger
@@ -2,34 +2,65 @@ package com.arcadigitalis.backend.api.controller;
 
 import com.arcadigitalis.backend.api.dto.EventPageResponse;
 import com.arcadigitalis.backend.api.dto.EventRecordResponse;
+import com.arcadigitalis.backend.api.exception.TooManyRequestsException;
 import com.arcadigitalis.backend.api.exception.ValidationException;
+import com.arcadigitalis.backend.evm.EventCursor;
+import com.arcadigitalis.backend.evm.EventExportService;
+import com.arcadigitalis.backend.evm.EventExportService.ExportSlot;
 import com.arcadigitalis.backend.evm.EventQueryService;
+import com.arcadigitalis.backend.evm.EventQueryService.EventFilter;
 import com.arcadigitalis.backend.evm.EventQueryService.EventPage;
 import com.arcadigitalis.backend.evm.EventQueryService.EventRecord;
+import com.arcadigitalis.backend.evm.EventStreamHub;
 import com.arcadigitalis.backend.evm.IndexerPoller;
+import com.arcadigitalis.backend.policy.ConfigGuard;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Paginated event index query endpoint (FR-030).
+ * Paginated event index query, bulk export and live stream endpoints (FR-030).
  * No on-chain enumeration — all queries served from indexed DB.
+ * eventType may be repeated or comma-separated; block and time bounds are inclusive.
  */
 @RestController
 @RequestMapping("/events")
-@Tag(name = "Events", description = "Paginated indexed event queries")
+@Tag(name = "Events", description = "Paginated indexed event queries, bulk export and live stream")
 public class EventController {
 
+    private static final Logger log = LoggerFactory.getLogger(EventController.class);
+
     private final EventQueryService eventQueryService;
+    private final EventExportService eventExportService;
+    private final EventStreamHub eventStreamHub;
     private final IndexerPoller indexerPoller;
+    private final ConfigGuard configGuard;
 
-    public EventController(EventQueryService eventQueryService, IndexerPoller indexerPoller) {
+    public EventController(EventQueryService eventQueryService, EventExportService eventExportService,
+                           EventStreamHub eventStreamHub, IndexerPoller indexerPoller, ConfigGuard configGuard) {
         this.eventQueryService = eventQueryService;
+        this.eventExportService = eventExportService;
+        this.eventStreamHub = eventStreamHub;
         this.indexerPoller = indexerPoller;
+        this.configGuard = configGuard;
     }
 
     @GetMapping
@@ -40,35 +71,154 @@ public class EventController {
             @RequestParam long chainId,
             @RequestParam String proxyAddress,
             @RequestParam(required = false) String packageKey,
-            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) List<String> eventType,
+            @RequestParam(required = false) Long fromBlock,
+            @RequestParam(required = false) Long toBlock,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fromTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant toTime,
             @RequestParam(required = false) String cursor,
-            @RequestParam(defaultValue = "50") int limit) {
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
+        configGuard.assertMatchesConfig(chainId, proxyAddress);
         if (limit < 1 || limit > 200) {
             throw new ValidationException("limit must be between 1 and 200");
         }
+        validateBlockRange(fromBlock, toBlock);
+        if (fromTime != null && toTime != null && fromTime.isAfter(toTime)) {
+            throw new ValidationException("fromTime must not be after toTime");
+        }
+        EventFilter filter = new EventFilter(packageKey, eventTypes(eventType), fromBlock, toBlock, fromTime, toTime);
 
-        int page = 0;
-        if (cursor != null && !cursor.isBlank()) {
-            try { page = Integer.parseInt(cursor); } catch (NumberFormatException e) {
-                throw new ValidationException("Invalid cursor format");
-            }
+        EventCursor after;
+        try {
+            after = EventCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor format");
         }
 
-        EventPage result = eventQueryService.query(chainId, proxyAddress, packageKey, page, limit);
+        EventPage result = eventQueryService.query(chainId, proxyAddress, filter, after, limit, includeTotal);
 
         var items = result.items().stream().map(this::toResponse).toList();
 
-        // X-Data-Staleness-Seconds header (T098)
-        long stalenessSeconds = computeStalenessSeconds();
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Data-Staleness-Seconds", String.valueOf(stalenessSeconds));
-
         return ResponseEntity.ok()
-            .headers(headers)
+            .headers(stalenessHeaders())
             .body(new EventPageResponse(items, result.totalElements(), result.nextCursor()));
     }
 
+    /**
+     * Streams a block range as NDJSON for bulk consumers, gzip-compressed when the client
+     * accepts it. Memory stays flat regardless of range size; see {@link EventExportService}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream indexed events of a block range as NDJSON", operationId = "exportEvents")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "NDJSON stream, one event per line"),
+                   @ApiResponse(responseCode = "400", description = "Invalid query parameters"),
+                   @ApiResponse(responseCode = "429", description = "Too many exports running")})
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam long chainId,
+            @RequestParam String proxyAddress,
+            @RequestParam long fromBlock,
+            @RequestParam long toBlock,
+            @RequestParam(required = false) String packageKey,
+            @RequestParam(required = false) List<String> eventType,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        configGuard.assertMatchesConfig(chainId, proxyAddress);
+        validateBlockRange(fromBlock, toBlock);
+        Set<String> eventTypes = eventTypes(eventType);
+
+        ExportSlot slot = eventExportService.tryAcquire();
+        if (slot == null) {
+            throw new TooManyRequestsException("Too many event exports in progress; retry later");
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        HttpHeaders headers = stalenessHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                    eventExportService.export(slot, chainId, proxyAddress, packageKey, eventTypes,
+                        fromBlock, toBlock, compressed);
+                    compressed.finish();
+                } else {
+                    eventExportService.export(slot, chainId, proxyAddress, packageKey, eventTypes,
+                        fromBlock, toBlock, out);
+                }
+            } catch (IOException e) {
+                log.debug("Event export aborted: {}", e.getMessage());
+                throw e;
+            } finally {
+                slot.release();
+            }
+        };
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Pushes one package's events as they are indexed, as Server-Sent Events whose ids are
+     * event cursors. A reconnect carrying {@code Last-Event-ID} first receives what it missed;
+     * see {@link EventStreamHub}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Live stream of a package's indexed events", operationId = "streamEvents")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Event stream opened"),
+                   @ApiResponse(responseCode = "400", description = "Invalid query parameters or Last-Event-ID"),
+                   @ApiResponse(responseCode = "429", description = "Too many open streams")})
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestParam long chainId,
+            @RequestParam String proxyAddress,
+            @RequestParam String packageKey,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        configGuard.assertMatchesConfig(chainId, proxyAddress);
+        if (packageKey.isBlank()) {
+            throw new ValidationException("packageKey is required");
+        }
+        EventCursor resumeAfter;
+        try {
+            resumeAfter = EventCursor.decode(lastEventId);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid Last-Event-ID");
+        }
+
+        SseEmitter emitter = eventStreamHub.subscribe(packageKey, resumeAfter);
+        if (emitter == null) {
+            throw new TooManyRequestsException("Too many event streams open; retry later");
+        }
+        HttpHeaders headers = stalenessHeaders();
+        headers.setCacheControl("no-store");
+        headers.set("X-Accel-Buffering", "no");
+        return ResponseEntity.ok().headers(headers).body(emitter);
+    }
+
+    private static void validateBlockRange(Long fromBlock, Long toBlock) {
+        if ((fromBlock != null && fromBlock < 0) || (toBlock != null && toBlock < 0)) {
+            throw new ValidationException("fromBlock and toBlock must not be negative");
+        }
+        if (fromBlock != null && toBlock != null && fromBlock > toBlock) {
+            throw new ValidationException("fromBlock must not be after toBlock");
+        }
+    }
+
+    private static Set<String> eventTypes(List<String> eventType) {
+        return eventType == null ? Set.of() : eventType.stream()
+            .map(String::trim).filter(type -> !type.isEmpty()).collect(Collectors.toSet());
+    }
+
+    /** X-Data-Staleness-Seconds header (T098). */
+    private HttpHeaders stalenessHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Data-Staleness-Seconds", String.valueOf(computeStalenessSeconds()));
+        return headers;
+    }
+
     private long computeStalenessSeconds() {
         long lastSync = indexerPoller.getLastSyncTimestamp();
         if (lastSync <= 0) return -1; // Never synced
@@ -80,7 +230,7 @@ public class EventController {
             record.id(), record.chainId(), record.proxyAddress(),
             record.packageKey(), record.eventType(), record.emittingAddress(),
             record.blockNumber(), record.txHash(), record.logIndex(),
-            record.blockTimestamp(), record.data()
+            record.blockTimestamp(), record.dataJson()
         );
     }
 }
@@ -1,5 +1,8 @@
 package com.arcadigitalis.backend.api.controller;
 
+import com.arcadigitalis.backend.evm.ProjectionVerifier;
+import com.arcadigitalis.backend.evm.RpcBatcher;
+import com.arcadigitalis.backend.evm.RpcEndpointRouter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,10 +22,17 @@ public class HealthController {
 
     private final DataSource dataSource;
     private final Web3j web3j;
+    private final RpcBatcher rpcBatcher;
+    private final RpcEndpointRouter rpcRouter;
+    private final ProjectionVerifier projectionVerifier;
 
-    public HealthController(DataSource dataSource, Web3j web3j) {
+    public HealthController(DataSource dataSource, Web3j web3j, RpcBatcher rpcBatcher, RpcEndpointRouter rpcRouter,
+                            ProjectionVerifier projectionVerifier) {
         this.dataSource = dataSource;
         this.web3j = web3j;
+        this.rpcBatcher = rpcBatcher;
+        this.rpcRouter = rpcRouter;
+        this.projectionVerifier = projectionVerifier;
     }
 
     /**
@@ -53,6 +63,26 @@ public class HealthController {
         return ResponseEntity.status(503).body(body);
     }
 
+    /**
+     * JSON-RPC transport counters — batch sizes and per-call latency — and the health,
+     * latency and remaining budget of each RPC endpoint.
+     */
+    @GetMapping("/rpc")
+    public ResponseEntity<Map<String, Object>> rpcStats() {
+        return ResponseEntity.ok(Map.of(
+                "batching", rpcBatcher.stats(),
+                "endpoints", rpcRouter.stats()
+        ));
+    }
+
+    /**
+     * Drift between the event-sourced package_cache and sampled on-chain reads, per field.
+     */
+    @GetMapping("/projection")
+    public ResponseEntity<ProjectionVerifier.DriftStats> projectionStats() {
+        return ResponseEntity.ok(projectionVerifier.stats());
+    }
+
     private boolean checkDatabase() {
         try (Connection conn = dataSource.getConnection()) {
             return conn.isValid(2);
@@ -63,7 +93,7 @@ public class HealthController {
 
     private boolean checkRpc() {
         try {
-            web3j.ethBlockNumber().send();
+            rpcBatcher.send(web3j.ethBlockNumber());
             return true;
         } catch (Exception e) {
             return false;
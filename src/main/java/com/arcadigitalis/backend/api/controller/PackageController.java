@@ -1,5 +1,7 @@
 package com.arcadigitalis.backend.api.controller;
 
+import com.arcadigitalis.backend.api.dto.PackageStatusBatchItem;
+import com.arcadigitalis.backend.api.dto.PackageStatusBatchRequest;
 import com.arcadigitalis.backend.api.dto.PackageStatusResponse;
 import com.arcadigitalis.backend.api.dto.RecoveryKitResponse;
 import com.arcadigitalis.backend.api.exception.ValidationException;
@@ -9,6 +11,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Package status and recovery kit endpoints.
  */
@@ -37,6 +41,17 @@ public class PackageController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Status for many packages in one request; per-key failures are reported inline.
+     * Unauthenticated, like the single-key status read.
+     */
+    @PostMapping("/status:batch")
+    @Operation(summary = "Get status for many packages", operationId = "getPackageStatusBatch")
+    public ResponseEntity<List<PackageStatusBatchItem>> getStatusBatch(@RequestBody PackageStatusBatchRequest request) {
+        List<PackageStatusBatchItem> response = packageService.getPackageViews(request.packageKeys());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Recovery kit (FR-010, FR-015, FR-016). Unauthenticated.
      */
@@ -3,10 +3,11 @@ package com.arcadigitalis.backend.api.dto;
 import java.util.List;
 
 /**
- * Paginated response for event records.
+ * Paginated response for event records. {@code total} is only present when requested with
+ * {@code includeTotal=true}.
  */
 public record EventPageResponse(
     List<EventRecordResponse> items,
-    long total,
+    Long total,
     String cursor
 ) {}
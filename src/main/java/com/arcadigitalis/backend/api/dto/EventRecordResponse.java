@@ -1,10 +1,14 @@
 package com.arcadigitalis.backend.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
 import java.time.Instant;
-import java.util.Map;
 
 /**
  * Response DTO for a single event record.
+ * {@code data} is the stored raw_data JSON, written into the response verbatim rather than
+ * parsed into a tree and serialized again.
  */
 public record EventRecordResponse(
     String id,
@@ -17,5 +21,7 @@ public record EventRecordResponse(
     String txHash,
     int logIndex,
     Instant blockTimestamp,
-    Map<String, Object> data
+    @JsonRawValue
+    @Schema(type = "object", description = "Decoded event fields")
+    String data
 ) {}
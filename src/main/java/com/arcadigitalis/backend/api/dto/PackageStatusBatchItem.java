@@ -0,0 +1,19 @@
+package com.arcadigitalis.backend.api.dto;
+
+/**
+ * One entry of a POST /packages/status:batch response, in request order. Exactly one of
+ * {@code status} and {@code error} is set; an error affects only this key.
+ */
+public record PackageStatusBatchItem(
+        String packageKey,
+        PackageStatusResponse status,
+        String error
+) {
+    public static PackageStatusBatchItem ok(PackageStatusResponse status) {
+        return new PackageStatusBatchItem(status.packageKey(), status, null);
+    }
+
+    public static PackageStatusBatchItem failed(String packageKey, String error) {
+        return new PackageStatusBatchItem(packageKey, null, error);
+    }
+}
@@ -0,0 +1,8 @@
+package com.arcadigitalis.backend.api.dto;
+
+import java.util.List;
+
+/**
+ * Request body for POST /packages/status:batch.
+ */
+public record PackageStatusBatchRequest(List<String> packageKeys) {}
@@ -0,0 +1,11 @@
+package com.arcadigitalis.backend.api.exception;
+
+/**
+ * Thrown when a bounded server-side resource (e.g. event export slots) is exhausted.
+ * Maps to HTTP 429.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
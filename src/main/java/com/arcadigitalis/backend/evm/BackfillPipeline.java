@@ -0,0 +1,156 @@
+package com.arcadigitalis.backend.evm;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Staged historical sync: several ranges are fetched from the RPC concurrently, decoded on a
+ * separate worker pool, and handed to the calling thread, which commits them strictly in block
+ * order. At most {@code queue-depth} ranges are in flight, so a slow committer back-pressures
+ * the fetchers instead of buffering the whole backlog in memory.
+ * <p>
+ * A failed range stops the run at the last committed block; the cursor never skips a range.
+ */
+@Component
+public class BackfillPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillPipeline.class);
+
+    private final BlockRangePlanner rangePlanner;
+    private final boolean enabled;
+    private final int queueDepth;
+    private final ThreadPoolExecutor fetchPool;
+    private final ThreadPoolExecutor decodePool;
+
+    public BackfillPipeline(BlockRangePlanner rangePlanner,
+                            @Value("${arca.indexer.backfill.enabled:true}") boolean enabled,
+                            @Value("${arca.indexer.backfill.fetchers:4}") int fetchers,
+                            @Value("${arca.indexer.backfill.decoders:2}") int decoders,
+                            @Value("${arca.indexer.backfill.queue-depth:8}") int queueDepth) {
+        this.rangePlanner = rangePlanner;
+        this.enabled = enabled;
+        this.queueDepth = Math.max(1, queueDepth);
+        this.fetchPool = boundedPool("arca-backfill-fetch-", Math.max(1, fetchers), this.queueDepth);
+        this.decodePool = boundedPool("arca-backfill-decode-", Math.max(1, decoders), this.queueDepth);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs {@code fetch → decode → commit} over {@code [fromBlock, toBlock]}. Fetch and decode
+     * run on the pipeline's pools; {@code commit} runs on the calling thread, in block order,
+     * and returns {@code false} to stop the run (e.g. after a reorg rewind).
+     *
+     * @return the last block whose range was committed, or {@code fromBlock - 1} if none was
+     */
+    public <F, D> long run(long fromBlock, long toBlock, RangeFetch<F> fetch,
+                           Function<F, D> decode, Predicate<D> commit) {
+        Deque<InFlight<D>> inFlight = new ArrayDeque<>();
+        long nextFrom = fromBlock;
+        long committed = fromBlock - 1;
+
+        try {
+            while (nextFrom <= toBlock || !inFlight.isEmpty()) {
+                // Keep the window full; ranges are planned with the current adaptive chunk size
+                while (nextFrom <= toBlock && inFlight.size() < queueDepth) {
+                    long rangeFrom = nextFrom;
+                    long rangeTo = rangePlanner.nextRangeEnd(rangeFrom, toBlock);
+                    // Submitted as a plain task so cancel(true) interrupts a fetch that is running
+                    CompletableFuture<F> fetched = new CompletableFuture<>();
+                    Future<?> fetchTask = fetchPool.submit(() -> {
+                        try {
+                            fetched.complete(RpcPriority.BACKGROUND.call(
+                                () -> fetchUnchecked(fetch, rangeFrom, rangeTo)));
+                        } catch (Throwable e) {
+                            fetched.completeExceptionally(e);
+                        }
+                    });
+                    CompletableFuture<D> future = fetched.thenApplyAsync(decode, decodePool);
+                    inFlight.addLast(new InFlight<>(rangeFrom, rangeTo, fetchTask, future));
+                    nextFrom = rangeTo + 1;
+                }
+
+                InFlight<D> head = inFlight.removeFirst();
+                D decoded;
+                try {
+                    decoded = head.future().join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Backfill stopped at block {}: range {}-{} failed: {}",
+                        committed, head.fromBlock(), head.toBlock(), cause.getMessage());
+                    break;
+                }
+                if (!commit.test(decoded)) {
+                    break;
+                }
+                committed = head.toBlock();
+            }
+        } finally {
+            // Ranges past the stop point are never committed; interrupt their RPCs
+            for (InFlight<D> pending : inFlight) {
+                pending.fetchTask().cancel(true);
+                pending.future().cancel(false);
+            }
+        }
+        return committed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchPool.shutdownNow();
+        decodePool.shutdownNow();
+    }
+
+    private static <F> F fetchUnchecked(RangeFetch<F> fetch, long fromBlock, long toBlock) {
+        try {
+            return fetch.fetch(fromBlock, toBlock);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Fixed-size pool with a bounded work queue. The in-flight window never exceeds
+     * {@code capacity}, so submissions are not rejected in practice.
+     */
+    private static ThreadPoolExecutor boundedPool(String prefix, int threads, int capacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity), factory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /** Fetch stage for one inclusive block range. */
+    @FunctionalInterface
+    public interface RangeFetch<F> {
+        F fetch(long fromBlock, long toBlock) throws Exception;
+    }
+
+    private record InFlight<D>(long fromBlock, long toBlock, Future<?> fetchTask, CompletableFuture<D> future) {}
+}
@@ -0,0 +1,50 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used memo of block number → (hash, parentHash, timestamp).
+ * Shared by {@link IndexerPoller} and {@link ReorgHandler}; entries at or above a fork
+ * point are evicted when a reorg rewinds the index.
+ */
+@Component
+public class BlockHeaderCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<Long, BlockHeader> headers;
+
+    public BlockHeaderCache(@Value("${arca.indexer.header-cache-size:4096}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.headers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BlockHeader> eldest) {
+                return size() > BlockHeaderCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized BlockHeader get(long blockNumber) {
+        return headers.get(blockNumber);
+    }
+
+    public synchronized void put(BlockHeader header) {
+        headers.put(header.number(), header);
+    }
+
+    /**
+     * Drops every cached header with {@code number >= fromBlock} — those blocks may
+     * have been replaced by a reorg.
+     */
+    public synchronized void evictFrom(long fromBlock) {
+        headers.keySet().removeIf(number -> number >= fromBlock);
+    }
+
+    public synchronized int size() {
+        return headers.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.arcadigitalis.backend.evm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Fetches block headers for the indexer in JSON-RPC batch requests instead of one
+ * {@code eth_getBlockByNumber} round trip per block. Results are memoized in the shared
+ * {@link BlockHeaderCache}; only cache misses go to the RPC.
+ */
+@Component
+public class BlockHeaderFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockHeaderFetcher.class);
+
+    private final Web3j web3j;
+    private final BlockHeaderCache cache;
+    private final int batchSize;
+
+    public BlockHeaderFetcher(Web3j web3j, BlockHeaderCache cache,
+                              @Value("${arca.indexer.header-batch-size:100}") int batchSize) {
+        this.web3j = web3j;
+        this.cache = cache;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Returns the headers for the requested block numbers. Blocks the node could not
+     * return (RPC failure, pruned block) are absent from the map; callers decide the fallback.
+     */
+    public Map<Long, BlockHeader> fetchHeaders(Collection<Long> blockNumbers) {
+        Map<Long, BlockHeader> result = new HashMap<>();
+        TreeSet<Long> missing = new TreeSet<>();
+        for (Long number : blockNumbers) {
+            BlockHeader cached = cache.get(number);
+            if (cached != null) {
+                result.put(number, cached);
+            } else {
+                missing.add(number);
+            }
+        }
+
+        List<Long> pending = new ArrayList<>(missing);
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<Long> batch = pending.subList(start, Math.min(start + batchSize, pending.size()));
+            for (BlockHeader header : fetchBatch(batch)) {
+                cache.put(header);
+                result.put(header.number(), header);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a single header, from cache when possible.
+     */
+    public BlockHeader fetchHeader(long blockNumber) {
+        return fetchHeaders(List.of(blockNumber)).get(blockNumber);
+    }
+
+    private List<BlockHeader> fetchBatch(List<Long> blockNumbers) {
+        List<BlockHeader> headers = new ArrayList<>(blockNumbers.size());
+        try {
+            BatchRequest batch = web3j.newBatch();
+            for (Long number : blockNumbers) {
+                batch.add(web3j.ethGetBlockByNumber(new DefaultBlockParameterNumber(number), false));
+            }
+            BatchResponse response = batch.send();
+            // Match by the returned block number rather than relying on response ordering
+            for (Response<?> item : response.getResponses()) {
+                if (item.hasError() || !(item instanceof EthBlock ethBlock)) {
+                    continue;
+                }
+                EthBlock.Block block = ethBlock.getBlock();
+                if (block == null || block.getNumber() == null) {
+                    continue;
+                }
+                headers.add(new BlockHeader(
+                    block.getNumber().longValue(),
+                    block.getHash(),
+                    block.getParentHash(),
+                    block.getTimestamp() != null ? Instant.ofEpochSecond(block.getTimestamp().longValue()) : null
+                ));
+            }
+        } catch (Exception e) {
+            log.warn("Batched header fetch failed for blocks {}-{}: {}",
+                blockNumbers.get(0), blockNumbers.get(blockNumbers.size() - 1), e.getMessage());
+        }
+        return headers;
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    public record BlockHeader(long number, String hash, String parentHash, Instant timestamp) {}
+}
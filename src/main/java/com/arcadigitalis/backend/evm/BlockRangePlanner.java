@@ -0,0 +1,131 @@
+package com.arcadigitalis.backend.evm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Adaptive {@code eth_getLogs} range sizing for indexer catch-up.
+ * Starts at a configurable chunk size, halves the chunk when the provider rejects a
+ * range ("too many results", response size limits, timeouts) and doubles it again
+ * after a streak of fast responses. Catch-up speed therefore tracks the provider's
+ * limits instead of depending on one giant request succeeding.
+ */
+@Component
+public class BlockRangePlanner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockRangePlanner.class);
+
+    /** Lower-cased fragments of provider error messages that mean "range too large / too slow". */
+    private static final List<String> OVERLOAD_MARKERS = List.of(
+        "too many",
+        "more than",
+        "limit exceeded",
+        "exceeds",
+        "exceed maximum",
+        "response size",
+        "range too large",
+        "block range",
+        "query timeout",
+        "timed out",
+        "timeout"
+    );
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long fastResponseMs;
+    private final int growthStreak;
+
+    private int chunkSize;
+    private int fastResponses;
+
+    public BlockRangePlanner(@Value("${arca.indexer.chunk.initial-size:2000}") int initialChunkSize,
+                             @Value("${arca.indexer.chunk.min-size:1}") int minChunkSize,
+                             @Value("${arca.indexer.chunk.max-size:10000}") int maxChunkSize,
+                             @Value("${arca.indexer.chunk.fast-response-ms:2000}") long fastResponseMs,
+                             @Value("${arca.indexer.chunk.growth-streak:5}") int growthStreak) {
+        if (minChunkSize < 1 || maxChunkSize < minChunkSize) {
+            throw new IllegalStateException("arca.indexer.chunk sizes must satisfy 1 <= min-size <= max-size");
+        }
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.fastResponseMs = fastResponseMs;
+        this.growthStreak = Math.max(1, growthStreak);
+        this.chunkSize = clamp(initialChunkSize);
+    }
+
+    /**
+     * Returns the inclusive end block of the next range starting at {@code fromBlock},
+     * never past {@code confirmedBlock}.
+     */
+    public synchronized long nextRangeEnd(long fromBlock, long confirmedBlock) {
+        return Math.min(fromBlock + chunkSize - 1, confirmedBlock);
+    }
+
+    public synchronized int currentChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Records a successful range fetch. After {@code growth-streak} consecutive responses
+     * faster than {@code fast-response-ms} the chunk size doubles (up to {@code max-size}).
+     */
+    public synchronized void onSuccess(long elapsedMs) {
+        if (elapsedMs > fastResponseMs) {
+            fastResponses = 0;
+            return;
+        }
+        if (++fastResponses >= growthStreak && chunkSize < maxChunkSize) {
+            chunkSize = clamp((long) chunkSize * 2);
+            fastResponses = 0;
+            log.debug("eth_getLogs chunk size grown to {}", chunkSize);
+        }
+    }
+
+    /**
+     * Records a provider overload for the current chunk size and halves it.
+     *
+     * @return {@code true} if the chunk was shrunk and the range should be retried,
+     *         {@code false} if the planner is already at {@code min-size}
+     */
+    public synchronized boolean onOverload() {
+        fastResponses = 0;
+        if (chunkSize <= minChunkSize) {
+            return false;
+        }
+        chunkSize = clamp(chunkSize / 2);
+        log.debug("eth_getLogs chunk size shrunk to {}", chunkSize);
+        return true;
+    }
+
+    /**
+     * Classifies a JSON-RPC error message as a range overload (too many results or timeout).
+     */
+    public static boolean isOverloadError(String message) {
+        if (message == null) return false;
+        String lower = message.toLowerCase(Locale.ROOT);
+        return OVERLOAD_MARKERS.stream().anyMatch(lower::contains);
+    }
+
+    /**
+     * Classifies a transport failure as a range overload: any I/O timeout in the cause
+     * chain, or an overload marker in one of the messages.
+     */
+    public static boolean isOverloadError(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedIOException || isOverloadError(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int clamp(long size) {
+        return (int) Math.max(minChunkSize, Math.min(maxChunkSize, size));
+    }
+}
@@ -1,24 +1,41 @@
 package com.arcadigitalis.backend.evm;
 
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.datatypes.*;
-import org.web3j.abi.datatypes.generated.Bytes32;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.utils.Numeric;
+import org.web3j.crypto.Hash;
 import org.springframework.stereotype.Component;
 
-import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * ABI-encodes all 11 mutating contract functions into hex calldata strings.
  * Never signs or submits — Constitution Principle IV.
+ * <p>
+ * Selectors are hashed once at class load. Each call writes its words straight into a
+ * per-thread reused buffer; no web3j {@code Type}s, {@code BigInteger}s or keccak runs per
+ * request. Output is byte-for-byte what {@code FunctionEncoder.encode} produces for the
+ * same {@code Function} (see CalldataBuilderTest).
  */
 @Component
 public class CalldataBuilder {
 
+    private static final String ACTIVATE = selector(
+        "activate(bytes32,string,address,address[],uint256,uint256,uint256,uint256,uint256)");
+    private static final String CHECK_IN = selector("checkIn(bytes32)");
+    private static final String RENEW = selector("renew(bytes32)");
+    private static final String UPDATE_MANIFEST_URI = selector("updateManifestUri(bytes32,string)");
+    private static final String REVOKE = selector("revoke(bytes32)");
+    private static final String RESCUE = selector("rescue(bytes32)");
+    private static final String GUARDIAN_APPROVE = selector("guardianApprove(bytes32)");
+    private static final String GUARDIAN_VETO = selector("guardianVeto(bytes32)");
+    private static final String GUARDIAN_RESCIND_VETO = selector("guardianRescindVeto(bytes32)");
+    private static final String GUARDIAN_RESCIND_APPROVE = selector("guardianRescindApprove(bytes32)");
+    private static final String CLAIM = selector("claim(bytes32)");
+
+    private static final int WORD = 64; // hex chars per 32-byte word
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(2 + 8 + 16 * WORD));
+
     /**
      * activate(bytes32 packageKey, string manifestUri, address beneficiary,
      *          address[] guardians, uint256 guardianQuorum,
@@ -29,128 +46,163 @@ public class CalldataBuilder {
                                   List<String> guardians, int guardianQuorum,
                                   long warnThreshold, long inactivityThreshold,
                                   long gracePeriodSeconds, long paidUntil) {
-        Function function = new Function(
-            "activate",
-            Arrays.asList(
-                toBytes32(packageKey),
-                new Utf8String(manifestUri),
-                new Address(beneficiary),
-                new DynamicArray<>(Address.class,
-                    guardians.stream().map(Address::new).toList()),
-                new Uint256(BigInteger.valueOf(guardianQuorum)),
-                new Uint256(BigInteger.valueOf(warnThreshold)),
-                new Uint256(BigInteger.valueOf(inactivityThreshold)),
-                new Uint256(BigInteger.valueOf(gracePeriodSeconds)),
-                new Uint256(BigInteger.valueOf(paidUntil))
-            ),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        byte[] uri = manifestUri.getBytes(StandardCharsets.UTF_8);
+        // Head: 9 words; the string tail comes first, then the address[] tail
+        long uriOffset = 9 * 32L;
+        long guardiansOffset = uriOffset + 32 + padded(uri.length);
+
+        StringBuilder out = begin(ACTIVATE);
+        bytes32(out, packageKey);
+        uint(out, uriOffset);
+        address(out, beneficiary);
+        uint(out, guardiansOffset);
+        uint(out, guardianQuorum);
+        uint(out, warnThreshold);
+        uint(out, inactivityThreshold);
+        uint(out, gracePeriodSeconds);
+        uint(out, paidUntil);
+        string(out, uri);
+        uint(out, guardians.size());
+        for (String guardian : guardians) {
+            address(out, guardian);
+        }
+        return out.toString();
     }
 
     /** checkIn(bytes32 packageKey) */
     public String encodeCheckIn(String packageKey) {
-        Function function = new Function(
-            "checkIn",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(CHECK_IN, packageKey);
     }
 
     /** renew(bytes32 packageKey) */
     public String encodeRenew(String packageKey) {
-        Function function = new Function(
-            "renew",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(RENEW, packageKey);
     }
 
     /** updateManifestUri(bytes32 packageKey, string newManifestUri) */
     public String encodeUpdateManifestUri(String packageKey, String newManifestUri) {
-        Function function = new Function(
-            "updateManifestUri",
-            Arrays.asList(toBytes32(packageKey), new Utf8String(newManifestUri)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        StringBuilder out = begin(UPDATE_MANIFEST_URI);
+        bytes32(out, packageKey);
+        uint(out, 2 * 32L);
+        string(out, newManifestUri.getBytes(StandardCharsets.UTF_8));
+        return out.toString();
     }
 
     /** revoke(bytes32 packageKey) */
     public String encodeRevoke(String packageKey) {
-        Function function = new Function(
-            "revoke",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(REVOKE, packageKey);
     }
 
     /** rescue(bytes32 packageKey) */
     public String encodeRescue(String packageKey) {
-        Function function = new Function(
-            "rescue",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(RESCUE, packageKey);
     }
 
     /** guardianApprove(bytes32 packageKey) */
     public String encodeGuardianApprove(String packageKey) {
-        Function function = new Function(
-            "guardianApprove",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(GUARDIAN_APPROVE, packageKey);
     }
 
     /** guardianVeto(bytes32 packageKey) */
     public String encodeGuardianVeto(String packageKey) {
-        Function function = new Function(
-            "guardianVeto",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(GUARDIAN_VETO, packageKey);
     }
 
     /** guardianRescindVeto(bytes32 packageKey) */
     public String encodeGuardianRescindVeto(String packageKey) {
-        Function function = new Function(
-            "guardianRescindVeto",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(GUARDIAN_RESCIND_VETO, packageKey);
     }
 
     /** guardianRescindApprove(bytes32 packageKey) */
     public String encodeGuardianRescindApprove(String packageKey) {
-        Function function = new Function(
-            "guardianRescindApprove",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(GUARDIAN_RESCIND_APPROVE, packageKey);
     }
 
     /** claim(bytes32 packageKey) */
     public String encodeClaim(String packageKey) {
-        Function function = new Function(
-            "claim",
-            List.of(toBytes32(packageKey)),
-            Collections.emptyList()
-        );
-        return FunctionEncoder.encode(function);
+        return selectorAndKey(CLAIM, packageKey);
+    }
+
+    // ── Helpers ────────────────────────────────────────────
+
+    /** 8 hex chars, no prefix. */
+    private static String selector(String signature) {
+        return Hash.sha3String(signature).substring(2, 10);
+    }
+
+    private static StringBuilder begin(String selector) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return out.append("0x").append(selector);
     }
 
-    // ── Helper ─────────────────────────────────────────────
+    private static String selectorAndKey(String selector, String packageKey) {
+        StringBuilder out = begin(selector);
+        bytes32(out, packageKey);
+        return out.toString();
+    }
+
+    /** A 0x-prefixed 32-byte hex key, written lowercase. */
+    private static void bytes32(StringBuilder out, String hexKey) {
+        int start = prefixLength(hexKey);
+        if (hexKey.length() - start != WORD) {
+            throw new IllegalArgumentException("bytes32 value must be 32 bytes of hex: " + hexKey);
+        }
+        hexDigits(out, hexKey, start);
+    }
+
+    /** A 20-byte address, left-padded to a word and written lowercase. */
+    private static void address(StringBuilder out, String address) {
+        int start = prefixLength(address);
+        int digits = address.length() - start;
+        if (digits == 0 || digits > 40) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        zeros(out, WORD - digits);
+        hexDigits(out, address, start);
+    }
+
+    private static void uint(StringBuilder out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("uint256 value must not be negative: " + value);
+        }
+        zeros(out, WORD - 16);
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    /** Length word, then the bytes right-padded with zeros to a whole word. */
+    private static void string(StringBuilder out, byte[] bytes) {
+        uint(out, bytes.length);
+        for (byte b : bytes) {
+            out.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+        }
+        zeros(out, 2 * (padded(bytes.length) - bytes.length));
+    }
+
+    private static void hexDigits(StringBuilder out, String hex, int start) {
+        for (int i = start; i < hex.length(); i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Non-hex character in " + hex);
+            }
+            out.append(HEX[digit]);
+        }
+    }
+
+    private static void zeros(StringBuilder out, int count) {
+        for (int i = 0; i < count; i++) {
+            out.append('0');
+        }
+    }
+
+    private static int prefixLength(String hex) {
+        return hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+    }
 
-    private static Bytes32 toBytes32(String hexKey) {
-        return new Bytes32(Numeric.hexStringToByteArray(hexKey));
+    /** Byte length rounded up to a multiple of 32. */
+    private static int padded(int length) {
+        return (length + 31) / 32 * 32;
     }
 }
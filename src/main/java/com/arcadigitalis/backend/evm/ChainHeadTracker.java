@@ -0,0 +1,85 @@
+package com.arcadigitalis.backend.evm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Latest chain head seen by this instance. The indexer feeds it from {@code eth_blockNumber}
+ * polls or pushed {@code newHeads}; when nothing has fed it for {@code refresh-ms} (an
+ * instance that does not hold the indexer lock, or a long poll interval) it asks the node
+ * with one {@code eth_blockNumber} of its own. Lets read paths tell whether a block-tagged
+ * value is still current without spending an RPC call per read.
+ */
+@Component
+public class ChainHeadTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainHeadTracker.class);
+
+    /** {@link #current()} before any head has been observed. */
+    public static final long UNKNOWN = -1L;
+
+    private final Web3j web3j;
+    private final long refreshNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong head = new AtomicLong(UNKNOWN);
+    private final AtomicLong updatedAtNanos;
+
+    @Autowired
+    public ChainHeadTracker(Web3j web3j, @Value("${arca.evm.chain-head.refresh-ms:3000}") long refreshMs) {
+        this(web3j, refreshMs, System::nanoTime);
+    }
+
+    /** Tracker fed only through {@link #update}. */
+    public ChainHeadTracker() {
+        this(null, 0, System::nanoTime);
+    }
+
+    ChainHeadTracker(Web3j web3j, long refreshMs, LongSupplier nanoClock) {
+        this.web3j = web3j;
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, refreshMs));
+        this.nanoClock = nanoClock;
+        this.updatedAtNanos = new AtomicLong(nanoClock.getAsLong() - refreshNanos);
+    }
+
+    /** Records an observed head; heads never move backwards here (reorgs keep the height). */
+    public void update(long blockNumber) {
+        head.accumulateAndGet(blockNumber, Math::max);
+        updatedAtNanos.set(nanoClock.getAsLong());
+    }
+
+    public long current() {
+        return head.get();
+    }
+
+    /** Polls the head unless something else updated it within the last {@code refresh-ms}. */
+    @Scheduled(fixedDelayString = "${arca.evm.chain-head.refresh-ms:3000}")
+    public void refresh() {
+        if (web3j == null || refreshNanos == 0
+                || nanoClock.getAsLong() - updatedAtNanos.get() < refreshNanos) {
+            return;
+        }
+        RpcPriority previous = RpcPriority.BACKGROUND.enter();
+        try {
+            EthBlockNumber response = web3j.ethBlockNumber().send();
+            if (response.hasError()) {
+                log.debug("Chain head refresh failed: {}", response.getError().getMessage());
+                return;
+            }
+            update(response.getBlockNumber().longValue());
+        } catch (Exception e) {
+            log.debug("Chain head refresh failed: {}", e.getMessage());
+        } finally {
+            RpcPriority.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.arcadigitalis.backend.evm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the event log: the (blockNumber, logIndex) of the last event a page
+ * returned. The next page starts strictly after it, so a deep page costs the same index
+ * range scan as the first one. Clients see it only as an opaque base64url token.
+ */
+public record EventCursor(long blockNumber, int logIndex) {
+
+    /** Position before the first event; the first page starts here. */
+    public static final EventCursor START = new EventCursor(-1L, -1);
+
+    public String encode() {
+        String plain = blockNumber + ":" + logIndex;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}; null or blank means {@link #START}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EventCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = plain.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed event cursor");
+            }
+            long blockNumber = Long.parseLong(plain.substring(0, separator));
+            int logIndex = Integer.parseInt(plain.substring(separator + 1));
+            if (blockNumber < 0 || logIndex < 0) {
+                throw new IllegalArgumentException("Malformed event cursor");
+            }
+            return new EventCursor(blockNumber, logIndex);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed event cursor", e);
+        }
+    }
+}
@@ -11,17 +11,21 @@ import org.web3j.abi.datatypes.*;
 import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.protocol.core.methods.response.Log;
-import org.web3j.utils.Numeric;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Decodes all 13 contract event types from raw EthLog entries.
- * Uses Web3j ABI decoding and topic matching.
+ * topic0 dispatch is a single hash lookup; fixed-layout events (Renewed, PendingRelease,
+ * guardian events) are read straight from the hex data, and only the dynamic layouts
+ * (PackageActivated, ManifestUpdated) go through Web3j ABI decoding with pre-converted
+ * output parameter lists.
  */
 @Component
 public class EventDecoder {
@@ -43,6 +47,26 @@ public class EventDecoder {
     private static final String SIG_REVOKED = eventSignature("Revoked(bytes32)");
     private static final String SIG_PACKAGE_RESCUED = eventSignature("PackageRescued(bytes32)");
 
+    /** Lower-cased topic0 → event spec. Built once; lookups never allocate for lower-case input. */
+    private static final Map<String, EventSpec> BY_TOPIC0 = buildTopicIndex();
+
+    // Pre-converted ABI output layouts for the dynamic events
+    private static final List<TypeReference<Type>> PACKAGE_ACTIVATED_OUTPUTS = Utils.convert(Arrays.asList(
+        new TypeReference<Address>() {},
+        new TypeReference<Address>() {},
+        new TypeReference<Utf8String>() {},
+        new TypeReference<DynamicArray<Address>>() {},
+        new TypeReference<Uint256>() {},
+        new TypeReference<Uint256>() {},
+        new TypeReference<Uint256>() {}
+    ));
+    private static final List<TypeReference<Type>> MANIFEST_UPDATED_OUTPUTS = Utils.convert(List.of(
+        new TypeReference<Utf8String>() {}
+    ));
+
+    /** "0x" + one 32-byte word. */
+    private static final int WORD_HEX_LENGTH = 2 + 64;
+
     /**
      * Decodes a raw log entry into a typed DecodedEvent.
      * @throws UnknownEventException if the topic0 doesn't match any known event
@@ -53,17 +77,17 @@ public class EventDecoder {
         }
 
         String topic0 = logEntry.getTopics().get(0);
-        String eventType = resolveEventType(topic0);
+        EventSpec spec = resolveEventSpec(topic0);
 
-        if (eventType == null) {
+        if (spec == null) {
             throw new UnknownEventException("Unrecognized event topic: " + topic0);
         }
 
         String packageKey = extractPackageKeyFromTopic(logEntry);
-        Map<String, Object> rawData = decodeEventData(eventType, logEntry);
+        Map<String, Object> rawData = decodeEventData(spec, logEntry);
 
         return new DecodedEvent(
-            eventType,
+            spec.name(),
             packageKey,
             logEntry.getBlockNumber().longValue(),
             logEntry.getBlockHash(),
@@ -73,21 +97,15 @@ public class EventDecoder {
         );
     }
 
-    private String resolveEventType(String topic0) {
-        if (topic0.equalsIgnoreCase(SIG_PACKAGE_ACTIVATED)) return "PackageActivated";
-        if (topic0.equalsIgnoreCase(SIG_MANIFEST_UPDATED)) return "ManifestUpdated";
-        if (topic0.equalsIgnoreCase(SIG_CHECK_IN)) return "CheckIn";
-        if (topic0.equalsIgnoreCase(SIG_RENEWED)) return "Renewed";
-        if (topic0.equalsIgnoreCase(SIG_GUARDIAN_APPROVED)) return "GuardianApproved";
-        if (topic0.equalsIgnoreCase(SIG_GUARDIAN_VETOED)) return "GuardianVetoed";
-        if (topic0.equalsIgnoreCase(SIG_GUARDIAN_VETO_RESCINDED)) return "GuardianVetoRescinded";
-        if (topic0.equalsIgnoreCase(SIG_GUARDIAN_APPROVE_RESCINDED)) return "GuardianApproveRescinded";
-        if (topic0.equalsIgnoreCase(SIG_GUARDIAN_STATE_RESET)) return "GuardianStateReset";
-        if (topic0.equalsIgnoreCase(SIG_PENDING_RELEASE)) return "PendingRelease";
-        if (topic0.equalsIgnoreCase(SIG_RELEASED)) return "Released";
-        if (topic0.equalsIgnoreCase(SIG_REVOKED)) return "Revoked";
-        if (topic0.equalsIgnoreCase(SIG_PACKAGE_RESCUED)) return "PackageRescued";
-        return null;
+    /** topic0 values of every known event, e.g. for an {@code eth_getLogs} topic filter. */
+    public static Set<String> knownTopics() {
+        return BY_TOPIC0.keySet();
+    }
+
+    private static EventSpec resolveEventSpec(String topic0) {
+        EventSpec spec = BY_TOPIC0.get(topic0);
+        // Nodes return lower-case hex; only mixed-case input pays for normalization
+        return spec != null ? spec : BY_TOPIC0.get(topic0.toLowerCase(Locale.ROOT));
     }
 
     private String extractPackageKeyFromTopic(Log logEntry) {
@@ -99,26 +117,18 @@ public class EventDecoder {
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> decodeEventData(String eventType, Log logEntry) {
+    private Map<String, Object> decodeEventData(EventSpec spec, Log logEntry) {
         String data = logEntry.getData();
         if (data == null || data.equals("0x") || data.isEmpty()) {
             return Collections.emptyMap();
         }
 
         try {
-            return switch (eventType) {
-                case "PackageActivated" -> {
+            return switch (spec.layout()) {
+                case PACKAGE_ACTIVATED -> {
                     // Non-indexed: owner(address), beneficiary(address), manifestUri(string),
                     // guardians(address[]), guardianQuorum(uint256), warnThreshold(uint256), inactivityThreshold(uint256)
-                    List<Type> decoded = FunctionReturnDecoder.decode(data, Utils.convert(Arrays.asList(
-                        new TypeReference<Address>() {},
-                        new TypeReference<Address>() {},
-                        new TypeReference<Utf8String>() {},
-                        new TypeReference<DynamicArray<Address>>() {},
-                        new TypeReference<Uint256>() {},
-                        new TypeReference<Uint256>() {},
-                        new TypeReference<Uint256>() {}
-                    )));
+                    List<Type> decoded = FunctionReturnDecoder.decode(data, PACKAGE_ACTIVATED_OUTPUTS);
                     yield Map.of(
                         "owner", decoded.get(0).getValue().toString(),
                         "beneficiary", decoded.get(1).getValue().toString(),
@@ -130,48 +140,73 @@ public class EventDecoder {
                         "inactivityThreshold", ((Uint256) decoded.get(6)).getValue().longValue()
                     );
                 }
-                case "ManifestUpdated" -> {
-                    List<Type> decoded = FunctionReturnDecoder.decode(data, Utils.convert(List.of(
-                        new TypeReference<Utf8String>() {}
-                    )));
+                case MANIFEST_UPDATED -> {
+                    List<Type> decoded = FunctionReturnDecoder.decode(data, MANIFEST_UPDATED_OUTPUTS);
                     yield Map.of("manifestUri", decoded.get(0).getValue().toString());
                 }
-                case "Renewed" -> {
-                    List<Type> decoded = FunctionReturnDecoder.decode(data, Utils.convert(List.of(
-                        new TypeReference<Uint256>() {}
-                    )));
-                    yield Map.of("paidUntil", ((Uint256) decoded.get(0)).getValue().longValue());
-                }
-                case "GuardianApproved", "GuardianVetoed", "GuardianVetoRescinded", "GuardianApproveRescinded" -> {
+                case UINT_WORD -> Map.of("paidUntil", lowLong(data));
+                case GUARDIAN -> {
                     // guardian address may be in topic[2] or data
                     if (logEntry.getTopics().size() > 2) {
-                        String guardian = "0x" + logEntry.getTopics().get(2).substring(26);
-                        yield Map.of("guardian", guardian);
+                        yield Map.of("guardian", "0x" + logEntry.getTopics().get(2).substring(26));
                     }
-                    List<Type> decoded = FunctionReturnDecoder.decode(data, Utils.convert(List.of(
-                        new TypeReference<Address>() {}
-                    )));
-                    yield Map.of("guardian", decoded.get(0).getValue().toString());
+                    requireWord(data);
+                    // address = low 20 bytes of the first word
+                    yield Map.of("guardian", "0x" + data.substring(26, WORD_HEX_LENGTH).toLowerCase(Locale.ROOT));
                 }
-                case "PendingRelease" -> {
-                    List<Type> decoded = FunctionReturnDecoder.decode(data, Utils.convert(List.of(
-                        new TypeReference<Uint256>() {}
-                    )));
-                    BigInteger flags = ((Uint256) decoded.get(0)).getValue();
+                case REASON_FLAGS -> {
+                    int flags = (int) lowLong(data);
                     yield Map.of(
-                        "reason_flags", flags.intValue(),
-                        "inactivity", (flags.intValue() & 1) != 0,
-                        "funding_lapse", (flags.intValue() & 2) != 0
+                        "reason_flags", flags,
+                        "inactivity", (flags & 1) != 0,
+                        "funding_lapse", (flags & 2) != 0
                     );
                 }
-                default -> Collections.emptyMap();
+                case NONE -> Collections.emptyMap();
             };
         } catch (Exception e) {
-            log.warn("Failed to decode event data for {}: {}", eventType, e.getMessage());
+            log.warn("Failed to decode event data for {}: {}", spec.name(), e.getMessage());
             return Collections.emptyMap();
         }
     }
 
+    /**
+     * Low 64 bits of the first 32-byte word — the same value {@code Uint256.getValue().longValue()}
+     * yields, without building a BigInteger.
+     */
+    private static long lowLong(String data) {
+        requireWord(data);
+        return Long.parseUnsignedLong(data, WORD_HEX_LENGTH - 16, WORD_HEX_LENGTH, 16);
+    }
+
+    private static void requireWord(String data) {
+        if (data.length() < WORD_HEX_LENGTH) {
+            throw new IllegalArgumentException("expected a 32-byte word, got " + (data.length() - 2) / 2 + " bytes");
+        }
+    }
+
+    private static Map<String, EventSpec> buildTopicIndex() {
+        Map<String, EventSpec> index = new HashMap<>();
+        register(index, SIG_PACKAGE_ACTIVATED, "PackageActivated", Layout.PACKAGE_ACTIVATED);
+        register(index, SIG_MANIFEST_UPDATED, "ManifestUpdated", Layout.MANIFEST_UPDATED);
+        register(index, SIG_CHECK_IN, "CheckIn", Layout.NONE);
+        register(index, SIG_RENEWED, "Renewed", Layout.UINT_WORD);
+        register(index, SIG_GUARDIAN_APPROVED, "GuardianApproved", Layout.GUARDIAN);
+        register(index, SIG_GUARDIAN_VETOED, "GuardianVetoed", Layout.GUARDIAN);
+        register(index, SIG_GUARDIAN_VETO_RESCINDED, "GuardianVetoRescinded", Layout.GUARDIAN);
+        register(index, SIG_GUARDIAN_APPROVE_RESCINDED, "GuardianApproveRescinded", Layout.GUARDIAN);
+        register(index, SIG_GUARDIAN_STATE_RESET, "GuardianStateReset", Layout.NONE);
+        register(index, SIG_PENDING_RELEASE, "PendingRelease", Layout.REASON_FLAGS);
+        register(index, SIG_RELEASED, "Released", Layout.NONE);
+        register(index, SIG_REVOKED, "Revoked", Layout.NONE);
+        register(index, SIG_PACKAGE_RESCUED, "PackageRescued", Layout.NONE);
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static void register(Map<String, EventSpec> index, String topic0, String name, Layout layout) {
+        index.put(topic0.toLowerCase(Locale.ROOT), new EventSpec(name, layout));
+    }
+
     private static String eventSignature(String sig) {
         return EventEncoder.buildEventSignature(sig);
     }
@@ -188,6 +223,11 @@ public class EventDecoder {
         Map<String, Object> rawData
     ) {}
 
+    /** Data layout of an event's non-indexed fields. */
+    private enum Layout { NONE, PACKAGE_ACTIVATED, MANIFEST_UPDATED, UINT_WORD, REASON_FLAGS, GUARDIAN }
+
+    private record EventSpec(String name, Layout layout) {}
+
     public static class UnknownEventException extends RuntimeException {
         public UnknownEventException(String message) { super(message); }
     }
@@ -0,0 +1,169 @@
+package com.arcadigitalis.backend.evm;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams indexed events of a block range as NDJSON, one {@code EventRecordResponse}-shaped
+ * object per line, in (blockNumber, logIndex) order.
+ * <p>
+ * Rows come from a server-side cursor: the query runs in a read-only transaction (the
+ * Postgres driver only honours the fetch size with autocommit off), so at most
+ * {@code fetch-size} rows are held in memory whatever the range. raw_data is copied into the
+ * line verbatim. Each export holds a pooled connection for its whole duration, so at most
+ * {@code max-concurrent} run at once.
+ */
+@Service
+public class EventExportService {
+
+    private static final String EXPORT_SQL =
+        "SELECT id, chain_id, proxy_address, package_key, event_type, emitting_address, block_number, "
+        + "tx_hash, log_index, block_timestamp, raw_data FROM event_records "
+        + "WHERE chain_id = ? AND proxy_address = ? AND block_number BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+    // Lines are terminated explicitly; a failed export must not close a half-written object
+    private final JsonFactory jsonFactory = new JsonFactory()
+        .setRootValueSeparator(null)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+    @Autowired
+    public EventExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              @Value("${arca.events.export.fetch-size:1000}") int fetchSize,
+                              @Value("${arca.events.export.max-concurrent:2}") int maxConcurrent) {
+        this(newJdbcTemplate(dataSource, fetchSize), transactionManager, maxConcurrent);
+    }
+
+    /** Package-private constructor for testing. */
+    EventExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    private static JdbcTemplate newJdbcTemplate(DataSource dataSource, int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(Math.max(1, fetchSize));
+        return template;
+    }
+
+    /**
+     * Reserves an export slot. The caller must pass the returned slot to {@link #export},
+     * which releases it, or {@link ExportSlot#release()} it if the export never starts.
+     *
+     * @return the slot, or null if {@code max-concurrent} exports are already running
+     */
+    public ExportSlot tryAcquire() {
+        return slots.tryAcquire() ? new ExportSlot(slots) : null;
+    }
+
+    /**
+     * Writes every event in [fromBlock, toBlock] that matches the filter to {@code out} and
+     * releases {@code slot}. Does not close {@code out}.
+     *
+     * @return number of events written
+     */
+    public long export(ExportSlot slot, long chainId, String proxyAddress, String packageKey,
+                       Set<String> eventTypes, long fromBlock, long toBlock, OutputStream out) throws IOException {
+        try (slot; JsonGenerator json = jsonFactory.createGenerator(out)) {
+            StringBuilder sql = new StringBuilder(EXPORT_SQL);
+            List<Object> args = new ArrayList<>(List.of(chainId, proxyAddress, fromBlock, toBlock));
+            if (packageKey != null && !packageKey.isBlank()) {
+                sql.append(" AND package_key = ?");
+                args.add(packageKey);
+            }
+            if (eventTypes != null && !eventTypes.isEmpty()) {
+                sql.append(" AND event_type IN (")
+                    .append(String.join(", ", Collections.nCopies(eventTypes.size(), "?"))).append(')');
+                args.addAll(eventTypes);
+            }
+            sql.append(" ORDER BY block_number, log_index");
+
+            long[] written = {0};
+            RowCallbackHandler writeLine = rs -> {
+                writeEvent(json, rs);
+                written[0]++;
+            };
+            try {
+                readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql.toString(), writeLine, args.toArray()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.flush();
+            return written[0];
+        }
+    }
+
+    /** One NDJSON line; field names and order match EventRecordResponse. */
+    private static void writeEvent(JsonGenerator json, ResultSet rs) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeStringField("id", rs.getString("id"));
+            json.writeNumberField("chainId", rs.getLong("chain_id"));
+            json.writeStringField("proxyAddress", rs.getString("proxy_address"));
+            json.writeStringField("packageKey", rs.getString("package_key"));
+            json.writeStringField("eventType", rs.getString("event_type"));
+            json.writeStringField("emittingAddress", rs.getString("emitting_address"));
+            json.writeNumberField("blockNumber", rs.getLong("block_number"));
+            json.writeStringField("txHash", rs.getString("tx_hash"));
+            json.writeNumberField("logIndex", rs.getInt("log_index"));
+            Timestamp blockTimestamp = rs.getTimestamp("block_timestamp");
+            json.writeStringField("blockTimestamp", blockTimestamp.toInstant().toString());
+            String rawData = rs.getString("raw_data");
+            json.writeFieldName("data");
+            json.writeRawValue(rawData == null || rawData.isBlank() ? "{}" : rawData);
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            // Client went away; unwound through the JDBC callback and rethrown by export()
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** A reserved export slot; releasing it more than once is a no-op. */
+    public static final class ExportSlot implements AutoCloseable {
+        private final Semaphore slots;
+        private boolean released;
+
+        private ExportSlot(Semaphore slots) {
+            this.slots = slots;
+        }
+
+        public synchronized void release() {
+            if (!released) {
+                released = true;
+                slots.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.PackageCacheReducer.PackageDelta;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
+import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes one decoded block range in a single transaction: one array-bound
+ * {@code INSERT ... ON CONFLICT DO NOTHING RETURNING} into {@code event_records}, one package-cache
+ * upsert per distinct package, the reorg-window block hashes and the cursor advance.
+ * A range is either fully committed or not at all, so replays after a crash are exactly-once.
+ */
+@Component
+public class EventIngestor {
+
+    /**
+     * All rows of a range in one statement, one array per column. RETURNING names the rows
+     * actually inserted, so conflict skips are known without relying on JDBC update counts
+     * (which batch rewriting reports as SUCCESS_NO_INFO).
+     */
+    private static final String INSERT_EVENTS_SQL =
+        "INSERT INTO event_records (chain_id, proxy_address, package_key, event_type, emitting_address, "
+        + "block_number, block_hash, tx_hash, log_index, block_timestamp, raw_data) "
+        + "SELECT ?, ?, e.package_key, e.event_type, e.emitting_address, e.block_number, e.block_hash, "
+        + "e.tx_hash, e.log_index, e.block_timestamp, CAST(e.raw_data AS jsonb) "
+        + "FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS bigint[]), "
+        + "CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS integer[]), CAST(? AS timestamptz[]), "
+        + "CAST(? AS text[])) AS e(package_key, event_type, emitting_address, block_number, block_hash, "
+        + "tx_hash, log_index, block_timestamp, raw_data) "
+        + "ON CONFLICT (tx_hash, log_index) DO NOTHING "
+        + "RETURNING tx_hash, log_index";
+
+    private static final String INSERT_BLOCK_SQL =
+        "INSERT INTO processed_blocks (chain_id, proxy_address, block_number, block_hash) "
+        + "VALUES (?, ?, ?, ?) "
+        + "ON CONFLICT (chain_id, proxy_address, block_number) DO NOTHING";
+
+    /**
+     * Fields absent from a delta are bound as NULL and keep their stored value via COALESCE;
+     * pending_since is taken from the delta only when its flag is set, and the guardian
+     * counts replace the stored ones after a reset or are added to them otherwise.
+     */
+    private static final String UPSERT_PACKAGE_SQL =
+        "INSERT INTO package_cache (chain_id, proxy_address, package_key, owner_address, beneficiary_address, "
+        + "manifest_uri, cached_status, pending_since, released_at, last_check_in, paid_until, "
+        + "guardian_quorum, warn_threshold, inactivity_threshold, veto_count, approval_count, "
+        + "last_indexed_block, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, GREATEST(?, 0), GREATEST(?, 0), ?, now(), now()) "
+        + "ON CONFLICT (chain_id, proxy_address, package_key) DO UPDATE SET "
+        + "owner_address = COALESCE(EXCLUDED.owner_address, package_cache.owner_address), "
+        + "beneficiary_address = COALESCE(EXCLUDED.beneficiary_address, package_cache.beneficiary_address), "
+        + "manifest_uri = COALESCE(EXCLUDED.manifest_uri, package_cache.manifest_uri), "
+        + "cached_status = COALESCE(EXCLUDED.cached_status, package_cache.cached_status), "
+        + "pending_since = CASE WHEN ? THEN EXCLUDED.pending_since ELSE package_cache.pending_since END, "
+        + "released_at = COALESCE(EXCLUDED.released_at, package_cache.released_at), "
+        + "last_check_in = COALESCE(EXCLUDED.last_check_in, package_cache.last_check_in), "
+        + "paid_until = COALESCE(EXCLUDED.paid_until, package_cache.paid_until), "
+        + "guardian_quorum = COALESCE(EXCLUDED.guardian_quorum, package_cache.guardian_quorum), "
+        + "warn_threshold = COALESCE(EXCLUDED.warn_threshold, package_cache.warn_threshold), "
+        + "inactivity_threshold = COALESCE(EXCLUDED.inactivity_threshold, package_cache.inactivity_threshold), "
+        + "veto_count = CASE WHEN ? THEN EXCLUDED.veto_count "
+        + "ELSE GREATEST(COALESCE(package_cache.veto_count, 0) + ?, 0) END, "
+        + "approval_count = CASE WHEN ? THEN EXCLUDED.approval_count "
+        + "ELSE GREATEST(COALESCE(package_cache.approval_count, 0) + ?, 0) END, "
+        + "last_indexed_block = EXCLUDED.last_indexed_block, "
+        + "updated_at = now()";
+
+    private static final String DELETE_GUARDIANS_SQL =
+        "DELETE FROM guardian_cache WHERE package_cache_id = "
+        + "(SELECT id FROM package_cache WHERE chain_id = ? AND proxy_address = ? AND package_key = ?)";
+
+    private static final String INSERT_GUARDIAN_SQL =
+        "INSERT INTO guardian_cache (package_cache_id, guardian_address, position) "
+        + "SELECT id, ?, ? FROM package_cache WHERE chain_id = ? AND proxy_address = ? AND package_key = ? "
+        + "ON CONFLICT (package_cache_id, guardian_address) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProcessedBlockRepository processedBlockRepository;
+    private final IndexerCursorRepository cursorRepository;
+
+    public EventIngestor(JdbcTemplate jdbcTemplate,
+                         ProcessedBlockRepository processedBlockRepository,
+                         IndexerCursorRepository cursorRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.processedBlockRepository = processedBlockRepository;
+        this.cursorRepository = cursorRepository;
+    }
+
+    /**
+     * Persists the range and advances the cursor to {@code range.toBlock()}.
+     *
+     * @return the events that were newly inserted (duplicates from a replay are excluded),
+     *         in ingestion order — only these should trigger notifications
+     */
+    @Transactional
+    public List<IndexedLog> ingest(long chainId, String proxyAddress, IndexedRange range) {
+        List<IndexedLog> events = range.events();
+        List<IndexedLog> inserted = new ArrayList<>();
+
+        if (!events.isEmpty()) {
+            Set<EventKey> insertedKeys = new HashSet<>(insertEvents(chainId, proxyAddress, events));
+            for (IndexedLog item : events) {
+                // Absent = conflict on (tx_hash, log_index), already indexed by an earlier run
+                if (insertedKeys.contains(new EventKey(item.event().txHash(), item.event().logIndex()))) {
+                    inserted.add(item);
+                }
+            }
+            if (!inserted.isEmpty()) {
+                applyToPackageCache(chainId, proxyAddress, inserted);
+            }
+        }
+
+        if (!range.blockHashes().isEmpty()) {
+            List<Map.Entry<Long, String>> blocks = new ArrayList<>(range.blockHashes().entrySet());
+            jdbcTemplate.batchUpdate(INSERT_BLOCK_SQL, blocks, blocks.size(), (ps, block) -> {
+                ps.setLong(1, chainId);
+                ps.setString(2, proxyAddress);
+                ps.setLong(3, block.getKey());
+                ps.setString(4, block.getValue());
+            });
+        }
+
+        cursorRepository.upsert(chainId, proxyAddress, range.toBlock(), range.toBlockHash());
+        pruneBlockHashes(chainId, proxyAddress, range.pruneBelow());
+        return inserted;
+    }
+
+    /** Inserts the range's events in one round trip; returns the keys of the rows written. */
+    private List<EventKey> insertEvents(long chainId, String proxyAddress, List<IndexedLog> events) {
+        int size = events.size();
+        String[] packageKeys = new String[size];
+        String[] eventTypes = new String[size];
+        String[] emitters = new String[size];
+        Long[] blockNumbers = new Long[size];
+        String[] blockHashes = new String[size];
+        String[] txHashes = new String[size];
+        Integer[] logIndexes = new Integer[size];
+        Timestamp[] blockTimestamps = new Timestamp[size];
+        String[] rawData = new String[size];
+        for (int i = 0; i < size; i++) {
+            IndexedLog item = events.get(i);
+            DecodedEvent event = item.event();
+            packageKeys[i] = event.packageKey();
+            eventTypes[i] = event.eventType();
+            emitters[i] = item.emittingAddress();
+            blockNumbers[i] = event.blockNumber();
+            blockHashes[i] = event.blockHash();
+            txHashes[i] = event.txHash();
+            logIndexes[i] = event.logIndex();
+            blockTimestamps[i] = Timestamp.from(item.blockTimestamp());
+            rawData[i] = item.rawDataJson();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_EVENTS_SQL);
+            ps.setLong(1, chainId);
+            ps.setString(2, proxyAddress);
+            ps.setArray(3, con.createArrayOf("varchar", packageKeys));
+            ps.setArray(4, con.createArrayOf("varchar", eventTypes));
+            ps.setArray(5, con.createArrayOf("varchar", emitters));
+            ps.setArray(6, con.createArrayOf("bigint", blockNumbers));
+            ps.setArray(7, con.createArrayOf("varchar", blockHashes));
+            ps.setArray(8, con.createArrayOf("varchar", txHashes));
+            ps.setArray(9, con.createArrayOf("integer", logIndexes));
+            ps.setArray(10, con.createArrayOf("timestamptz", blockTimestamps));
+            ps.setArray(11, con.createArrayOf("text", rawData));
+            return ps;
+        }, (rs, rowNum) -> new EventKey(rs.getString("tx_hash"), rs.getInt("log_index")));
+    }
+
+    /** Prunes only the blocks that left the reorg window since the previous commit. */
+    private void pruneBlockHashes(long chainId, String proxyAddress, long pruneBelow) {
+        Long stored = cursorRepository.findPrunedBelow(chainId, proxyAddress);
+        long prunedBelow = stored != null ? stored : 0L;
+        if (pruneBelow <= prunedBelow) {
+            return;
+        }
+        processedBlockRepository.pruneOutsideReorgWindow(chainId, proxyAddress, prunedBelow, pruneBelow);
+        cursorRepository.updatePrunedBelow(chainId, proxyAddress, pruneBelow);
+    }
+
+    /**
+     * Folds {@code events} (in chain order) and upserts one package_cache row per package,
+     * then replaces the guardian_cache rows of packages whose guardian list changed.
+     * Joins the caller's transaction; also used to replay surviving events after a reorg.
+     */
+    public void applyToPackageCache(long chainId, String proxyAddress, List<IndexedLog> events) {
+        PackageCacheReducer reducer = new PackageCacheReducer();
+        reducer.applyAll(events);
+        List<PackageDelta> deltas = new ArrayList<>(reducer.deltas());
+
+        jdbcTemplate.batchUpdate(UPSERT_PACKAGE_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, chainId);
+            ps.setString(2, proxyAddress);
+            ps.setString(3, delta.packageKey());
+            ps.setString(4, delta.ownerAddress());
+            ps.setString(5, delta.beneficiaryAddress());
+            ps.setString(6, delta.manifestUri());
+            ps.setString(7, delta.cachedStatus());
+            ps.setTimestamp(8, toTimestamp(delta.pendingSince()));
+            ps.setTimestamp(9, toTimestamp(delta.releasedAt()));
+            ps.setTimestamp(10, toTimestamp(delta.lastCheckIn()));
+            ps.setTimestamp(11, toTimestamp(delta.paidUntil()));
+            ps.setObject(12, delta.guardianQuorum(), Types.INTEGER);
+            ps.setObject(13, delta.warnThreshold(), Types.BIGINT);
+            ps.setObject(14, delta.inactivityThreshold(), Types.BIGINT);
+            ps.setInt(15, delta.vetoCount());
+            ps.setInt(16, delta.approvalCount());
+            ps.setLong(17, delta.lastIndexedBlock());
+            ps.setBoolean(18, delta.pendingSinceSet());
+            ps.setBoolean(19, delta.countsReset());
+            ps.setInt(20, delta.vetoCount());
+            ps.setBoolean(21, delta.countsReset());
+            ps.setInt(22, delta.approvalCount());
+        });
+
+        List<PackageDelta> guardianChanges = deltas.stream().filter(delta -> delta.guardians() != null).toList();
+        if (guardianChanges.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_GUARDIANS_SQL, guardianChanges, guardianChanges.size(), (ps, delta) -> {
+            ps.setLong(1, chainId);
+            ps.setString(2, proxyAddress);
+            ps.setString(3, delta.packageKey());
+        });
+        List<GuardianRow> guardians = new ArrayList<>();
+        for (PackageDelta delta : guardianChanges) {
+            for (int position = 0; position < delta.guardians().size(); position++) {
+                guardians.add(new GuardianRow(delta.packageKey(), delta.guardians().get(position), position));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_GUARDIAN_SQL, guardians, guardians.size(), (ps, row) -> {
+            ps.setString(1, row.guardianAddress().toLowerCase());
+            ps.setShort(2, (short) row.position());
+            ps.setLong(3, chainId);
+            ps.setString(4, proxyAddress);
+            ps.setString(5, row.packageKey());
+        });
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /** The (tx_hash, log_index) identity of an event_records row. */
+    record EventKey(String txHash, int logIndex) {}
+
+    private record GuardianRow(String packageKey, String guardianAddress, int position) {}
+
+    /** One decoded log plus the columns that do not come from the ABI decode. */
+    public record IndexedLog(DecodedEvent event, String emittingAddress, Instant blockTimestamp, String rawDataJson) {}
+
+    /**
+     * A fully decoded range ready to commit.
+     *
+     * @param blockHashes hashes to record in {@code processed_blocks} (event blocks + reorg window)
+     * @param pruneBelow  hash rows below this block are pruned unless they carry events
+     */
+    public record IndexedRange(long toBlock, String toBlockHash, List<IndexedLog> events,
+                               Map<Long, String> blockHashes, long pruneBelow) {}
+}
@@ -2,53 +2,167 @@ package com.arcadigitalis.backend.evm;
 
 import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
 import com.arcadigitalis.backend.persistence.repository.EventRecordRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service layer for querying indexed events.
  * Separates persistence access from the api layer.
+ * <p>
+ * Pages are keyset pages: each one is an index range scan starting after the
+ * {@link EventCursor} of the previous page, fetching one extra row to learn whether another
+ * page follows. No OFFSET and no COUNT(*) unless the caller asks for a total.
+ * <p>
+ * Filters are planned before they reach SQL. A time range becomes a block range (block
+ * timestamps never decrease), a block range becomes keyset bounds, and what is left picks one
+ * {@link AccessPath} — one repository query with its own index (V4, V9, V11). A set of event
+ * types runs the single-type query once per type and merges the ordered results. Recorded
+ * plans for every path are in docs/event-query-plans.out.
  */
 @Service
 public class EventQueryService {
 
+    private static final String EMPTY_JSON_OBJECT = "{}";
+
     private final EventRecordRepository eventRecordRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public EventQueryService(EventRecordRepository eventRecordRepository) {
         this.eventRecordRepository = eventRecordRepository;
     }
 
-    public EventPage query(long chainId, String proxyAddress, String packageKey, int page, int limit) {
-        PageRequest pageRequest = PageRequest.of(page, limit,
-            Sort.by(Sort.Direction.ASC, "blockNumber", "logIndex"));
-
-        Page<EventRecordEntity> result;
-        if (packageKey != null && !packageKey.isBlank()) {
-            result = eventRecordRepository.findByChainIdAndProxyAddressAndPackageKeyOrderByBlockNumberAscLogIndexAsc(
-                chainId, proxyAddress, packageKey, pageRequest);
-        } else {
-            result = eventRecordRepository.findByChainIdAndProxyAddressOrderByBlockNumberAscLogIndexAsc(
-                chainId, proxyAddress, pageRequest);
+    /** Repository query chosen for a filter; each is an ordered range scan on one index. */
+    enum AccessPath {
+        /** idx_event_records_chain_block_log (V9) */
+        PROXY,
+        /** idx_event_records_package_block (V4), with an incremental sort on log index */
+        PACKAGE,
+        /** idx_event_records_proxy_type_block_log, once per event type */
+        PROXY_TYPE,
+        /** idx_event_records_pkg_type_block_log, once per event type */
+        PACKAGE_TYPE;
+
+        static AccessPath of(EventFilter filter) {
+            if (filter.eventTypes().isEmpty()) {
+                return filter.hasPackageKey() ? PACKAGE : PROXY;
+            }
+            return filter.hasPackageKey() ? PACKAGE_TYPE : PROXY_TYPE;
+        }
+    }
+
+    /**
+     * One page of events matching {@code filter} strictly after {@code after}, in
+     * (blockNumber, logIndex) order.
+     *
+     * @param includeTotal also return a total. Without a package or block range it is a planner
+     *                     estimate for the whole table (pg_class, or pg_stats for event types),
+     *                     since an exact count there scans every row of the proxy; otherwise it
+     *                     is an exact count over the filter's index
+     */
+    public EventPage query(long chainId, String proxyAddress, EventFilter filter, EventCursor after,
+                           int limit, boolean includeTotal) {
+        long fromBlock = filter.fromBlock() != null ? filter.fromBlock() : 0L;
+        long toBlock = filter.toBlock() != null ? filter.toBlock() : Long.MAX_VALUE;
+        if (filter.fromTime() != null) {
+            Long first = eventRecordRepository.findFirstBlockAtOrAfter(chainId, proxyAddress, filter.fromTime());
+            if (first == null) return EventPage.empty(includeTotal);
+            fromBlock = Math.max(fromBlock, first);
+        }
+        if (filter.toTime() != null) {
+            Long last = eventRecordRepository.findLastBlockAtOrBefore(chainId, proxyAddress, filter.toTime());
+            if (last == null) return EventPage.empty(includeTotal);
+            toBlock = Math.min(toBlock, last);
+        }
+        if (fromBlock > toBlock) {
+            return EventPage.empty(includeTotal);
         }
 
-        var items = result.getContent().stream().map(this::toRecord).toList();
-        String nextCursor = result.hasNext() ? String.valueOf(page + 1) : null;
+        // A cursor never points below fromBlock; (fromBlock, -1) precedes every log of that block
+        EventCursor start = after.blockNumber() < fromBlock ? new EventCursor(fromBlock, -1) : after;
+        List<EventRecordEntity> rows = fetch(chainId, proxyAddress, filter, start, toBlock, limit + 1);
 
-        return new EventPage(items, result.getTotalElements(), nextCursor);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+        var items = rows.stream().map(this::toRecord).toList();
+        String nextCursor = null;
+        if (hasNext) {
+            EventRecord last = items.get(items.size() - 1);
+            nextCursor = new EventCursor(last.blockNumber(), last.logIndex()).encode();
+        }
+
+        Long total = includeTotal ? count(chainId, proxyAddress, filter, fromBlock, toBlock) : null;
+        return new EventPage(items, total, nextCursor);
+    }
+
+    /** Position of the newest stored event, or {@link EventCursor#START} if there is none. */
+    public EventCursor latestPosition(long chainId, String proxyAddress) {
+        EventRecordEntity latest = eventRecordRepository.findLatest(chainId, proxyAddress);
+        return latest != null ? new EventCursor(latest.getBlockNumber(), latest.getLogIndex()) : EventCursor.START;
+    }
+
+    private List<EventRecordEntity> fetch(long chainId, String proxyAddress, EventFilter filter,
+                                          EventCursor start, long toBlock, int fetchSize) {
+        String packageKey = filter.packageKey();
+        long afterBlock = start.blockNumber();
+        int afterLogIndex = start.logIndex();
+        return switch (AccessPath.of(filter)) {
+            case PROXY -> eventRecordRepository.findPageAfter(chainId, proxyAddress,
+                afterBlock, afterLogIndex, toBlock, fetchSize);
+            case PACKAGE -> eventRecordRepository.findPackagePageAfter(chainId, proxyAddress, packageKey,
+                afterBlock, afterLogIndex, toBlock, fetchSize);
+            case PROXY_TYPE -> mergeByType(filter.eventTypes(), fetchSize, eventType ->
+                eventRecordRepository.findTypePageAfter(chainId, proxyAddress, eventType,
+                    afterBlock, afterLogIndex, toBlock, fetchSize));
+            case PACKAGE_TYPE -> mergeByType(filter.eventTypes(), fetchSize, eventType ->
+                eventRecordRepository.findPackageTypePageAfter(chainId, proxyAddress, packageKey, eventType,
+                    afterBlock, afterLogIndex, toBlock, fetchSize));
+        };
+    }
+
+    /**
+     * Runs {@code query} once per type and keeps the first {@code fetchSize} rows of the union.
+     * Each per-type result is already ordered and limited, so no type can contribute rows
+     * beyond what the merged page needs.
+     */
+    private static List<EventRecordEntity> mergeByType(Set<String> eventTypes, int fetchSize,
+                                                       Function<String, List<EventRecordEntity>> query) {
+        if (eventTypes.size() == 1) {
+            return query.apply(eventTypes.iterator().next());
+        }
+        List<EventRecordEntity> merged = new ArrayList<>();
+        for (String eventType : eventTypes) {
+            merged.addAll(query.apply(eventType));
+        }
+        merged.sort(KEYSET_ORDER);
+        return merged.size() > fetchSize ? merged.subList(0, fetchSize) : merged;
+    }
+
+    private long count(long chainId, String proxyAddress, EventFilter filter, long fromBlock, long toBlock) {
+        String packageKey = filter.packageKey();
+        return switch (AccessPath.of(filter)) {
+            case PROXY -> fromBlock == 0L && toBlock == Long.MAX_VALUE
+                ? eventRecordRepository.estimateRowCount()
+                : eventRecordRepository.countInRange(chainId, proxyAddress, fromBlock, toBlock);
+            case PACKAGE -> eventRecordRepository.countPackageInRange(chainId, proxyAddress, packageKey,
+                fromBlock, toBlock);
+            case PROXY_TYPE -> fromBlock == 0L && toBlock == Long.MAX_VALUE
+                ? eventRecordRepository.estimateTypeRowCount(filter.eventTypes())
+                : eventRecordRepository.countTypesInRange(chainId, proxyAddress, filter.eventTypes(),
+                    fromBlock, toBlock);
+            case PACKAGE_TYPE -> eventRecordRepository.countPackageTypesInRange(chainId, proxyAddress, packageKey,
+                filter.eventTypes(), fromBlock, toBlock);
+        };
     }
 
     private EventRecord toRecord(EventRecordEntity entity) {
-        Map<String, Object> data = parseRawData(entity.getRawData());
+        String rawData = entity.getRawData();
         return new EventRecord(
             entity.getId().toString(),
             entity.getChainId(),
@@ -60,24 +174,49 @@ public class EventQueryService {
             entity.getTxHash(),
             entity.getLogIndex(),
             entity.getBlockTimestamp(),
-            data
+            rawData == null || rawData.isBlank() ? EMPTY_JSON_OBJECT : rawData
         );
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> parseRawData(String rawData) {
-        if (rawData == null || rawData.isBlank()) return Collections.emptyMap();
-        try {
-            return objectMapper.readValue(rawData, new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            return Collections.emptyMap();
+    private static final Comparator<EventRecordEntity> KEYSET_ORDER =
+        Comparator.comparingLong(EventRecordEntity::getBlockNumber).thenComparingInt(EventRecordEntity::getLogIndex);
+
+    /**
+     * Optional filters of an event query; null and empty mean "not filtered". Block and time
+     * bounds are inclusive.
+     */
+    public record EventFilter(String packageKey, Set<String> eventTypes, Long fromBlock, Long toBlock,
+                              Instant fromTime, Instant toTime) {
+
+        public static final EventFilter NONE = new EventFilter(null, Set.of(), null, null, null, null);
+
+        public EventFilter {
+            packageKey = packageKey == null || packageKey.isBlank() ? null : packageKey;
+            eventTypes = eventTypes == null ? Set.of() : Set.copyOf(eventTypes);
+        }
+
+        public static EventFilter forPackage(String packageKey) {
+            return new EventFilter(packageKey, Set.of(), null, null, null, null);
+        }
+
+        boolean hasPackageKey() {
+            return packageKey != null;
         }
     }
 
+    /**
+     * One indexed event. {@code dataJson} is the raw_data JSONB column as Postgres renders it,
+     * a JSON object passed through to the response unparsed.
+     */
     public record EventRecord(String id, long chainId, String proxyAddress, String packageKey,
                                String eventType, String emittingAddress, long blockNumber,
                                String txHash, int logIndex, Instant blockTimestamp,
-                               Map<String, Object> data) {}
+                               String dataJson) {}
 
-    public record EventPage(List<EventRecord> items, long totalElements, String nextCursor) {}
+    /** {@code totalElements} is null unless requested. */
+    public record EventPage(List<EventRecord> items, Long totalElements, String nextCursor) {
+        static EventPage empty(boolean includeTotal) {
+            return new EventPage(List.of(), includeTotal ? 0L : null, null);
+        }
+    }
 }
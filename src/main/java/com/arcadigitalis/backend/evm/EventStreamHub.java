@@ -0,0 +1,399 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.api.dto.EventRecordResponse;
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventQueryService.EventFilter;
+import com.arcadigitalis.backend.evm.EventQueryService.EventPage;
+import com.arcadigitalis.backend.evm.EventQueryService.EventRecord;
+import com.arcadigitalis.backend.evm.IndexerPoller.IndexedEventNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out of newly indexed events to {@code GET /events/stream} connections, keyed by packageKey.
+ * <p>
+ * Each {@link IndexedEventNotification} is rendered to JSON once and offered to the bounded
+ * queue of every connection watching its package; no per-connection DB read happens on the
+ * live path. Queues are drained by a fixed pool of sender threads, so the indexer thread never
+ * writes to a socket. A connection whose queue is full is evicted (its stream is completed);
+ * the client reconnects with {@code Last-Event-ID} and resumes from the DB.
+ * <p>
+ * Resumption replays at most {@code replay-limit} events through {@link EventQueryService}
+ * before switching to live delivery; beyond that the client gets a {@code resync} event and
+ * should page {@code GET /events} instead. Event ids are {@link EventCursor} tokens, so ids
+ * from the stream and cursors from {@code GET /events} are interchangeable.
+ * <p>
+ * Notifications are published only on the instance that holds the indexer lock. Every other
+ * instance tails {@code event_records} instead: once per {@code tail-interval-ms} one
+ * proxy-wide keyset query picks up rows committed since the last poll, and they are fanned
+ * out the same way. That is one query per instance per poll, not one per connection, and
+ * live events arrive up to one interval later than on the indexer instance.
+ */
+@Component
+public class EventStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamHub.class);
+
+    static final String RESYNC_EVENT = "resync";
+    private static final int REPLAY_PAGE_SIZE = 200;
+    private static final int TAIL_PAGE_SIZE = 200;
+    private static final int TAIL_MAX_PAGES = 10;
+
+    private final EventQueryService eventQueryService;
+    private final ObjectMapper objectMapper;
+    private final Web3jConfig config;
+    private final Executor senders;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final BooleanSupplier localIndexer;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final int replayLimit;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    /** Last event_records position delivered by {@link #tail}; null until the first poll. */
+    private EventCursor tailPosition;
+
+    @Autowired
+    public EventStreamHub(EventQueryService eventQueryService, ObjectMapper objectMapper, Web3jConfig config,
+                          IndexerPoller indexerPoller,
+                          @Value("${arca.events.stream.max-connections:10000}") int maxConnections,
+                          @Value("${arca.events.stream.buffer-size:256}") int bufferSize,
+                          @Value("${arca.events.stream.replay-limit:1000}") int replayLimit,
+                          @Value("${arca.events.stream.timeout-minutes:30}") long timeoutMinutes,
+                          @Value("${arca.events.stream.sender-threads:8}") int senderThreads) {
+        this(eventQueryService, objectMapper, config,
+            Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> daemon(runnable, "arca-event-stream")),
+            () -> new SseEmitter(timeoutMinutes * 60_000L), indexerPoller::isIndexing,
+            maxConnections, bufferSize, replayLimit);
+    }
+
+    /** Package-private constructor for testing. */
+    EventStreamHub(EventQueryService eventQueryService, ObjectMapper objectMapper, Web3jConfig config,
+                   Executor senders, Supplier<SseEmitter> emitterFactory, BooleanSupplier localIndexer,
+                   int maxConnections, int bufferSize, int replayLimit) {
+        this.eventQueryService = eventQueryService;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.senders = senders;
+        this.emitterFactory = emitterFactory;
+        this.localIndexer = localIndexer;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.bufferSize = Math.max(1, bufferSize);
+        this.replayLimit = Math.max(0, replayLimit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::close));
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a stream for {@code packageKey}. With a non-START {@code resumeAfter}, events after
+     * that position are replayed from the DB before live delivery starts; events indexed while
+     * the replay runs are queued and de-duplicated against it.
+     *
+     * @return the emitter, or null if {@code max-connections} streams are already open
+     */
+    public SseEmitter subscribe(String packageKey, EventCursor resumeAfter) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return null;
+        }
+        String key = packageKey.toLowerCase(Locale.ROOT);
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(key, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscriber.lastSent = resumeAfter;
+        emitter.onCompletion(subscriber::release);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.release());
+
+        // Registered before the replay so nothing indexed in between is missed. The subscriber
+        // is created holding the drain flag on behalf of the replay task, so live frames offered
+        // from here on wait in the queue instead of starting a second sender
+        subscribers.compute(key, (k, set) -> {
+            Set<Subscriber> watching = set != null ? set : ConcurrentHashMap.newKeySet();
+            watching.add(subscriber);
+            return watching;
+        });
+        execute(subscriber, () -> {
+            if (resumeAfter.equals(EventCursor.START) || replay(subscriber, resumeAfter)) {
+                drain(subscriber);
+            } else {
+                subscriber.draining.set(false);
+            }
+        });
+        return emitter;
+    }
+
+    /** Runs on the indexer thread: one render, then a non-blocking offer per watcher. */
+    @EventListener
+    public void onIndexedEvent(IndexedEventNotification notification) {
+        DecodedEvent event = notification.event();
+        Set<Subscriber> watching = subscribers.get(event.packageKey().toLowerCase(Locale.ROOT));
+        if (watching == null || watching.isEmpty()) {
+            return;
+        }
+        Frame frame;
+        try {
+            frame = new Frame(new EventCursor(event.blockNumber(), event.logIndex()), event.eventType(),
+                render(new EventRecordResponse(null, config.getChainId(), config.getProxyAddress(),
+                    event.packageKey(), event.eventType(), notification.emittingAddress(), event.blockNumber(),
+                    event.txHash(), event.logIndex(), notification.blockTimestamp(), notification.rawDataJson())));
+        } catch (RuntimeException e) {
+            // MUST NOT propagate into the indexer; reconnecting clients replay it from the DB
+            log.warn("Cannot stream event {}:{}: {}", event.txHash(), event.logIndex(), e.getMessage());
+            return;
+        }
+        offer(watching, frame);
+    }
+
+    /**
+     * On instances without the indexer: delivers rows committed since the previous poll, with
+     * one shared proxy-wide query. The first poll only records where the table ends.
+     */
+    @Scheduled(fixedDelayString = "${arca.events.stream.tail-interval-ms:1000}")
+    public synchronized void tail() {
+        if (localIndexer.getAsBoolean()) {
+            tailPosition = null;
+            return;
+        }
+        try {
+            if (tailPosition == null) {
+                tailPosition = eventQueryService.latestPosition(config.getChainId(), config.getProxyAddress());
+                return;
+            }
+            for (int pages = 0; pages < TAIL_MAX_PAGES; pages++) {
+                EventPage page = eventQueryService.query(config.getChainId(), config.getProxyAddress(),
+                    EventFilter.NONE, tailPosition, TAIL_PAGE_SIZE, false);
+                for (EventRecord record : page.items()) {
+                    tailPosition = new EventCursor(record.blockNumber(), record.logIndex());
+                    Set<Subscriber> watching = subscribers.get(record.packageKey().toLowerCase(Locale.ROOT));
+                    if (watching != null && !watching.isEmpty()) {
+                        offer(watching, new Frame(tailPosition, record.eventType(), render(toResponse(record))));
+                    }
+                }
+                if (page.nextCursor() == null) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Event stream tail of event_records failed: {}", e.getMessage());
+        }
+    }
+
+    private void offer(Set<Subscriber> watching, Frame frame) {
+        for (Subscriber subscriber : watching) {
+            if (subscriber.queue.offer(frame)) {
+                scheduleDrain(subscriber);
+            } else {
+                log.debug("Evicting slow event stream consumer for {}", subscriber.packageKey);
+                subscriber.close();
+            }
+        }
+    }
+
+    /** Queues a keepalive comment on idle connections so proxies do not cut them. */
+    @Scheduled(fixedDelayString = "${arca.events.stream.heartbeat-seconds:15}000",
+               initialDelayString = "${arca.events.stream.heartbeat-seconds:15}000")
+    public void heartbeat() {
+        for (Set<Subscriber> watching : subscribers.values()) {
+            for (Subscriber subscriber : watching) {
+                if (subscriber.queue.isEmpty() && subscriber.queue.offer(Frame.HEARTBEAT)) {
+                    scheduleDrain(subscriber);
+                }
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    // ── Delivery ───────────────────────────────────────────────────────────
+
+    /**
+     * Sends stored events after {@code after}, a page at a time.
+     *
+     * @return false if the stream was closed (client gone, or too far behind to replay)
+     */
+    private boolean replay(Subscriber subscriber, EventCursor after) {
+        int sent = 0;
+        EventCursor position = after;
+        try {
+            while (!subscriber.closed.get()) {
+                EventPage page = eventQueryService.query(config.getChainId(), config.getProxyAddress(),
+                    EventFilter.forPackage(subscriber.packageKey), position, REPLAY_PAGE_SIZE, false);
+                for (EventRecord record : page.items()) {
+                    if (sent++ >= replayLimit) {
+                        subscriber.emitter.send(SseEmitter.event().id(position.encode()).name(RESYNC_EVENT)
+                            .data("{}"));
+                        subscriber.close();
+                        return false;
+                    }
+                    position = new EventCursor(record.blockNumber(), record.logIndex());
+                    send(subscriber, new Frame(position, record.eventType(), render(toResponse(record))));
+                }
+                if (page.nextCursor() == null) {
+                    return !subscriber.closed.get();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Event stream replay for {} aborted: {}", subscriber.packageKey, e.getMessage());
+            subscriber.close();
+        }
+        return false;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            execute(subscriber, () -> drain(subscriber));
+        }
+    }
+
+    /** Runs with the drain flag held; releases it and re-checks so no offered frame is stranded. */
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while (!subscriber.closed.get() && (frame = subscriber.queue.poll()) != null) {
+                send(subscriber, frame);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Event stream for {} closed: {}", subscriber.packageKey, e.getMessage());
+            subscriber.close();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed.get() && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Frame frame) throws IOException {
+        if (frame == Frame.HEARTBEAT) {
+            subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            return;
+        }
+        // Already delivered by the replay, or a duplicate notification
+        if (!isAfter(frame.position(), subscriber.lastSent)) {
+            return;
+        }
+        subscriber.emitter.send(SseEmitter.event().id(frame.position().encode()).name(frame.eventType())
+            .data(frame.json()));
+        subscriber.lastSent = frame.position();
+    }
+
+    private void execute(Subscriber subscriber, Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            subscriber.close();
+        }
+    }
+
+    private String render(EventRecordResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event " + response.txHash(), e);
+        }
+    }
+
+    private static EventRecordResponse toResponse(EventRecord record) {
+        return new EventRecordResponse(
+            record.id(), record.chainId(), record.proxyAddress(),
+            record.packageKey(), record.eventType(), record.emittingAddress(),
+            record.blockNumber(), record.txHash(), record.logIndex(),
+            record.blockTimestamp(), record.dataJson()
+        );
+    }
+
+    private static boolean isAfter(EventCursor position, EventCursor reference) {
+        return position.blockNumber() > reference.blockNumber()
+            || (position.blockNumber() == reference.blockNumber() && position.logIndex() > reference.logIndex());
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /** One rendered SSE event; {@link #HEARTBEAT} is a keepalive comment. */
+    record Frame(EventCursor position, String eventType, String json) {
+        static final Frame HEARTBEAT = new Frame(EventCursor.START, null, null);
+    }
+
+    /**
+     * One open stream. Only the thread holding {@code draining} sends on it; a new subscriber
+     * starts with it held, for the task that {@link #subscribe} hands it to.
+     */
+    private final class Subscriber {
+        final String packageKey;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Frame> queue;
+        final AtomicBoolean draining = new AtomicBoolean(true);
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile EventCursor lastSent = EventCursor.START;
+
+        Subscriber(String packageKey, SseEmitter emitter, ArrayBlockingQueue<Frame> queue) {
+            this.packageKey = packageKey;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        /** Unregisters and completes the stream; idempotent. */
+        void close() {
+            if (release()) {
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Unregisters without touching the emitter; used by its completion and error callbacks.
+         *
+         * @return true on the first call
+         */
+        boolean release() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.computeIfPresent(packageKey, (key, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            connections.decrementAndGet();
+            queue.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.arcadigitalis.backend.evm;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * Gzips JSON-RPC request bodies and marks them {@code Content-Encoding: gzip}. Only for
+ * providers that accept compressed requests; response decompression is handled by OkHttp.
+ */
+class GzipRequestInterceptor implements Interceptor {
+
+    @Override
+    public okhttp3.Response intercept(Chain chain) throws IOException {
+        Request original = chain.request();
+        RequestBody body = original.body();
+        if (body == null || original.header("Content-Encoding") != null) {
+            return chain.proceed(original);
+        }
+
+        Buffer compressed = new Buffer();
+        try (BufferedSink gzip = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(gzip);
+        }
+        Request gzipped = original.newBuilder()
+            .header("Content-Encoding", "gzip")
+            .method(original.method(), RequestBody.create(compressed.readByteString(), body.contentType()))
+            .build();
+        return chain.proceed(gzipped);
+    }
+}
@@ -1,13 +1,12 @@
 package com.arcadigitalis.backend.evm;
 
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
 import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
 import com.arcadigitalis.backend.evm.EventDecoder.UnknownEventException;
-import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
-import com.arcadigitalis.backend.persistence.entity.PackageCacheEntity;
-import com.arcadigitalis.backend.persistence.entity.ProcessedBlockEntity;
-import com.arcadigitalis.backend.persistence.repository.EventRecordRepository;
-import com.arcadigitalis.backend.persistence.repository.PackageCacheRepository;
-import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedRange;
+import com.arcadigitalis.backend.evm.ReorgDetector.UnstableRangeException;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -25,37 +24,56 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.methods.request.EthFilter;
-import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.Log;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Background indexer that polls for new blocks, decodes contract events,
- * updates the package cache, and persists events idempotently.
- * Single thread — no concurrent indexer instances (NFR-002).
+ * Background indexer that polls for new blocks, decodes contract events and hands each
+ * decoded range to {@link EventIngestor}, which commits it in one transaction.
+ * Progress lives in one {@code indexer_cursor} row per (chain, proxy); block hashes are
+ * kept only for event blocks and the trailing reorg window. Large gaps are caught up through
+ * {@link BackfillPipeline}; near the head ranges are processed one at a time.
+ * Cycles are triggered by the scheduled poll or, in push mode, by {@link NewHeadsSubscriber};
+ * at most one runs at a time and commits are single-threaded (NFR-002).
  */
 @Component
 public class IndexerPoller {
 
     private static final Logger log = LoggerFactory.getLogger(IndexerPoller.class);
 
+    /** Placeholder hash recorded for blocks whose header the node did not return. */
+    private static final String ZERO_HASH = "0x" + "0".repeat(64);
+
+    /** topic0 OR-list for {@code eth_getLogs}; sorted so the request body is stable. */
+    private static final String[] KNOWN_TOPICS = new TreeSet<>(EventDecoder.knownTopics()).toArray(String[]::new);
+
     private final Web3j web3j;
     private final Web3jConfig config;
     private final EventDecoder eventDecoder;
     private final ReorgHandler reorgHandler;
-    private final EventRecordRepository eventRecordRepository;
-    private final ProcessedBlockRepository processedBlockRepository;
-    private final PackageCacheRepository packageCacheRepository;
+    private final ReorgDetector reorgDetector;
+    private final IndexerCursorRepository cursorRepository;
+    private final EventIngestor eventIngestor;
     private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
     private final DataSource dataSource;
+    private final BlockRangePlanner rangePlanner;
+    private final BlockHeaderFetcher headerFetcher;
+    private final BackfillPipeline backfillPipeline;
+    private final ChainHeadTracker chainHead;
 
     @Value("${arca.indexer.enabled:true}")
     private boolean enabled;
@@ -69,26 +87,39 @@ public class IndexerPoller {
     @Value("${arca.indexer.lock-id:0}")
     private long configuredLockId;
 
+    @Value("${arca.indexer.reorg-window-blocks:64}")
+    private int reorgWindowBlocks;
+
     private final AtomicLong lastSyncTimestamp = new AtomicLong(0);
-    private boolean initialized = false;
     private boolean lockAcquired = false;
+    private volatile boolean pushMode = false;
+    private final AtomicBoolean cycleRunning = new AtomicBoolean(false);
 
     public IndexerPoller(Web3j web3j, Web3jConfig config, EventDecoder eventDecoder,
-                         ReorgHandler reorgHandler, EventRecordRepository eventRecordRepository,
-                         ProcessedBlockRepository processedBlockRepository,
-                         PackageCacheRepository packageCacheRepository,
+                         ReorgHandler reorgHandler,
+                         ReorgDetector reorgDetector,
+                         IndexerCursorRepository cursorRepository,
+                         EventIngestor eventIngestor,
                          ApplicationEventPublisher eventPublisher,
-                         DataSource dataSource) {
+                         DataSource dataSource,
+                         BlockRangePlanner rangePlanner,
+                         BlockHeaderFetcher headerFetcher,
+                         BackfillPipeline backfillPipeline,
+                         ChainHeadTracker chainHead) {
         this.web3j = web3j;
         this.config = config;
         this.eventDecoder = eventDecoder;
         this.reorgHandler = reorgHandler;
-        this.eventRecordRepository = eventRecordRepository;
-        this.processedBlockRepository = processedBlockRepository;
-        this.packageCacheRepository = packageCacheRepository;
+        this.reorgDetector = reorgDetector;
+        this.cursorRepository = cursorRepository;
+        this.eventIngestor = eventIngestor;
         this.eventPublisher = eventPublisher;
         this.objectMapper = new ObjectMapper();
         this.dataSource = dataSource;
+        this.rangePlanner = rangePlanner;
+        this.headerFetcher = headerFetcher;
+        this.backfillPipeline = backfillPipeline;
+        this.chainHead = chainHead;
     }
 
     @PostConstruct
@@ -130,12 +161,51 @@ public class IndexerPoller {
         return lastSyncTimestamp.get();
     }
 
+    /** Whether this instance runs the indexer, i.e. holds the advisory lock. */
+    public boolean isIndexing() {
+        return enabled && lockAcquired;
+    }
+
+    /**
+     * Switched on by {@link NewHeadsSubscriber} while its subscription is live; the scheduled
+     * poll then stands down and resumes automatically when the socket drops.
+     */
+    public void setPushMode(boolean pushMode) {
+        this.pushMode = pushMode;
+    }
+
+    public boolean isPushMode() {
+        return pushMode;
+    }
+
     @Scheduled(fixedDelayString = "${arca.indexer.poll-interval-seconds:15}000")
     public void poll() {
+        if (pushMode) return; // New heads are pushed over WebSocket
+        runCycle(null);
+    }
+
+    /**
+     * Push-mode entry point: indexes up to {@code headNumber - confirmation-depth} without
+     * spending an {@code eth_blockNumber} call.
+     */
+    public void onNewHead(long headNumber) {
+        chainHead.update(headNumber);
+        runCycle(headNumber);
+    }
+
+    private void runCycle(Long knownHead) {
         if (!enabled || !lockAcquired) return;
+        if (!cycleRunning.compareAndSet(false, true)) {
+            return; // A cycle is already running; it will pick up the new blocks
+        }
 
+        // Indexer RPC traffic yields rate budget to API reads
+        RpcPriority previousPriority = RpcPriority.BACKGROUND.enter();
         try {
-            long latestBlock = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+            long latestBlock = knownHead != null
+                ? knownHead
+                : web3j.ethBlockNumber().send().getBlockNumber().longValue();
+            chainHead.update(latestBlock);
             long confirmedBlock = latestBlock - confirmationDepth;
             if (confirmedBlock < 0) return;
 
@@ -144,199 +214,263 @@ public class IndexerPoller {
                 return; // Nothing new to process
             }
 
-            log.debug("Indexing blocks {} to {} (latest={}, depth={})",
-                fromBlock, confirmedBlock, latestBlock, confirmationDepth);
-
-            // Fetch logs from the proxy contract in the block range
-            EthFilter filter = new EthFilter(
-                new DefaultBlockParameterNumber(fromBlock),
-                new DefaultBlockParameterNumber(confirmedBlock),
-                config.getProxyAddress()
-            );
-
-            EthLog ethLog = web3j.ethGetLogs(filter).send();
-            if (ethLog.hasError()) {
-                log.warn("eth_getLogs error: {}", ethLog.getError().getMessage());
+            log.debug("Indexing blocks {} to {} (latest={}, depth={}, chunk={})",
+                fromBlock, confirmedBlock, latestBlock, confirmationDepth, rangePlanner.currentChunkSize());
+
+            long gap = confirmedBlock - fromBlock + 1;
+            if (backfillPipeline.isEnabled() && gap > Math.max(confirmationDepth, rangePlanner.currentChunkSize())) {
+                // Far behind: pipelined catch-up; the next cycles fall back to the tail loop below
+                long reached = backfillPipeline.run(fromBlock, confirmedBlock,
+                    (from, to) -> fetchRange(from, to, confirmedBlock),
+                    this::decodeRange,
+                    decoded -> {
+                        try {
+                            return commitRange(decoded);
+                        } catch (UnstableRangeException e) {
+                            log.warn("{} — retrying next cycle", e.getMessage());
+                            return false;
+                        }
+                    });
+                log.info("Backfill advanced indexer cursor to block {} (target {})", reached, confirmedBlock);
                 return;
             }
 
-            List<EthLog.LogResult> logResults = ethLog.getLogs();
-            for (EthLog.LogResult<?> result : logResults) {
-                if (result instanceof EthLog.LogObject logObj) {
-                    Log logEntry = logObj.get();
-                    processLogEntry(logEntry);
+            // Tail mode: single-threaded, one range at a time
+            while (fromBlock <= confirmedBlock) {
+                long toBlock = rangePlanner.nextRangeEnd(fromBlock, confirmedBlock);
+                try {
+                    if (!commitRange(decodeRange(fetchRange(fromBlock, toBlock, confirmedBlock)))) {
+                        return; // Reorg rewound the cursor; resume from it next cycle
+                    }
+                } catch (RangeFetchException | UnstableRangeException e) {
+                    log.warn("{} — retrying next cycle", e.getMessage());
+                    return;
                 }
+                fromBlock = toBlock + 1;
             }
 
-            // Mark all blocks in range as processed
-            for (long block = fromBlock; block <= confirmedBlock; block++) {
-                markBlockProcessed(block);
-            }
-
-            lastSyncTimestamp.set(System.currentTimeMillis());
-            initialized = true;
-
         } catch (Exception e) {
             log.error("Indexer polling cycle failed: {}", e.getMessage(), e);
+        } finally {
+            RpcPriority.restore(previousPriority);
+            cycleRunning.set(false);
         }
     }
 
-    private long determineFromBlock() {
-        if (!initialized) {
-            // Check DB for last processed block
-            Optional<ProcessedBlockEntity> latest = processedBlockRepository
-                .findLatestByChainIdAndProxyAddress(config.getChainId(), config.getProxyAddress());
-            if (latest.isPresent()) {
-                // Resume from next block after last processed (FR-028a)
-                return latest.get().getBlockNumber() + 1;
+    /**
+     * Fetch stage: logs for {@code [fromBlock, toBlock]} plus the headers of every block the
+     * range needs hashes or timestamps for. A range the provider rejects as overloaded is split
+     * in half (and the planner shrinks its chunk) until it fits.
+     *
+     * @throws RangeFetchException if the range cannot be fetched even after splitting
+     */
+    FetchedRange fetchRange(long fromBlock, long toBlock, long confirmedBlock) throws IOException {
+        List<Log> logs = new ArrayList<>();
+        fetchLogsSplitting(fromBlock, toBlock, logs);
+
+        // Hashes are kept only for blocks with events and for the trailing reorg window
+        long windowStart = Math.max(fromBlock, confirmedBlock - reorgWindowBlocks + 1);
+        TreeSet<Long> hashedBlocks = new TreeSet<>();
+        for (Log logEntry : logs) {
+            if (logEntry.getBlockNumber() != null) {
+                hashedBlocks.add(logEntry.getBlockNumber().longValue());
             }
-            // First run — start from configured start block
-            return startBlock;
         }
-        // Subsequent runs — resume from DB
-        Optional<ProcessedBlockEntity> latest = processedBlockRepository
-            .findLatestByChainIdAndProxyAddress(config.getChainId(), config.getProxyAddress());
-        return latest.map(e -> e.getBlockNumber() + 1).orElse(startBlock);
+        for (long block = windowStart; block <= toBlock; block++) {
+            hashedBlocks.add(block);
+        }
+        hashedBlocks.add(toBlock);
+
+        // One batched header fetch covers every block this range needs
+        Map<Long, BlockHeader> headers = headerFetcher.fetchHeaders(hashedBlocks);
+        return new FetchedRange(fromBlock, toBlock, confirmedBlock, logs, hashedBlocks, headers);
     }
 
-    private void processLogEntry(Log logEntry) {
+    private void fetchLogsSplitting(long fromBlock, long toBlock, List<Log> into) throws IOException {
+        long started = System.currentTimeMillis();
         try {
-            DecodedEvent event = eventDecoder.decode(logEntry);
-
-            // Check for reorg
-            reorgHandler.checkAndHandleReorg(
-                config.getChainId(), config.getProxyAddress(),
-                event.blockNumber(), event.blockHash()
-            );
+            into.addAll(fetchLogs(fromBlock, toBlock));
+            rangePlanner.onSuccess(System.currentTimeMillis() - started);
+        } catch (RangeOverloadException e) {
+            boolean shrunk = rangePlanner.onOverload();
+            long span = toBlock - fromBlock + 1;
+            if (span == 1 || (!shrunk && span <= rangePlanner.currentChunkSize())) {
+                throw new RangeFetchException("eth_getLogs still failing at minimum chunk size for blocks "
+                    + fromBlock + "-" + toBlock + ": " + e.getMessage());
+            }
+            long mid = fromBlock + span / 2 - 1;
+            log.info("eth_getLogs rejected blocks {}-{} ({}); splitting at {}",
+                fromBlock, toBlock, e.getMessage(), mid);
+            fetchLogsSplitting(fromBlock, mid, into);
+            fetchLogsSplitting(mid + 1, toBlock, into);
+        }
+    }
 
-            // Idempotency check — skip if already stored
-            if (eventRecordRepository.existsByTxHashAndLogIndex(event.txHash(), event.logIndex())) {
-                log.debug("Skipping duplicate event txHash={} logIndex={}", event.txHash(), event.logIndex());
-                return;
+    /**
+     * Decode stage: pure CPU work, safe to run on the backfill decoder pool.
+     *
+     * @throws RangeFetchException if the header of a block carrying a log is missing; the
+     *         range is retried rather than committed without its block timestamp
+     */
+    DecodedRange decodeRange(FetchedRange fetched) {
+        List<IndexedLog> decoded = new ArrayList<>(fetched.logs().size());
+        for (Log logEntry : fetched.logs()) {
+            IndexedLog indexed = decodeLogEntry(logEntry, blockTimestamp(fetched, logEntry));
+            if (indexed != null) {
+                decoded.add(indexed);
             }
+        }
 
-            // Persist event record
-            EventRecordEntity entity = new EventRecordEntity(
-                config.getChainId(),
-                config.getProxyAddress(),
-                event.packageKey(),
-                event.eventType(),
-                logEntry.getAddress(),
-                event.blockNumber(),
-                event.blockHash(),
-                event.txHash(),
-                event.logIndex(),
-                getBlockTimestamp(event.blockNumber()),
-                serializeRawData(event.rawData())
-            );
-            eventRecordRepository.save(entity);
+        Map<Long, String> blockHashes = new LinkedHashMap<>();
+        for (Long block : fetched.hashedBlocks()) {
+            blockHashes.put(block, blockHash(fetched.headers().get(block)));
+        }
+        BlockHeader tip = fetched.headers().get(fetched.toBlock());
+        IndexedRange range = new IndexedRange(fetched.toBlock(), tip != null ? tip.hash() : null, decoded,
+            blockHashes, fetched.confirmedBlock() - reorgWindowBlocks + 1);
+
+        // Contiguous header run ending at toBlock, for parent-hash continuity checks
+        List<BlockHeader> headerRun = new ArrayList<>();
+        for (long block = fetched.toBlock(); block >= fetched.fromBlock(); block--) {
+            BlockHeader header = fetched.headers().get(block);
+            if (header == null) break;
+            headerRun.add(0, header);
+        }
+        return new DecodedRange(range, headerRun);
+    }
 
-            // Update package cache
-            updatePackageCache(event);
+    /**
+     * Commit stage: in-memory reorg check against {@link ReorgDetector}, then events, block
+     * hashes and the cursor advance in one transaction. Always runs on a single thread, in
+     * block order.
+     *
+     * @return {@code false} if a reorg rewound the index instead — callers must stop and resume
+     *         from the cursor on the next cycle
+     * @throws UnstableRangeException if logs and headers of the range disagree (reorg in flight)
+     */
+    boolean commitRange(DecodedRange decoded) {
+        IndexedRange range = decoded.range();
+        for (IndexedLog indexed : range.events()) {
+            String headerHash = range.blockHashes().get(indexed.event().blockNumber());
+            if (headerHash != null && !headerHash.equals(ZERO_HASH)
+                    && !headerHash.equalsIgnoreCase(indexed.event().blockHash())) {
+                throw new UnstableRangeException("Log in block " + indexed.event().blockNumber()
+                    + " carries hash " + indexed.event().blockHash() + " but header is " + headerHash);
+            }
+        }
 
-            // Publish application event for notification dispatch
-            eventPublisher.publishEvent(new IndexedEventNotification(event));
+        long ancestor = reorgDetector.findCommonAncestor(decoded.headerRun());
+        if (ancestor != ReorgDetector.NO_REORG) {
+            reorgHandler.rewindTo(config.getChainId(), config.getProxyAddress(), ancestor);
+            reorgDetector.rewindTo(ancestor);
+            return false;
+        }
+
+        List<IndexedLog> inserted = eventIngestor.ingest(config.getChainId(), config.getProxyAddress(), range);
+        reorgDetector.record(decoded.headerRun());
 
+        // Notify only after commit, and only for events not seen by an earlier run
+        for (IndexedLog indexed : inserted) {
+            DecodedEvent event = indexed.event();
+            eventPublisher.publishEvent(new IndexedEventNotification(indexed));
             log.debug("Indexed event: type={} packageKey={} block={}",
                 event.eventType(), event.packageKey(), event.blockNumber());
-
-        } catch (UnknownEventException e) {
-            log.debug("Skipping unknown event: {}", e.getMessage());
-        } catch (Exception e) {
-            log.warn("Failed to process log entry: {}", e.getMessage(), e);
         }
+        lastSyncTimestamp.set(System.currentTimeMillis());
+        return true;
     }
 
-    private void updatePackageCache(DecodedEvent event) {
-        Optional<PackageCacheEntity> cached = packageCacheRepository
-            .findByChainIdAndProxyAddressAndPackageKey(
-                config.getChainId(), config.getProxyAddress(), event.packageKey());
+    /**
+     * {@code eth_getLogs} filter for the proxy: topic0 must be one of the ARCA events, so
+     * upgrade/admin logs never leave the node.
+     */
+    static EthFilter logFilter(long fromBlock, long toBlock, String proxyAddress) {
+        EthFilter filter = new EthFilter(
+            new DefaultBlockParameterNumber(fromBlock),
+            new DefaultBlockParameterNumber(toBlock),
+            proxyAddress
+        );
+        filter.addOptionalTopics(KNOWN_TOPICS);
+        return filter;
+    }
 
-        PackageCacheEntity entity = cached.orElseGet(() -> {
-            PackageCacheEntity e = new PackageCacheEntity(
-                config.getChainId(), config.getProxyAddress(), event.packageKey()
-            );
-            return e;
-        });
-
-        switch (event.eventType()) {
-            case "PackageActivated" -> {
-                entity.setCachedStatus("ACTIVE");
-                if (event.rawData().containsKey("owner"))
-                    entity.setOwnerAddress((String) event.rawData().get("owner"));
-                if (event.rawData().containsKey("beneficiary"))
-                    entity.setBeneficiaryAddress((String) event.rawData().get("beneficiary"));
-                if (event.rawData().containsKey("manifestUri"))
-                    entity.setManifestUri((String) event.rawData().get("manifestUri"));
-            }
-            case "ManifestUpdated" -> {
-                if (event.rawData().containsKey("manifestUri"))
-                    entity.setManifestUri((String) event.rawData().get("manifestUri"));
-            }
-            case "CheckIn" -> entity.setLastCheckIn(Instant.now());
-            case "Renewed" -> {
-                if (event.rawData().containsKey("paidUntil")) {
-                    long ts = ((Number) event.rawData().get("paidUntil")).longValue();
-                    if (ts > 0) entity.setPaidUntil(Instant.ofEpochSecond(ts));
-                }
-            }
-            case "PendingRelease" -> {
-                entity.setCachedStatus("PENDING_RELEASE");
-                entity.setPendingSince(Instant.now());
-            }
-            case "Released" -> {
-                entity.setCachedStatus("RELEASED");
-                entity.setReleasedAt(Instant.now());
-            }
-            case "Revoked" -> entity.setCachedStatus("REVOKED");
-            case "PackageRescued" -> {
-                entity.setCachedStatus("ACTIVE");
-                entity.setPendingSince(null);
+    /**
+     * Fetches the proxy's logs for one block range.
+     *
+     * @throws RangeOverloadException if the provider rejected the range as too large or too slow
+     * @throws RangeFetchException on a non-retryable JSON-RPC error
+     */
+    private List<Log> fetchLogs(long fromBlock, long toBlock) throws IOException {
+        EthFilter filter = logFilter(fromBlock, toBlock, config.getProxyAddress());
+
+        EthLog ethLog;
+        try {
+            ethLog = web3j.ethGetLogs(filter).send();
+        } catch (IOException e) {
+            if (BlockRangePlanner.isOverloadError(e)) {
+                throw new RangeOverloadException(e.getMessage());
             }
-            default -> {} // Guardian events don't update cache status
+            throw e;
         }
 
-        entity.setLastIndexedBlock(event.blockNumber());
-        entity.touch();
-        packageCacheRepository.save(entity);
-    }
+        if (ethLog.hasError()) {
+            String message = ethLog.getError().getMessage();
+            if (BlockRangePlanner.isOverloadError(message)) {
+                throw new RangeOverloadException(message);
+            }
+            throw new RangeFetchException("eth_getLogs error for blocks " + fromBlock + "-" + toBlock + ": " + message);
+        }
 
-    private void markBlockProcessed(long blockNumber) {
-        if (processedBlockRepository.findByChainIdAndProxyAddressAndBlockNumber(
-                config.getChainId(), config.getProxyAddress(), blockNumber).isPresent()) {
-            return; // Already processed
+        List<Log> logs = new ArrayList<>();
+        for (EthLog.LogResult<?> result : ethLog.getLogs()) {
+            if (result instanceof EthLog.LogObject logObj) {
+                logs.add(logObj.get());
+            }
         }
+        return logs;
+    }
 
-        ProcessedBlockEntity block = new ProcessedBlockEntity(
-            config.getChainId(), config.getProxyAddress(), blockNumber, getBlockHash(blockNumber)
-        );
-        processedBlockRepository.save(block);
+    private long determineFromBlock() {
+        // Resume from the block after the committed cursor (FR-028a); first run starts at start-block
+        return cursorRepository.findByChainIdAndProxyAddress(config.getChainId(), config.getProxyAddress())
+            .map(cursor -> cursor.getLastBlock() + 1)
+            .orElse(startBlock);
     }
 
-    private Instant getBlockTimestamp(long blockNumber) {
+    /**
+     * Decodes one log.
+     *
+     * @return the decoded log, or {@code null} if it is not an ARCA event or failed to decode
+     */
+    private IndexedLog decodeLogEntry(Log logEntry, Instant blockTimestamp) {
         try {
-            EthBlock block = web3j.ethGetBlockByNumber(
-                new DefaultBlockParameterNumber(blockNumber), false).send();
-            if (block.getBlock() != null && block.getBlock().getTimestamp() != null) {
-                return Instant.ofEpochSecond(block.getBlock().getTimestamp().longValue());
-            }
+            DecodedEvent event = eventDecoder.decode(logEntry);
+            return new IndexedLog(
+                event,
+                logEntry.getAddress(),
+                blockTimestamp,
+                serializeRawData(event.rawData())
+            );
+        } catch (UnknownEventException e) {
+            log.debug("Skipping unknown event: {}", e.getMessage());
         } catch (Exception e) {
-            log.debug("Failed to get block timestamp for block {}: {}", blockNumber, e.getMessage());
+            log.warn("Failed to process log entry: {}", e.getMessage(), e);
         }
-        return Instant.now();
+        return null;
     }
 
-    private String getBlockHash(long blockNumber) {
-        try {
-            EthBlock block = web3j.ethGetBlockByNumber(
-                new DefaultBlockParameterNumber(blockNumber), false).send();
-            if (block.getBlock() != null) {
-                return block.getBlock().getHash();
-            }
-        } catch (Exception e) {
-            log.debug("Failed to get block hash for block {}: {}", blockNumber, e.getMessage());
+    private static String blockHash(BlockHeader header) {
+        return header != null && header.hash() != null ? header.hash() : ZERO_HASH;
+    }
+
+    private static Instant blockTimestamp(FetchedRange fetched, Log logEntry) {
+        BigInteger blockNumber = logEntry.getBlockNumber();
+        BlockHeader header = blockNumber != null ? fetched.headers().get(blockNumber.longValue()) : null;
+        if (header == null || header.timestamp() == null) {
+            throw new RangeFetchException("No header for event block " + blockNumber + " in range "
+                + fetched.fromBlock() + "-" + fetched.toBlock());
         }
-        return "0x" + "0".repeat(64);
+        return header.timestamp();
     }
 
     private String serializeRawData(Object rawData) {
@@ -349,5 +483,31 @@ public class IndexerPoller {
 
     // ── Spring application event for notification dispatch ─────────────────
 
-    public record IndexedEventNotification(DecodedEvent event) {}
+    /**
+     * A newly indexed event, with the columns stored next to it so listeners need no DB read.
+     * {@code rawDataJson} is the raw_data value as written.
+     */
+    public record IndexedEventNotification(DecodedEvent event, String emittingAddress, Instant blockTimestamp,
+                                           String rawDataJson) {
+        public IndexedEventNotification(IndexedLog indexed) {
+            this(indexed.event(), indexed.emittingAddress(), indexed.blockTimestamp(), indexed.rawDataJson());
+        }
+    }
+
+    /** Output of the decode stage: the rows to commit plus the header run to chain-check. */
+    record DecodedRange(IndexedRange range, List<BlockHeader> headerRun) {}
+
+    /** Logs and headers for one range, as produced by the fetch stage. */
+    record FetchedRange(long fromBlock, long toBlock, long confirmedBlock, List<Log> logs,
+                        Set<Long> hashedBlocks, Map<Long, BlockHeader> headers) {}
+
+    /** Provider rejected an {@code eth_getLogs} range as too large or too slow. */
+    static class RangeOverloadException extends RuntimeException {
+        RangeOverloadException(String message) { super(message); }
+    }
+
+    /** A range could not be fetched; the indexer retries it on the next cycle. */
+    static class RangeFetchException extends RuntimeException {
+        RangeFetchException(String message) { super(message); }
+    }
 }
@@ -0,0 +1,110 @@
+package com.arcadigitalis.backend.evm;
+
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ABI codec for Multicall3 {@code aggregate3((address,bool,bytes)[]) returns ((bool,bytes)[])}.
+ * Encoded by hand: the layout is fixed and web3j's struct-array support needs generated
+ * struct classes for decoding.
+ */
+public final class Multicall3Codec {
+
+    /** Canonical Multicall3 deployment, same address on every major EVM chain. */
+    public static final String DEFAULT_ADDRESS = "0xcA11bde05977b3631167028862bE2a173976CA11";
+
+    private static final String AGGREGATE3_SELECTOR =
+        Hash.sha3String("aggregate3((address,bool,bytes)[])").substring(0, 10);
+
+    private static final int WORD = 64; // hex chars per 32-byte word
+    private static final String ZERO_PREFIX = "0".repeat(WORD - 16);
+
+    private Multicall3Codec() {}
+
+    /** Encodes {@code aggregate3(calls)} calldata. */
+    public static String encodeAggregate3(List<Call3> calls) {
+        List<String> tuples = new ArrayList<>(calls.size());
+        for (Call3 call : calls) {
+            String data = Numeric.cleanHexPrefix(call.callData());
+            int dataBytes = data.length() / 2;
+            tuples.add(word(Numeric.cleanHexPrefix(call.target()))
+                + word(call.allowFailure() ? 1 : 0)
+                + word(3 * 32)                 // offset of callData within the tuple
+                + word(dataBytes)
+                + padRight(data));
+        }
+
+        StringBuilder out = new StringBuilder(AGGREGATE3_SELECTOR);
+        out.append(word(32)).append(word(calls.size()));
+        // Tuple offsets are relative to the first word after the array length
+        long offset = 32L * calls.size();
+        for (String tuple : tuples) {
+            out.append(word(offset));
+            offset += tuple.length() / 2;
+        }
+        for (String tuple : tuples) {
+            out.append(tuple);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Decodes the {@code (bool success, bytes returnData)[]} returned by {@code aggregate3}.
+     *
+     * @throws IllegalArgumentException if the payload is truncated or malformed
+     */
+    public static List<Result> decodeAggregate3(String returnData) {
+        String hex = Numeric.cleanHexPrefix(returnData);
+        try {
+            // ABI offsets are in bytes; positions below are in hex chars
+            int array = 2 * readInt(hex, 0);
+            int length = readInt(hex, array);
+            int elements = array + WORD;
+            List<Result> results = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                int tuple = elements + 2 * readInt(hex, elements + i * WORD);
+                boolean success = readInt(hex, tuple) != 0;
+                int bytes = tuple + 2 * readInt(hex, tuple + WORD);
+                int start = bytes + WORD;
+                results.add(new Result(success, "0x" + hex.substring(start, start + 2 * readInt(hex, bytes))));
+            }
+            return results;
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed aggregate3 return data", e);
+        }
+    }
+
+    /** Reads the word at hex position {@code at} as a small non-negative int (offset, length or bool). */
+    private static int readInt(String hex, int at) {
+        long value = Long.parseUnsignedLong(hex, at + WORD - 16, at + WORD, 16);
+        if (value < 0 || value > Integer.MAX_VALUE / 2 || !hex.startsWith(ZERO_PREFIX, at)) {
+            throw new NumberFormatException("ABI word out of range at byte " + at / 2);
+        }
+        return (int) value;
+    }
+
+    private static String word(long value) {
+        return Numeric.toHexStringNoPrefixZeroPadded(BigInteger.valueOf(value), WORD);
+    }
+
+    private static String word(String hexNoPrefix) {
+        return "0".repeat(WORD - hexNoPrefix.length()) + hexNoPrefix.toLowerCase();
+    }
+
+    private static String padRight(String hexNoPrefix) {
+        int remainder = hexNoPrefix.length() % WORD;
+        return remainder == 0 ? hexNoPrefix : hexNoPrefix + "0".repeat(WORD - remainder);
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /** One sub-call: {@code target.call(callData)}; a revert aborts the batch unless allowFailure. */
+    public record Call3(String target, boolean allowFailure, String callData) {}
+
+    /** Outcome of one sub-call; {@code returnData} is the revert data when {@code success} is false. */
+    public record Result(boolean success, String returnData) {}
+}
@@ -0,0 +1,197 @@
+package com.arcadigitalis.backend.evm;
+
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.utils.Numeric;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional push mode for the indexer: subscribes to {@code eth_subscribe("newHeads")} over
+ * {@code arca.evm.ws-url} and wakes {@link IndexerPoller} as soon as a new block clears the
+ * confirmation depth. While the subscription is live the scheduled poll stands down; on
+ * disconnect the indexer falls back to polling and the subscriber reconnects after a delay.
+ * <p>
+ * A socket can stay open after the node stops pushing heads. If no head arrives for
+ * {@code stall-timeout-seconds} (a few block times), the subscription is treated as lost the
+ * same way, so indexing never waits on a silent socket.
+ */
+@Component
+public class NewHeadsSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(NewHeadsSubscriber.class);
+
+    private final Web3jConfig config;
+    private final IndexerPoller indexerPoller;
+    private final boolean enabled;
+    private final int confirmationDepth;
+    private final long reconnectDelaySeconds;
+    private final long stallTimeoutNanos;
+
+    /** One running cycle plus at most one queued wake-up; further heads coalesce into it. */
+    private final ThreadPoolExecutor indexerTrigger;
+    private final ScheduledExecutorService reconnector;
+
+    private final AtomicLong latestHead = new AtomicLong(-1);
+    private final AtomicLong lastConfirmedTriggered = new AtomicLong(-1);
+    /** {@link System#nanoTime()} of the last pushed head, or of the connect before the first one. */
+    private volatile long lastHeadNanos;
+
+    private WebSocketService socket;
+    private Disposable subscription;
+    private ScheduledFuture<?> watchdog;
+    private volatile boolean closing = false;
+
+    public NewHeadsSubscriber(Web3jConfig config, IndexerPoller indexerPoller,
+                              @Value("${arca.indexer.subscription.enabled:false}") boolean enabled,
+                              @Value("${arca.indexer.confirmation-depth:12}") int confirmationDepth,
+                              @Value("${arca.indexer.subscription.reconnect-delay-seconds:30}") long reconnectDelaySeconds,
+                              @Value("${arca.indexer.subscription.stall-timeout-seconds:60}") long stallTimeoutSeconds) {
+        this.config = config;
+        this.indexerPoller = indexerPoller;
+        this.enabled = enabled;
+        this.confirmationDepth = confirmationDepth;
+        this.reconnectDelaySeconds = Math.max(1, reconnectDelaySeconds);
+        this.stallTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(1, stallTimeoutSeconds));
+        this.indexerTrigger = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> daemon(runnable, "arca-newheads-indexer"),
+            new ThreadPoolExecutor.DiscardPolicy());
+        this.reconnector = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "arca-newheads-reconnect"));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (config.getWsUrl() == null || config.getWsUrl().isBlank()) {
+            log.warn("arca.indexer.subscription.enabled is set but ARCA_EVM_WS_URL is empty — staying in polling mode");
+            return;
+        }
+        connect();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        closing = true;
+        disposeQuietly();
+        indexerPoller.setPushMode(false);
+        reconnector.shutdownNow();
+        indexerTrigger.shutdownNow();
+    }
+
+    public synchronized boolean isConnected() {
+        return socket != null;
+    }
+
+    synchronized void connect() {
+        if (closing || socket != null) {
+            return;
+        }
+        try {
+            WebSocketService ws = new WebSocketService(config.getWsUrl(), false);
+            ws.connect(message -> {}, this::onSocketError, this::onSocketClosed);
+            socket = ws;
+            lastHeadNanos = System.nanoTime();
+            subscription = Web3j.build(ws).newHeadsNotifications().subscribe(
+                notification -> onNewHead(Numeric.decodeQuantity(
+                    notification.getParams().getResult().getNumber()).longValue()),
+                this::onSocketError);
+            indexerPoller.setPushMode(true);
+            long checkNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(250), stallTimeoutNanos / 4);
+            watchdog = reconnector.scheduleWithFixedDelay(this::checkLiveness, checkNanos, checkNanos,
+                TimeUnit.NANOSECONDS);
+            log.info("Subscribed to newHeads at {} — indexer switched to push mode", config.getWsUrl());
+        } catch (Exception e) {
+            log.warn("newHeads subscription to {} failed: {} — polling, retrying in {}s",
+                config.getWsUrl(), e.getMessage(), reconnectDelaySeconds);
+            disposeQuietly();
+            indexerPoller.setPushMode(false);
+            scheduleReconnect();
+        }
+    }
+
+    void onNewHead(long headNumber) {
+        lastHeadNanos = System.nanoTime();
+        latestHead.accumulateAndGet(headNumber, Math::max);
+        long confirmed = headNumber - confirmationDepth;
+        if (confirmed < 0 || confirmed <= lastConfirmedTriggered.getAndAccumulate(confirmed, Math::max)) {
+            return; // No newly confirmed block
+        }
+        indexerTrigger.execute(() -> indexerPoller.onNewHead(latestHead.get()));
+    }
+
+    private synchronized void checkLiveness() {
+        if (socket != null && System.nanoTime() - lastHeadNanos > stallTimeoutNanos) {
+            log.warn("No newHeads notification for {}s on an open socket",
+                TimeUnit.NANOSECONDS.toSeconds(stallTimeoutNanos));
+            fallBackToPolling();
+        }
+    }
+
+    private void onSocketError(Throwable error) {
+        log.warn("newHeads subscription error: {}", error.getMessage());
+        fallBackToPolling();
+    }
+
+    private void onSocketClosed() {
+        log.warn("newHeads WebSocket closed");
+        fallBackToPolling();
+    }
+
+    private synchronized void fallBackToPolling() {
+        if (socket == null) {
+            return; // Already handled (close and error both fire on a drop)
+        }
+        disposeQuietly();
+        indexerPoller.setPushMode(false);
+        log.info("Indexer back in polling mode; reconnecting newHeads in {}s", reconnectDelaySeconds);
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        if (!closing) {
+            reconnector.schedule(this::connect, reconnectDelaySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private void disposeQuietly() {
+        if (watchdog != null) {
+            watchdog.cancel(false);
+            watchdog = null;
+        }
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+        if (socket != null) {
+            WebSocketService ws = socket;
+            socket = null;
+            try {
+                ws.close();
+            } catch (Exception e) {
+                log.debug("Error closing newHeads WebSocket: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,152 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds the decoded events of one range into a single {@link PackageDelta} per package key,
+ * so {@code package_cache} is written once per distinct package instead of once per event.
+ * Events must be applied in chain order; later events overwrite earlier fields. Time fields
+ * (check-in, pending, release) take the block timestamp of the event that set them.
+ * Not thread-safe — create one per range.
+ */
+public class PackageCacheReducer {
+
+    private final Map<String, PackageDelta> deltas = new LinkedHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public void apply(DecodedEvent event, Instant blockTimestamp) {
+        PackageDelta delta = deltas.computeIfAbsent(event.packageKey(), PackageDelta::new);
+        Map<String, Object> data = event.rawData();
+
+        switch (event.eventType()) {
+            case "PackageActivated" -> {
+                delta.cachedStatus = "ACTIVE";
+                if (data.containsKey("owner")) delta.ownerAddress = (String) data.get("owner");
+                if (data.containsKey("beneficiary")) delta.beneficiaryAddress = (String) data.get("beneficiary");
+                if (data.containsKey("manifestUri")) delta.manifestUri = (String) data.get("manifestUri");
+                if (data.get("guardians") instanceof List<?> guardians) delta.guardians = (List<String>) guardians;
+                if (data.get("guardianQuorum") instanceof Number quorum) delta.guardianQuorum = quorum.intValue();
+                if (data.get("warnThreshold") instanceof Number warn) delta.warnThreshold = warn.longValue();
+                if (data.get("inactivityThreshold") instanceof Number inactivity) {
+                    delta.inactivityThreshold = inactivity.longValue();
+                }
+                delta.lastCheckIn = blockTimestamp;
+                delta.resetGuardianCounts();
+            }
+            case "ManifestUpdated" -> {
+                if (data.containsKey("manifestUri")) delta.manifestUri = (String) data.get("manifestUri");
+            }
+            case "CheckIn" -> delta.lastCheckIn = blockTimestamp;
+            case "Renewed" -> {
+                if (data.containsKey("paidUntil")) {
+                    long ts = ((Number) data.get("paidUntil")).longValue();
+                    if (ts > 0) delta.paidUntil = Instant.ofEpochSecond(ts);
+                }
+            }
+            case "GuardianApproved" -> delta.approvalCount++;
+            case "GuardianApproveRescinded" -> delta.approvalCount--;
+            case "GuardianVetoed" -> delta.vetoCount++;
+            case "GuardianVetoRescinded" -> delta.vetoCount--;
+            case "GuardianStateReset" -> delta.resetGuardianCounts();
+            case "PendingRelease" -> {
+                delta.cachedStatus = "PENDING_RELEASE";
+                delta.setPendingSince(blockTimestamp);
+            }
+            case "Released" -> {
+                delta.cachedStatus = "RELEASED";
+                delta.releasedAt = blockTimestamp;
+            }
+            case "Revoked" -> delta.cachedStatus = "REVOKED";
+            case "PackageRescued" -> {
+                delta.cachedStatus = "ACTIVE";
+                delta.setPendingSince(null);
+            }
+            default -> {}
+        }
+
+        delta.lastIndexedBlock = Math.max(delta.lastIndexedBlock, event.blockNumber());
+    }
+
+    public void applyAll(Collection<IndexedLog> events) {
+        for (IndexedLog indexed : events) {
+            apply(indexed.event(), indexed.blockTimestamp());
+        }
+    }
+
+    /** Final per-package deltas, in first-seen order. */
+    public Collection<PackageDelta> deltas() {
+        return deltas.values();
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /**
+     * Net change for one package. {@code null} fields are left untouched by the upsert;
+     * {@code pendingSince} is the exception — {@link #pendingSinceSet()} distinguishes an
+     * explicit clear (PackageRescued) from "not touched". Veto and approval counts are
+     * increments on the stored counts unless {@link #countsReset()}, in which case they are
+     * the counts since the reset.
+     */
+    public static final class PackageDelta {
+        private final String packageKey;
+        private String ownerAddress;
+        private String beneficiaryAddress;
+        private String manifestUri;
+        private String cachedStatus;
+        private Instant pendingSince;
+        private boolean pendingSinceSet;
+        private Instant releasedAt;
+        private Instant lastCheckIn;
+        private Instant paidUntil;
+        private List<String> guardians;
+        private Integer guardianQuorum;
+        private Long warnThreshold;
+        private Long inactivityThreshold;
+        private int vetoCount;
+        private int approvalCount;
+        private boolean countsReset;
+        private long lastIndexedBlock = -1;
+
+        PackageDelta(String packageKey) {
+            this.packageKey = packageKey;
+        }
+
+        private void setPendingSince(Instant pendingSince) {
+            this.pendingSince = pendingSince;
+            this.pendingSinceSet = true;
+        }
+
+        private void resetGuardianCounts() {
+            this.vetoCount = 0;
+            this.approvalCount = 0;
+            this.countsReset = true;
+        }
+
+        public String packageKey() { return packageKey; }
+        public String ownerAddress() { return ownerAddress; }
+        public String beneficiaryAddress() { return beneficiaryAddress; }
+        public String manifestUri() { return manifestUri; }
+        public String cachedStatus() { return cachedStatus; }
+        public Instant pendingSince() { return pendingSince; }
+        public boolean pendingSinceSet() { return pendingSinceSet; }
+        public Instant releasedAt() { return releasedAt; }
+        public Instant lastCheckIn() { return lastCheckIn; }
+        public Instant paidUntil() { return paidUntil; }
+        /** Full guardian list in contract order, or {@code null} if no event in the range set it. */
+        public List<String> guardians() { return guardians; }
+        public Integer guardianQuorum() { return guardianQuorum; }
+        public Long warnThreshold() { return warnThreshold; }
+        public Long inactivityThreshold() { return inactivityThreshold; }
+        public int vetoCount() { return vetoCount; }
+        public int approvalCount() { return approvalCount; }
+        public boolean countsReset() { return countsReset; }
+        public long lastIndexedBlock() { return lastIndexedBlock; }
+    }
+}
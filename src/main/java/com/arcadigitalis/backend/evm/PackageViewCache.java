@@ -0,0 +1,165 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.IndexerPoller.IndexedEventNotification;
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache of {@code getPackage} results for display-only paths (package status,
+ * recovery kit). Each entry is tagged with the chain head known when it was read and is
+ * served only while the head has not advanced past that block and the entry is younger than
+ * {@code max-age-seconds}. The indexer's notification for a packageKey evicts it at once.
+ * <p>
+ * Notifications are published only on the instance that holds the indexer lock. On
+ * secondary instances an entry is invalidated by the head moving, which
+ * {@link ChainHeadTracker} polls on its own there, or else by max-age. A state-changing event
+ * can therefore be served stale for up to one head poll, and for the full max-age if polling
+ * is off ({@code refresh-ms: 0}) or failing.
+ * <p>
+ * Never use this for authorization (RoleResolver, tx-prepare, manifest validation) —
+ * those stay live reads per Constitution III.
+ */
+@Component
+public class PackageViewCache {
+
+    private final PolicyReader policyReader;
+    private final ChainHeadTracker chainHead;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries;
+
+    @Autowired
+    public PackageViewCache(PolicyReader policyReader, ChainHeadTracker chainHead,
+                            @Value("${arca.cache.package-view.enabled:true}") boolean enabled,
+                            @Value("${arca.cache.package-view.max-age-seconds:12}") long maxAgeSeconds,
+                            @Value("${arca.cache.package-view.max-entries:10000}") int maxEntries) {
+        this(policyReader, chainHead, enabled, maxAgeSeconds, maxEntries, System::nanoTime);
+    }
+
+    PackageViewCache(PolicyReader policyReader, ChainHeadTracker chainHead, boolean enabled,
+                     long maxAgeSeconds, int maxEntries, LongSupplier nanoClock) {
+        this.policyReader = policyReader;
+        this.chainHead = chainHead;
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAgeSeconds * 1_000_000_000L;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PackageViewCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached view if still current, otherwise performs a live
+     * {@link PolicyReader#getPackage} and caches the result.
+     */
+    public CachedView get(String packageKey) {
+        long head = chainHead.current();
+        CachedView cached = lookup(packageKey, head);
+        if (cached != null) {
+            return cached;
+        }
+
+        PackageView view = policyReader.getPackage(packageKey);
+        return store(packageKey, view, head);
+    }
+
+    /**
+     * Multi-key variant of {@link #get}: current entries are served from the cache and all
+     * misses are read together through {@link PolicyReader#getPackages}.
+     *
+     * @return views keyed by the given packageKey strings; keys whose read reverted are absent
+     */
+    public Map<String, CachedView> getAll(Collection<String> packageKeys) {
+        long head = chainHead.current();
+        Map<String, CachedView> views = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String packageKey : new LinkedHashSet<>(packageKeys)) {
+            CachedView cached = lookup(packageKey, head);
+            if (cached != null) {
+                views.put(packageKey, cached);
+            } else {
+                misses.add(packageKey);
+            }
+        }
+        if (misses.isEmpty()) {
+            return views;
+        }
+
+        for (Map.Entry<String, PackageView> read : policyReader.getPackages(misses).entrySet()) {
+            views.put(read.getKey(), store(read.getKey(), read.getValue(), head));
+        }
+        return views;
+    }
+
+    /** Drops the entry for a package whose on-chain state just changed. */
+    public synchronized void evict(String packageKey) {
+        entries.remove(packageKey.toLowerCase());
+    }
+
+    @EventListener
+    public void onIndexedEvent(IndexedEventNotification notification) {
+        evict(notification.event().packageKey());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private CachedView lookup(String packageKey, long head) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(packageKey.toLowerCase());
+        }
+        if (entry == null || !isFresh(entry, head)) {
+            return null;
+        }
+        return new CachedView(entry.view(), entry.blockNumber(), false);
+    }
+
+    private CachedView store(String packageKey, PackageView view, long head) {
+        if (enabled) {
+            synchronized (this) {
+                entries.put(packageKey.toLowerCase(), new Entry(view, head, nanoClock.getAsLong()));
+            }
+        }
+        return new CachedView(view, head, true);
+    }
+
+    private boolean isFresh(Entry entry, long head) {
+        if (nanoClock.getAsLong() - entry.readAtNanos() >= maxAgeNanos) {
+            return false;
+        }
+        // With no head observed yet only the age bound applies
+        return head == ChainHeadTracker.UNKNOWN || head <= entry.blockNumber();
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /**
+     * A package view and the chain head it was read at; {@code live} is false when it was
+     * served from the cache.
+     */
+    public record CachedView(PackageView view, long blockNumber, boolean live) {}
+
+    private record Entry(PackageView view, long blockNumber, long readAtNanos) {}
+}
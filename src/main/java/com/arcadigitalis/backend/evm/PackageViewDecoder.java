@@ -0,0 +1,155 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes the {@code getPackage(bytes32)} return data straight from the response hex into a
+ * {@link PackageView}. Fields are read from their fixed head slots; {@code manifestUri} and
+ * {@code guardians} from the tails their offsets point at. No web3j {@code Type}s or
+ * {@code BigInteger}s are built. Results match {@code FunctionReturnDecoder} over the same
+ * layout (see PackageViewDecoderTest).
+ * <p>
+ * Return layout — 15 head words:
+ * <pre>
+ *   uint8 status, address owner, address beneficiary, string manifestUri (offset),
+ *   address[] guardians (offset), uint256 guardianQuorum,
+ *   uint256 vetoCount, uint256 approvalCount,
+ *   uint256 warnThreshold, uint256 inactivityThreshold, uint256 gracePeriodSeconds,
+ *   uint256 lastCheckIn, uint256 paidUntil, uint256 pendingSince, uint256 releasedAt
+ * </pre>
+ */
+final class PackageViewDecoder {
+
+    private static final String[] STATUS_NAMES = {
+        "DRAFT", "ACTIVE", "WARNING", "PENDING_RELEASE", "CLAIMABLE", "RELEASED", "REVOKED"
+    };
+
+    private static final int WORD = 64; // hex chars per 32-byte word
+    private static final int HEAD_WORDS = 15;
+
+    private PackageViewDecoder() {}
+
+    /**
+     * @return the decoded view; {@link PackageView#draft()} for empty return data (unknown package)
+     * @throws IllegalArgumentException if the data is truncated or an offset points outside it
+     */
+    static PackageView decode(String hex) {
+        if (hex == null) {
+            return PackageView.draft();
+        }
+        int base = hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+        if (hex.length() == base) {
+            return PackageView.draft();
+        }
+        try {
+            if (hex.length() - base < HEAD_WORDS * WORD) {
+                throw new IllegalArgumentException("getPackage return data shorter than its head");
+            }
+
+            int statusIndex = (int) low64(hex, slot(base, 0));
+            String status = statusIndex >= 0 && statusIndex < STATUS_NAMES.length && isSmall(hex, slot(base, 0))
+                ? STATUS_NAMES[statusIndex] : "DRAFT";
+            String owner = address(hex, slot(base, 1));
+            String beneficiary = address(hex, slot(base, 2));
+            String manifestUri = string(hex, base + 2 * offset(hex, slot(base, 3)));
+            List<String> guardians = addressArray(hex, base + 2 * offset(hex, slot(base, 4)));
+
+            return new PackageView(
+                status, owner, beneficiary, manifestUri, guardians,
+                (int) low64(hex, slot(base, 5)),
+                (int) low64(hex, slot(base, 6)),
+                (int) low64(hex, slot(base, 7)),
+                low64(hex, slot(base, 8)),
+                low64(hex, slot(base, 9)),
+                (int) low64(hex, slot(base, 10)),
+                instantOrNull(hex, slot(base, 11)),
+                instantOrNull(hex, slot(base, 12)),
+                instantOrNull(hex, slot(base, 13)),
+                instantOrNull(hex, slot(base, 14))
+            );
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed getPackage return data", e);
+        }
+    }
+
+    private static int slot(int base, int index) {
+        return base + index * WORD;
+    }
+
+    /** Low 64 bits of the word at {@code at}; matches {@code BigInteger.longValue()}. */
+    private static long low64(String hex, int at) {
+        return Long.parseUnsignedLong(hex, at + WORD - 16, at + WORD, 16);
+    }
+
+    /** True when the upper 24 bytes of the word are zero. */
+    private static boolean isSmall(String hex, int at) {
+        for (int i = at; i < at + WORD - 16; i++) {
+            if (hex.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+
+    private static boolean isZero(String hex, int at) {
+        return isSmall(hex, at) && low64(hex, at) == 0;
+    }
+
+    /** An ABI offset or length: a small non-negative byte count. */
+    private static int offset(String hex, int at) {
+        long value = low64(hex, at);
+        if (!isSmall(hex, at) || value < 0 || value > Integer.MAX_VALUE / 2) {
+            throw new NumberFormatException("ABI offset out of range at hex position " + at);
+        }
+        return (int) value;
+    }
+
+    private static String address(String hex, int at) {
+        return "0x" + hex.substring(at + WORD - 40, at + WORD).toLowerCase();
+    }
+
+    private static String string(String hex, int at) {
+        int length = offset(hex, at);
+        int start = at + WORD;
+        if (start + 2 * length > hex.length()) {
+            throw new IndexOutOfBoundsException("string tail runs past the return data");
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            int pos = start + 2 * i;
+            bytes[i] = (byte) ((nibble(hex, pos) << 4) | nibble(hex, pos + 1));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int nibble(String hex, int at) {
+        int value = Character.digit(hex.charAt(at), 16);
+        if (value < 0) {
+            throw new NumberFormatException("Non-hex character at position " + at);
+        }
+        return value;
+    }
+
+    private static List<String> addressArray(String hex, int at) {
+        int length = offset(hex, at);
+        if (length == 0) {
+            return Collections.emptyList();
+        }
+        if (at + WORD * (length + 1) > hex.length()) {
+            throw new IndexOutOfBoundsException("address[] tail runs past the return data");
+        }
+        List<String> addresses = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            addresses.add(address(hex, at + WORD * (i + 1)));
+        }
+        return Collections.unmodifiableList(addresses);
+    }
+
+    private static Instant instantOrNull(String hex, int at) {
+        return isZero(hex, at) ? null : Instant.ofEpochSecond(low64(hex, at));
+    }
+}
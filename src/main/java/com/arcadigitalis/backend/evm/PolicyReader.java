@@ -1,27 +1,35 @@
 package com.arcadigitalis.backend.evm;
 
 import com.arcadigitalis.backend.api.exception.RpcUnavailableException;
+import com.arcadigitalis.backend.evm.Multicall3Codec.Call3;
+import com.arcadigitalis.backend.evm.Multicall3Codec.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.*;
 import org.web3j.abi.datatypes.generated.Bytes32;
-import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.abi.datatypes.generated.Uint8;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
 import java.time.Instant;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Performs live contract reads against the policy proxy. All methods perform
@@ -33,6 +41,11 @@ import java.util.List;
  *   <li>{@code getPackage(bytes32) returns (PackageView)} — tuple of all 15+ fields</li>
  *   <li>{@code isReleased(bytes32) returns (bool)}</li>
  * </ul>
+ * Multi-package reads go through Multicall3 {@code aggregate3} — still live, one round trip.
+ * Identical concurrent {@code eth_call}s (same target, calldata and block tag) share one
+ * in-flight request through {@link RequestCoalescer}, and distinct ones issued together are
+ * sent as one JSON-RPC batch by {@link RpcBatcher}. Inside {@link ReadContext#pinned}, reads
+ * go to the block the context pinned rather than {@code latest}.
  */
 @Service
 public class PolicyReader {
@@ -45,10 +58,20 @@ public class PolicyReader {
 
     private final Web3j web3j;
     private final Web3jConfig config;
+    private final RequestCoalescer coalescer;
+    private final RpcBatcher batcher;
+    private final String multicall3Address;
+    private final int multicallChunkSize;
 
-    public PolicyReader(Web3j web3j, Web3jConfig config) {
+    public PolicyReader(Web3j web3j, Web3jConfig config, RequestCoalescer coalescer, RpcBatcher batcher,
+                        @Value("${arca.evm.multicall3-address:" + Multicall3Codec.DEFAULT_ADDRESS + "}") String multicall3Address,
+                        @Value("${arca.evm.multicall.chunk-size:100}") int multicallChunkSize) {
         this.web3j = web3j;
         this.config = config;
+        this.coalescer = coalescer;
+        this.batcher = batcher;
+        this.multicall3Address = multicall3Address;
+        this.multicallChunkSize = Math.max(1, multicallChunkSize);
     }
 
     // ── getPackageStatus(bytes32) → string status name ───────────────────
@@ -83,85 +106,80 @@ public class PolicyReader {
 
     // ── getPackage(bytes32) → PackageView ─────────────────────────────────
 
-    @SuppressWarnings("unchecked")
     public PackageView getPackage(String packageKey) {
         try {
-            // Build the ABI function for getPackage(bytes32) returning a tuple
-            // The returned tuple (PackageView) fields:
-            //   uint8 status, address owner, address beneficiary, string manifestUri,
-            //   address[] guardians, uint256 guardianQuorum,
-            //   uint256 vetoCount, uint256 approvalCount,
-            //   uint256 warnThreshold, uint256 inactivityThreshold, uint256 gracePeriodSeconds,
-            //   uint256 lastCheckIn, uint256 paidUntil, uint256 pendingSince, uint256 releasedAt
-            Function function = new Function(
-                "getPackage",
-                List.of(new Bytes32(Numeric.hexStringToByteArray(packageKey))),
-                List.of(
-                    new TypeReference<Uint8>() {},          // status
-                    new TypeReference<Address>() {},        // owner
-                    new TypeReference<Address>() {},        // beneficiary
-                    new TypeReference<Utf8String>() {},     // manifestUri
-                    new TypeReference<DynamicArray<Address>>() {},  // guardians
-                    new TypeReference<Uint256>() {},        // guardianQuorum
-                    new TypeReference<Uint256>() {},        // vetoCount
-                    new TypeReference<Uint256>() {},        // approvalCount
-                    new TypeReference<Uint256>() {},        // warnThreshold
-                    new TypeReference<Uint256>() {},        // inactivityThreshold
-                    new TypeReference<Uint256>() {},        // gracePeriodSeconds
-                    new TypeReference<Uint256>() {},        // lastCheckIn (unix timestamp)
-                    new TypeReference<Uint256>() {},        // paidUntil (unix timestamp)
-                    new TypeReference<Uint256>() {},        // pendingSince (unix timestamp)
-                    new TypeReference<Uint256>() {}         // releasedAt (unix timestamp)
-                )
-            );
+            EthCall response = ethCall(encodeGetPackage(packageKey));
+            return PackageViewDecoder.decode(response.getValue());
+        } catch (RpcUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RpcUnavailableException("Failed to read package from chain", e);
+        }
+    }
 
-            String encoded = FunctionEncoder.encode(function);
-            EthCall response = ethCall(encoded);
+    // ── getPackages(bytes32[]) via Multicall3 aggregate3 ──────────────────
 
-            List<Type> decoded = FunctionReturnDecoder.decode(response.getValue(), function.getOutputParameters());
-            if (decoded.isEmpty()) {
-                // Unknown package → return DRAFT view
-                return PackageView.draft();
+    /**
+     * Reads many packages with one {@code eth_call} per chunk of {@code multicall.chunk-size}
+     * keys, packed into a Multicall3 {@code aggregate3} with {@code allowFailure=true}.
+     * Duplicate keys are read once. Falls back to one {@link #getPackage} call per key when
+     * no Multicall3 address is configured.
+     *
+     * @return views in input order; keys whose sub-call reverted are absent
+     */
+    public Map<String, PackageView> getPackages(Collection<String> packageKeys) {
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(packageKeys));
+        Map<String, PackageView> views = new LinkedHashMap<>();
+        if (multicall3Address == null || multicall3Address.isBlank()) {
+            for (String key : keys) {
+                views.put(key, getPackage(key));
             }
+            return views;
+        }
 
-            int idx = 0;
-            int statusIdx = ((Uint8) decoded.get(idx++)).getValue().intValue();
-            String status = (statusIdx >= 0 && statusIdx < STATUS_NAMES.length)
-                ? STATUS_NAMES[statusIdx] : "DRAFT";
-            String owner = ((Address) decoded.get(idx++)).getValue();
-            String beneficiary = ((Address) decoded.get(idx++)).getValue();
-            String manifestUri = ((Utf8String) decoded.get(idx++)).getValue();
-
-            DynamicArray<Address> guardianArray = (DynamicArray<Address>) decoded.get(idx++);
-            List<String> guardians = guardianArray.getValue().stream()
-                .map(Address::getValue)
-                .toList();
-
-            BigInteger guardianQuorum = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger vetoCount = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger approvalCount = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger warnThreshold = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger inactivityThreshold = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger gracePeriodSeconds = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger lastCheckIn = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger paidUntil = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger pendingSince = ((Uint256) decoded.get(idx++)).getValue();
-            BigInteger releasedAt = ((Uint256) decoded.get(idx++)).getValue();
+        for (int from = 0; from < keys.size(); from += multicallChunkSize) {
+            List<String> chunk = keys.subList(from, Math.min(from + multicallChunkSize, keys.size()));
+            List<Call3> calls = new ArrayList<>(chunk.size());
+            for (String key : chunk) {
+                calls.add(new Call3(config.getProxyAddress(), true, encodeGetPackage(key)));
+            }
 
-            return new PackageView(
-                status, owner, beneficiary, manifestUri, guardians,
-                guardianQuorum.intValue(),
-                vetoCount.intValue(), approvalCount.intValue(),
-                warnThreshold.longValue(), inactivityThreshold.longValue(),
-                gracePeriodSeconds.intValue(),
-                toInstantOrNull(lastCheckIn), toInstantOrNull(paidUntil),
-                toInstantOrNull(pendingSince), toInstantOrNull(releasedAt)
-            );
-        } catch (RpcUnavailableException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RpcUnavailableException("Failed to read package from chain", e);
+            List<Result> results;
+            try {
+                EthCall response = ethCall(multicall3Address, Multicall3Codec.encodeAggregate3(calls));
+                results = Multicall3Codec.decodeAggregate3(response.getValue());
+            } catch (RpcUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RpcUnavailableException("Failed to read packages from chain", e);
+            }
+            if (results.size() != chunk.size()) {
+                throw new RpcUnavailableException("Multicall3 returned " + results.size()
+                    + " results for " + chunk.size() + " calls");
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Result result = results.get(i);
+                if (!result.success()) {
+                    log.warn("getPackage reverted inside multicall for packageKey={}", chunk.get(i));
+                    continue;
+                }
+                try {
+                    views.put(chunk.get(i), PackageViewDecoder.decode(result.returnData()));
+                } catch (Exception e) {
+                    throw new RpcUnavailableException("Failed to decode package " + chunk.get(i), e);
+                }
+            }
         }
+        return views;
+    }
+
+    private static String encodeGetPackage(String packageKey) {
+        return FunctionEncoder.encode(new Function(
+            "getPackage",
+            List.of(new Bytes32(Numeric.hexStringToByteArray(packageKey))),
+            Collections.emptyList()
+        ));
     }
 
     // ── isReleased(bytes32) → boolean ──────────────────────────────────────
@@ -191,13 +209,46 @@ public class PolicyReader {
     // ── Private helpers ────────────────────────────────────────────────────
 
     private EthCall ethCall(String encodedFunction) {
+        return ethCall(config.getProxyAddress(), encodedFunction);
+    }
+
+    private EthCall ethCall(String to, String encodedFunction) {
+        // Calldata carries the selector and packageKey, so this keys on (function, packageKey, blockTag)
+        String prefix = "eth_call:" + to.toLowerCase() + ":" + encodedFunction + "@";
+        ReadContext context = ReadContext.current();
+        if (context == null) {
+            String key = prefix + DefaultBlockParameterName.LATEST.getValue();
+            return coalescer.execute(key, () -> sendEthCall(to, encodedFunction, DefaultBlockParameterName.LATEST));
+        }
+
+        long block = context.blockNumber(this::headBlockNumber);
+        String key = prefix + block;
+        DefaultBlockParameter blockTag = DefaultBlockParameter.valueOf(BigInteger.valueOf(block));
+        return context.call(key, () -> coalescer.execute(key, () -> sendEthCall(to, encodedFunction, blockTag)));
+    }
+
+    private long headBlockNumber() {
+        try {
+            EthBlockNumber response = batcher.send(web3j.ethBlockNumber());
+            if (response.hasError()) {
+                throw new RpcUnavailableException("EVM RPC error: " + response.getError().getMessage());
+            }
+            return response.getBlockNumber().longValueExact();
+        } catch (RpcUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RpcUnavailableException("Failed to resolve chain head for a pinned read", e);
+        }
+    }
+
+    private EthCall sendEthCall(String to, String encodedFunction, DefaultBlockParameter blockTag) {
         try {
             Transaction tx = Transaction.createEthCallTransaction(
                 "0x0000000000000000000000000000000000000000",
-                config.getProxyAddress(),
+                to,
                 encodedFunction
             );
-            EthCall response = web3j.ethCall(tx, DefaultBlockParameterName.LATEST).send();
+            EthCall response = batcher.send(web3j.ethCall(tx, blockTag));
             if (response.hasError()) {
                 throw new RpcUnavailableException("EVM RPC error: " + response.getError().getMessage());
             }
@@ -209,13 +260,6 @@ public class PolicyReader {
         }
     }
 
-    private static Instant toInstantOrNull(BigInteger unixSeconds) {
-        if (unixSeconds == null || unixSeconds.signum() == 0) {
-            return null;
-        }
-        return Instant.ofEpochSecond(unixSeconds.longValue());
-    }
-
     // ── Immutable view record ──────────────────────────────────────────────
 
     public record PackageView(
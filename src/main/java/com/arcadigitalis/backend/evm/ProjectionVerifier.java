@@ -0,0 +1,258 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import com.arcadigitalis.backend.persistence.repository.PackageCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the event-sourced {@code package_cache} projection against the chain. Each run
+ * samples up to {@code sample-size} packages from a random point in the table, reads them
+ * with Multicall3 pinned to the block the indexer cursor stood at when the sample was taken,
+ * and counts every field that differs. Counters are exposed at {@code /health/projection}.
+ * <p>
+ * {@code WARNING} and {@code CLAIMABLE} are computed on-chain from the clock and have no
+ * event, so they compare equal to the stored {@code ACTIVE} and {@code PENDING_RELEASE}.
+ * {@code gracePeriodSeconds} is carried by no event: a sampled row without it is filled
+ * from the read instead of counted as drift.
+ */
+@Component
+public class ProjectionVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionVerifier.class);
+
+    /**
+     * One statement, so the rows and the cursor block come from the same snapshot — the
+     * indexer commits both in one transaction.
+     */
+    private static final String SAMPLE_SQL =
+        "SELECT pc.package_key, pc.owner_address, pc.beneficiary_address, pc.manifest_uri, pc.cached_status, "
+        + "pc.pending_since, pc.released_at, pc.last_check_in, pc.paid_until, pc.guardian_quorum, "
+        + "pc.veto_count, pc.approval_count, pc.warn_threshold, pc.inactivity_threshold, pc.grace_period_seconds, "
+        + "(SELECT string_agg(g.guardian_address, ',' ORDER BY g.position) FROM guardian_cache g "
+        + "WHERE g.package_cache_id = pc.id) AS guardians, "
+        + "(SELECT ic.last_block FROM indexer_cursor ic "
+        + "WHERE ic.chain_id = pc.chain_id AND ic.proxy_address = pc.proxy_address) AS cursor_block "
+        + "FROM package_cache pc "
+        + "WHERE pc.chain_id = ? AND pc.proxy_address = ? AND pc.last_indexed_block IS NOT NULL AND pc.id %s ? "
+        + "ORDER BY pc.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PackageCacheRepository packageCacheRepository;
+    private final PolicyReader policyReader;
+    private final Web3jConfig config;
+    private final boolean enabled;
+    private final int sampleSize;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder drifted = new LongAdder();
+    private final Map<String, LongAdder> fieldMismatches = new ConcurrentHashMap<>();
+    private final AtomicReference<RunSummary> lastRun = new AtomicReference<>();
+
+    @Autowired
+    public ProjectionVerifier(JdbcTemplate jdbcTemplate, PackageCacheRepository packageCacheRepository,
+                              PolicyReader policyReader, Web3jConfig config,
+                              @Value("${arca.indexer.projection-verifier.enabled:true}") boolean enabled,
+                              @Value("${arca.indexer.projection-verifier.sample-size:50}") int sampleSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.packageCacheRepository = packageCacheRepository;
+        this.policyReader = policyReader;
+        this.config = config;
+        this.enabled = enabled;
+        this.sampleSize = Math.max(1, sampleSize);
+    }
+
+    @Scheduled(fixedDelayString = "${arca.indexer.projection-verifier.interval-seconds:300}000",
+               initialDelayString = "${arca.indexer.projection-verifier.interval-seconds:300}000")
+    public void scheduledRun() {
+        if (!enabled) return;
+        try {
+            RpcPriority.BACKGROUND.call(this::verifySample);
+        } catch (Exception e) {
+            log.warn("Projection verification run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Samples, reads and compares one batch of packages.
+     *
+     * @return what this run found
+     */
+    public RunSummary verifySample() {
+        UUID start = UUID.randomUUID();
+        List<ProjectedPackage> sample = new ArrayList<>(query(">=", start, sampleSize));
+        if (sample.size() < sampleSize) {
+            // Wrap around to the start of the table
+            sample.addAll(query("<", start, sampleSize - sample.size()));
+        }
+
+        // The two queries may have seen different cursors; pin each group to its own
+        Map<Long, List<ProjectedPackage>> byBlock = new TreeMap<>();
+        for (ProjectedPackage row : sample) {
+            if (row.cursorBlock() != null) {
+                byBlock.computeIfAbsent(row.cursorBlock(), block -> new ArrayList<>()).add(row);
+            }
+        }
+
+        int runChecked = 0;
+        int runDrifted = 0;
+        Map<String, Integer> runFields = new TreeMap<>();
+        for (Map.Entry<Long, List<ProjectedPackage>> group : byBlock.entrySet()) {
+            List<String> keys = group.getValue().stream().map(ProjectedPackage::packageKey).toList();
+            Map<String, PackageView> onChain = ReadContext.pinnedAt(group.getKey(), () -> policyReader.getPackages(keys));
+
+            for (ProjectedPackage row : group.getValue()) {
+                PackageView view = onChain.get(row.packageKey());
+                if (view == null) {
+                    continue; // Reverted inside the multicall; nothing to compare
+                }
+                if (row.gracePeriodSeconds() == null) {
+                    packageCacheRepository.fillGracePeriod(config.getChainId(), config.getProxyAddress(),
+                        row.packageKey(), view.gracePeriodSeconds());
+                }
+                List<String> mismatches = compare(row, view);
+                runChecked++;
+                if (!mismatches.isEmpty()) {
+                    runDrifted++;
+                    mismatches.forEach(field -> runFields.merge(field, 1, Integer::sum));
+                    log.warn("package_cache drift for packageKey={} at block {}: {}",
+                        row.packageKey(), group.getKey(), mismatches);
+                }
+            }
+        }
+
+        runs.increment();
+        checked.add(runChecked);
+        drifted.add(runDrifted);
+        runFields.forEach((field, count) -> fieldMismatches.computeIfAbsent(field, f -> new LongAdder()).add(count));
+        RunSummary summary = new RunSummary(Instant.now(), runChecked, runDrifted, runFields);
+        lastRun.set(summary);
+        log.info("Projection verifier checked {} packages, {} drifted", runChecked, runDrifted);
+        return summary;
+    }
+
+    public DriftStats stats() {
+        Map<String, Long> fields = new TreeMap<>();
+        fieldMismatches.forEach((field, count) -> fields.put(field, count.sum()));
+        long checkedCount = checked.sum();
+        return new DriftStats(runs.sum(), checkedCount, drifted.sum(),
+            checkedCount == 0 ? 0 : (double) drifted.sum() / checkedCount, fields, lastRun.get());
+    }
+
+    /** Names of the projected fields that differ from {@code view}. */
+    static List<String> compare(ProjectedPackage row, PackageView view) {
+        List<String> mismatches = new ArrayList<>();
+        if (!Objects.equals(row.status(), projectedStatus(view.status()))) mismatches.add("status");
+        if (!sameAddress(row.ownerAddress(), view.ownerAddress())) mismatches.add("ownerAddress");
+        if (!sameAddress(row.beneficiaryAddress(), view.beneficiaryAddress())) mismatches.add("beneficiaryAddress");
+        if (!Objects.equals(row.manifestUri(), view.manifestUri())) mismatches.add("manifestUri");
+        if (!row.guardians().equals(lowerCase(view.guardians()))) mismatches.add("guardians");
+        if (!Objects.equals(row.guardianQuorum(), view.guardianQuorum())) mismatches.add("guardianQuorum");
+        if (!Objects.equals(orZero(row.vetoCount()), view.vetoCount())) mismatches.add("vetoCount");
+        if (!Objects.equals(orZero(row.approvalCount()), view.approvalCount())) mismatches.add("approvalCount");
+        if (!Objects.equals(row.warnThreshold(), view.warnThreshold())) mismatches.add("warnThreshold");
+        if (!Objects.equals(row.inactivityThreshold(), view.inactivityThreshold())) mismatches.add("inactivityThreshold");
+        if (row.gracePeriodSeconds() != null && row.gracePeriodSeconds() != view.gracePeriodSeconds()) {
+            mismatches.add("gracePeriodSeconds");
+        }
+        if (!Objects.equals(row.lastCheckIn(), view.lastCheckIn())) mismatches.add("lastCheckIn");
+        if (!Objects.equals(row.paidUntil(), view.paidUntil())) mismatches.add("paidUntil");
+        if (!Objects.equals(row.pendingSince(), view.pendingSince())) mismatches.add("pendingSince");
+        if (!Objects.equals(row.releasedAt(), view.releasedAt())) mismatches.add("releasedAt");
+        return mismatches;
+    }
+
+    /** The status the projection stores for an on-chain status. */
+    private static String projectedStatus(String onChain) {
+        return switch (onChain) {
+            case "WARNING" -> "ACTIVE";
+            case "CLAIMABLE" -> "PENDING_RELEASE";
+            default -> onChain;
+        };
+    }
+
+    private static boolean sameAddress(String projected, String onChain) {
+        return projected == null ? onChain == null : projected.equalsIgnoreCase(onChain);
+    }
+
+    private static List<String> lowerCase(List<String> addresses) {
+        return addresses.stream().map(address -> address.toLowerCase(Locale.ROOT)).toList();
+    }
+
+    private static Integer orZero(Integer count) {
+        return count != null ? count : 0;
+    }
+
+    private List<ProjectedPackage> query(String comparison, UUID start, int limit) {
+        return jdbcTemplate.query(String.format(SAMPLE_SQL, comparison), (rs, rowNum) -> mapRow(rs),
+            config.getChainId(), config.getProxyAddress(), start, limit);
+    }
+
+    private static ProjectedPackage mapRow(ResultSet rs) throws SQLException {
+        String guardians = rs.getString("guardians");
+        return new ProjectedPackage(
+            rs.getString("package_key"),
+            rs.getString("cached_status"),
+            rs.getString("owner_address"),
+            rs.getString("beneficiary_address"),
+            rs.getString("manifest_uri"),
+            guardians == null || guardians.isEmpty()
+                ? Collections.emptyList()
+                : Arrays.stream(guardians.split(",")).map(g -> g.toLowerCase(Locale.ROOT)).toList(),
+            rs.getObject("guardian_quorum", Integer.class),
+            rs.getObject("veto_count", Integer.class),
+            rs.getObject("approval_count", Integer.class),
+            rs.getObject("warn_threshold", Long.class),
+            rs.getObject("inactivity_threshold", Long.class),
+            rs.getObject("grace_period_seconds", Integer.class),
+            instant(rs.getTimestamp("last_check_in")),
+            instant(rs.getTimestamp("paid_until")),
+            instant(rs.getTimestamp("pending_since")),
+            instant(rs.getTimestamp("released_at")),
+            rs.getObject("cursor_block", Long.class)
+        );
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /** One package_cache row with its guardians, as of {@code cursorBlock}. */
+    record ProjectedPackage(String packageKey, String status, String ownerAddress, String beneficiaryAddress,
+                            String manifestUri, List<String> guardians, Integer guardianQuorum,
+                            Integer vetoCount, Integer approvalCount, Long warnThreshold,
+                            Long inactivityThreshold, Integer gracePeriodSeconds, Instant lastCheckIn,
+                            Instant paidUntil, Instant pendingSince, Instant releasedAt, Long cursorBlock) {}
+
+    /** Outcome of one run; {@code fieldMismatches} counts drifted packages per field. */
+    public record RunSummary(Instant finishedAt, int checked, int drifted, Map<String, Integer> fieldMismatches) {}
+
+    /** Cumulative counters since startup, plus the most recent run. */
+    public record DriftStats(long runs, long checked, long drifted, double driftRate,
+                             Map<String, Long> fieldMismatches, RunSummary lastRun) {}
+}
@@ -0,0 +1,90 @@
+package com.arcadigitalis.backend.evm;
+
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A consistent snapshot for the contract reads of one request. Inside {@link #pinned}, the
+ * first {@link PolicyReader} read resolves the chain head once, and every {@code eth_call}
+ * on this thread is sent at that block number instead of {@code latest}, so a status read
+ * and a later {@code getPackage} cannot straddle a block. Identical calls within the context
+ * are answered from the first response.
+ * <p>
+ * Outside a context, reads go to {@code latest} as before. Reads stay live either way:
+ * nothing outlives the context.
+ */
+public final class ReadContext {
+
+    private static final ThreadLocal<ReadContext> CURRENT = new ThreadLocal<>();
+    private static final long UNRESOLVED = -1L;
+
+    private long blockNumber;
+    private final Map<String, EthCall> calls = new HashMap<>();
+
+    private ReadContext(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    /**
+     * Runs {@code body} with its contract reads pinned to one block. A nested call joins the
+     * enclosing context.
+     */
+    public static <T> T pinned(Supplier<T> body) {
+        if (CURRENT.get() != null) {
+            return body.get();
+        }
+        return open(new ReadContext(UNRESOLVED), body);
+    }
+
+    /**
+     * Runs {@code body} with its contract reads pinned to {@code blockNumber}, e.g. the block
+     * a DB projection was built up to. Replaces any enclosing context for the duration.
+     */
+    public static <T> T pinnedAt(long blockNumber, Supplier<T> body) {
+        if (blockNumber < 0) {
+            throw new IllegalArgumentException("blockNumber must not be negative: " + blockNumber);
+        }
+        ReadContext previous = CURRENT.get();
+        try {
+            return open(new ReadContext(blockNumber), body);
+        } finally {
+            if (previous != null) CURRENT.set(previous);
+        }
+    }
+
+    private static <T> T open(ReadContext context, Supplier<T> body) {
+        CURRENT.set(context);
+        try {
+            return body.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /** The context open on this thread, or null. */
+    static ReadContext current() {
+        return CURRENT.get();
+    }
+
+    /** The pinned block, resolved with {@code head} on first use. */
+    long blockNumber(LongSupplier head) {
+        if (blockNumber == UNRESOLVED) {
+            blockNumber = head.getAsLong();
+        }
+        return blockNumber;
+    }
+
+    /** The memoized response for {@code key}; failed reads are not memoized. */
+    EthCall call(String key, Supplier<EthCall> read) {
+        EthCall response = calls.get(key);
+        if (response == null) {
+            response = read.get();
+            calls.put(key, response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,191 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
+import com.arcadigitalis.backend.persistence.entity.ProcessedBlockEntity;
+import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Header-chain reorg detection without per-event DB reads. Keeps the last N committed headers
+ * in a primitive ring buffer (block number, hash, parentHash, slot = number mod N) and checks
+ * that each new range's first header links to the stored hash of its parent. On a break it
+ * re-fetches the canonical headers for the buffered blocks and walks back to the true common
+ * ancestor. Only touched from the indexer's single commit thread.
+ */
+@Component
+public class ReorgDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorgDetector.class);
+
+    /** Returned by {@link #findCommonAncestor} when the range extends the known chain. */
+    public static final long NO_REORG = -1L;
+
+    private final BlockHeaderFetcher headerFetcher;
+    private final BlockHeaderCache headerCache;
+    private final ProcessedBlockRepository processedBlockRepository;
+    private final Web3jConfig config;
+    private final int capacity;
+
+    private final long[] numbers;
+    private final String[] hashes;
+    private final String[] parentHashes;
+    private boolean seeded = false;
+
+    public ReorgDetector(BlockHeaderFetcher headerFetcher, BlockHeaderCache headerCache,
+                         ProcessedBlockRepository processedBlockRepository, Web3jConfig config,
+                         @Value("${arca.indexer.reorg-window-blocks:64}") int capacity) {
+        this.headerFetcher = headerFetcher;
+        this.headerCache = headerCache;
+        this.processedBlockRepository = processedBlockRepository;
+        this.config = config;
+        this.capacity = Math.max(2, capacity);
+        this.numbers = new long[this.capacity];
+        this.hashes = new String[this.capacity];
+        this.parentHashes = new String[this.capacity];
+        Arrays.fill(numbers, -1L);
+    }
+
+    /**
+     * Checks a new range's contiguous header run (ascending, ending at the range's last block)
+     * against the buffered chain.
+     *
+     * @return {@link #NO_REORG}, or the highest block both chains share — the rewind target
+     * @throws UnstableRangeException if the run itself is not a hash-linked chain (reorg in
+     *         progress while the range was fetched); the range should be retried
+     */
+    public synchronized long findCommonAncestor(List<BlockHeader> run) {
+        if (run.isEmpty()) {
+            return NO_REORG;
+        }
+        for (int i = 1; i < run.size(); i++) {
+            if (!sameHash(run.get(i).parentHash(), run.get(i - 1).hash())) {
+                throw new UnstableRangeException("Header " + run.get(i).number()
+                    + " does not link to its parent in the same fetch");
+            }
+        }
+
+        BlockHeader first = run.get(0);
+        if (!seeded) {
+            // Cold start: the buffer is empty until the first commit, so borrow stored hashes once
+            seeded = true;
+            if (knownHash(first.number() - 1) == null) {
+                seedFromDatabase(first.number());
+            }
+        }
+        String storedParent = knownHash(first.number() - 1);
+        if (storedParent == null || first.parentHash() == null || sameHash(storedParent, first.parentHash())) {
+            return NO_REORG;
+        }
+
+        log.warn("Reorg detected: block {} has parent {} but block {} was indexed as {}",
+            first.number(), first.parentHash(), first.number() - 1, storedParent);
+        return walkBackToAncestor(first.number() - 1);
+    }
+
+    /** Buffers the headers of a committed range. */
+    public synchronized void record(List<BlockHeader> run) {
+        for (BlockHeader header : run) {
+            if (header.hash() != null) {
+                put(header.number(), header.hash(), header.parentHash());
+            }
+        }
+    }
+
+    /** Drops buffered headers above the common ancestor after a rewind. */
+    public synchronized void rewindTo(long ancestorBlock) {
+        for (int slot = 0; slot < capacity; slot++) {
+            if (numbers[slot] > ancestorBlock) {
+                numbers[slot] = -1L;
+                hashes[slot] = null;
+                parentHashes[slot] = null;
+            }
+        }
+    }
+
+    /** Returns the buffered hash for {@code blockNumber}, or {@code null} if not buffered. */
+    synchronized String hashAt(long blockNumber) {
+        if (blockNumber < 0) {
+            return null;
+        }
+        int slot = slot(blockNumber);
+        return numbers[slot] == blockNumber ? hashes[slot] : null;
+    }
+
+    /**
+     * Buffered hash of {@code blockNumber}: its own entry, or else the parentHash recorded
+     * by its child (covers slots seeded without a parent link).
+     */
+    private String knownHash(long blockNumber) {
+        String hash = hashAt(blockNumber);
+        if (hash != null) {
+            return hash;
+        }
+        int childSlot = slot(blockNumber + 1);
+        return numbers[childSlot] == blockNumber + 1 ? parentHashes[childSlot] : null;
+    }
+
+    private long walkBackToAncestor(long fromBlock) {
+        long lowest = fromBlock;
+        List<Long> buffered = new ArrayList<>();
+        for (long block = fromBlock; block > fromBlock - capacity && block >= 0; block--) {
+            if (knownHash(block) != null) {
+                buffered.add(block);
+                lowest = block;
+            }
+        }
+
+        // Memoized headers on this stretch may belong to the abandoned branch
+        headerCache.evictFrom(lowest);
+        Map<Long, BlockHeader> canonical = headerFetcher.fetchHeaders(buffered);
+
+        for (Long block : buffered) {
+            BlockHeader header = canonical.get(block);
+            if (header != null && sameHash(header.hash(), knownHash(block))) {
+                log.info("Common ancestor found at block {} ({} blocks rolled back)", block, fromBlock + 1 - block);
+                return block;
+            }
+        }
+        log.warn("Fork is deeper than the {}-block reorg window; rewinding to block {}", capacity, lowest - 1);
+        return Math.max(lowest - 1, 0);
+    }
+
+    private void seedFromDatabase(long nextBlock) {
+        List<ProcessedBlockEntity> stored = processedBlockRepository
+            .findByChainIdAndProxyAddressAndBlockNumberBetweenOrderByBlockNumberAsc(
+                config.getChainId(), config.getProxyAddress(), Math.max(0, nextBlock - capacity), nextBlock - 1);
+        for (ProcessedBlockEntity block : stored) {
+            // Zero-hash rows are placeholders for headers the node did not return
+            if (hashAt(block.getBlockNumber()) == null && !block.getBlockHash().matches("0x0+")) {
+                put(block.getBlockNumber(), block.getBlockHash(), null);
+            }
+        }
+    }
+
+    private void put(long number, String hash, String parentHash) {
+        int slot = slot(number);
+        numbers[slot] = number;
+        hashes[slot] = hash;
+        parentHashes[slot] = parentHash;
+    }
+
+    private int slot(long blockNumber) {
+        return (int) (blockNumber % capacity);
+    }
+
+    private static boolean sameHash(String a, String b) {
+        return a != null && a.equalsIgnoreCase(b);
+    }
+
+    /** The fetched range is internally inconsistent; retry it on the next cycle. */
+    public static class UnstableRangeException extends RuntimeException {
+        public UnstableRangeException(String message) { super(message); }
+    }
+}
@@ -1,19 +1,28 @@
 package com.arcadigitalis.backend.evm;
 
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
 import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
-import com.arcadigitalis.backend.persistence.entity.ProcessedBlockEntity;
 import com.arcadigitalis.backend.persistence.repository.EventRecordRepository;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
+import com.arcadigitalis.backend.persistence.repository.PackageCacheRepository;
 import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Detects and handles chain reorganizations by comparing stored block hashes
- * against observed hashes. On mismatch, rewinds the DB to the fork point.
+ * Applies a reorg rewind found by {@link ReorgDetector}: in one transaction, deletes
+ * event_records and processed_blocks above the common ancestor, moves the indexer cursor back
+ * to it and rebuilds the package_cache rows of affected packages from their surviving events.
+ * Evicts the shared {@link BlockHeaderCache} from the first orphaned block on.
  */
 @Component
 public class ReorgHandler {
@@ -22,62 +31,75 @@ public class ReorgHandler {
 
     private final ProcessedBlockRepository processedBlockRepository;
     private final EventRecordRepository eventRecordRepository;
+    private final IndexerCursorRepository cursorRepository;
+    private final PackageCacheRepository packageCacheRepository;
+    private final EventIngestor eventIngestor;
+    private final BlockHeaderCache headerCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public ReorgHandler(ProcessedBlockRepository processedBlockRepository,
-                        EventRecordRepository eventRecordRepository) {
+                        EventRecordRepository eventRecordRepository,
+                        IndexerCursorRepository cursorRepository,
+                        PackageCacheRepository packageCacheRepository,
+                        EventIngestor eventIngestor,
+                        BlockHeaderCache headerCache) {
         this.processedBlockRepository = processedBlockRepository;
         this.eventRecordRepository = eventRecordRepository;
+        this.cursorRepository = cursorRepository;
+        this.packageCacheRepository = packageCacheRepository;
+        this.eventIngestor = eventIngestor;
+        this.headerCache = headerCache;
     }
 
     /**
-     * Checks for reorg at the given block number.
-     * If the stored block hash does not match the observed hash, rewinds the DB
-     * by deleting all processed_blocks and event_records above the fork point.
+     * Rewinds all indexed state above {@code ancestorBlock}, the highest block shared by the
+     * indexed and canonical chains.
      *
-     * @return the block number to resume from (same as input if no reorg, or fork point if reorg detected)
+     * @return the number of package_cache rows rebuilt
      */
     @Transactional
-    public long checkAndHandleReorg(long chainId, String proxyAddress,
-                                     long blockNumber, String observedHash) {
-        Optional<ProcessedBlockEntity> stored = processedBlockRepository
-            .findByChainIdAndProxyAddressAndBlockNumber(chainId, proxyAddress, blockNumber);
+    public int rewindTo(long chainId, String proxyAddress, long ancestorBlock) {
+        log.info("Rewinding event_records, processed_blocks, package_cache and indexer_cursor above block {} for chain={} proxy={}",
+            ancestorBlock, chainId, proxyAddress);
 
-        if (stored.isEmpty()) {
-            // Block not yet processed — no reorg to handle
-            return blockNumber;
-        }
-
-        if (stored.get().getBlockHash().equalsIgnoreCase(observedHash)) {
-            // Hash matches — no reorg
-            return blockNumber;
-        }
+        List<String> affected = eventRecordRepository.findDistinctPackageKeysAbove(chainId, proxyAddress, ancestorBlock);
 
-        // Reorg detected!
-        log.warn("Reorg detected at block {} — stored hash {} vs observed hash {}",
-            blockNumber, stored.get().getBlockHash(), observedHash);
+        eventRecordRepository.deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
+            chainId, proxyAddress, ancestorBlock);
+        processedBlockRepository.deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
+            chainId, proxyAddress, ancestorBlock);
+        cursorRepository.rewindTo(chainId, proxyAddress, ancestorBlock);
 
-        // Walk backwards to find fork point
-        long forkPoint = blockNumber;
-        while (forkPoint > 0) {
-            Optional<ProcessedBlockEntity> prev = processedBlockRepository
-                .findByChainIdAndProxyAddressAndBlockNumber(chainId, proxyAddress, forkPoint - 1);
-            if (prev.isEmpty()) {
-                break; // We haven't processed this block — this is the start
+        if (!affected.isEmpty()) {
+            // Rebuild the projection of touched packages from the events that survived
+            packageCacheRepository.resetProjection(chainId, proxyAddress, affected);
+            packageCacheRepository.deleteGuardians(chainId, proxyAddress, affected);
+            List<IndexedLog> surviving = new ArrayList<>();
+            for (EventRecordEntity record : eventRecordRepository
+                    .findByChainIdAndProxyAddressAndPackageKeyInOrderByBlockNumberAscLogIndexAsc(
+                        chainId, proxyAddress, affected)) {
+                surviving.add(new IndexedLog(toDecodedEvent(record), record.getEmittingAddress(),
+                    record.getBlockTimestamp(), record.getRawData()));
             }
-            // We don't have the observed hash for previous blocks without re-querying,
-            // so we rewind to the mismatch point
-            break;
+            eventIngestor.applyToPackageCache(chainId, proxyAddress, surviving);
+            packageCacheRepository.deleteUnindexed(chainId, proxyAddress, affected);
         }
 
-        // Delete all data from fork point onwards
-        log.info("Rewinding event_records and processed_blocks from block {} onwards for chain={} proxy={}",
-            forkPoint, chainId, proxyAddress);
-
-        eventRecordRepository.deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
-            chainId, proxyAddress, forkPoint - 1);
-        processedBlockRepository.deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
-            chainId, proxyAddress, forkPoint - 1);
+        // Headers memoized for the abandoned branch must not be reused
+        headerCache.evictFrom(ancestorBlock + 1);
+        return affected.size();
+    }
 
-        return forkPoint;
+    private DecodedEvent toDecodedEvent(EventRecordEntity record) {
+        Map<String, Object> rawData;
+        try {
+            rawData = record.getRawData() != null
+                ? objectMapper.readValue(record.getRawData(), new TypeReference<Map<String, Object>>() {})
+                : Map.of();
+        } catch (Exception e) {
+            rawData = Map.of();
+        }
+        return new DecodedEvent(record.getEventType(), record.getPackageKey(), record.getBlockNumber(),
+            record.getBlockHash(), record.getTxHash(), record.getLogIndex(), rawData);
     }
 }
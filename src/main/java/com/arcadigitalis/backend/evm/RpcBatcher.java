@@ -0,0 +1,270 @@
+package com.arcadigitalis.backend.evm;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groups JSON-RPC requests queued within {@code window-ms} of each other into one JSON-RPC
+ * batch HTTP call. A window is flushed early once it holds {@code max-size} requests; a
+ * window holding a single request is sent as a plain call. Responses are matched back to
+ * callers by JSON-RPC id. With {@code window-ms: 0} every request is sent directly.
+ * <p>
+ * Each {@link RpcPriority} has its own window, and a batch is sent at the priority its
+ * callers had. Without that, calls sent from the batcher's threads would all reach
+ * {@link RpcEndpointRouter} as {@link RpcPriority#INTERACTIVE}.
+ */
+@Component
+public class RpcBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RpcBatcher.class);
+
+    private final Web3j web3j;
+    private final long windowMs;
+    private final int maxSize;
+    private final long callTimeoutMs;
+
+    private final ScheduledExecutorService windowTimer;
+    private final ExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    private final Map<RpcPriority, Window> windows = new EnumMap<>(RpcPriority.class);
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong largestBatch = new AtomicLong();
+
+    @Autowired
+    public RpcBatcher(Web3j web3j, Web3jConfig config,
+                      @Value("${arca.evm.transport.batch.window-ms:2}") long windowMs,
+                      @Value("${arca.evm.transport.batch.max-size:50}") int maxSize) {
+        this(web3j, windowMs, maxSize, config.getCallTimeoutMs());
+    }
+
+    RpcBatcher(Web3j web3j, long windowMs, int maxSize, long callTimeoutMs) {
+        this.web3j = web3j;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxSize = Math.max(1, maxSize);
+        this.callTimeoutMs = callTimeoutMs > 0 ? callTimeoutMs : 15_000;
+        this.windowTimer = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "arca-rpc-batch-timer"));
+        this.dispatcher = Executors.newCachedThreadPool(
+            runnable -> daemon(runnable, "arca-rpc-batch-send"));
+    }
+
+    /** Batcher that sends every request directly; for callers and tests that need no windowing. */
+    public static RpcBatcher direct(Web3j web3j) {
+        return new RpcBatcher(web3j, 0, 1, 0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        windowTimer.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Sends {@code request} in the next batch and waits up to the transport call timeout
+     * for its response.
+     */
+    public <T extends Response<?>> T send(Request<?, T> request) throws IOException {
+        if (windowMs == 0) {
+            long started = System.nanoTime();
+            try {
+                return request.send();
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                throw e;
+            } finally {
+                record(1, System.nanoTime() - started);
+            }
+        }
+
+        CompletableFuture<T> future = submit(request);
+        try {
+            return future.get(callTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IOException("Batched RPC call failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new InterruptedIOException("Batched RPC call timed out after " + callTimeoutMs + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for batched RPC call");
+        }
+    }
+
+    /** Queues {@code request} for the current window; the future completes with its response. */
+    public <T extends Response<?>> CompletableFuture<T> submit(Request<?, T> request) {
+        RpcPriority priority = RpcPriority.current();
+        Pending<T> pending = new Pending<>(request, new CompletableFuture<>());
+        List<Pending<?>> full = null;
+        synchronized (lock) {
+            Window window = windows.computeIfAbsent(priority, ignored -> new Window());
+            window.pending.add(pending);
+            if (window.pending.size() >= maxSize) {
+                full = window.drain();
+            } else if (!window.flushScheduled) {
+                window.flushScheduled = true;
+                windowTimer.schedule(() -> flushWindow(priority), windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            List<Pending<?>> batch = full;
+            dispatcher.execute(() -> dispatch(priority, batch));
+        }
+        return pending.future();
+    }
+
+    public BatchStats stats() {
+        long batchCount = batches.sum();
+        long requestCount = requests.sum();
+        return new BatchStats(
+            batchCount,
+            requestCount,
+            failures.sum(),
+            largestBatch.get(),
+            batchCount == 0 ? 0 : (double) requestCount / batchCount,
+            batchCount == 0 ? 0 : latencyNanos.sum() / 1_000_000.0 / batchCount
+        );
+    }
+
+    private void flushWindow(RpcPriority priority) {
+        List<Pending<?>> batch;
+        synchronized (lock) {
+            batch = windows.get(priority).drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatcher.execute(() -> dispatch(priority, batch));
+        }
+    }
+
+    private void dispatch(RpcPriority priority, List<Pending<?>> batch) {
+        priority.call(() -> {
+            dispatch(batch);
+            return null;
+        });
+    }
+
+    /** Sends {@code batch}; stats are recorded before any caller sees its response. */
+    private void dispatch(List<Pending<?>> batch) {
+        long started = System.nanoTime();
+        if (batch.size() == 1) {
+            Pending<?> single = batch.get(0);
+            try {
+                Response<?> response = single.request().send();
+                record(1, System.nanoTime() - started);
+                single.complete(response);
+            } catch (Exception e) {
+                failed(batch, started, e);
+            }
+            return;
+        }
+
+        BatchResponse batchResponse;
+        try {
+            BatchRequest batchRequest = web3j.newBatch();
+            for (Pending<?> pending : batch) {
+                batchRequest.add(pending.request());
+            }
+            batchResponse = batchRequest.send();
+        } catch (Exception e) {
+            failed(batch, started, e);
+            return;
+        }
+        record(batch.size(), System.nanoTime() - started);
+
+        Map<Long, Response<?>> byId = new HashMap<>();
+        for (Response<?> response : batchResponse.getResponses()) {
+            byId.put(response.getId(), response);
+        }
+        for (Pending<?> pending : batch) {
+            pending.complete(byId.get(pending.request().getId()));
+        }
+    }
+
+    private void failed(List<Pending<?>> batch, long started, Exception e) {
+        failures.increment();
+        record(batch.size(), System.nanoTime() - started);
+        log.warn("JSON-RPC batch of {} requests failed: {}", batch.size(), e.getMessage());
+        for (Pending<?> pending : batch) {
+            pending.future().completeExceptionally(e);
+        }
+    }
+
+    private void record(int size, long elapsedNanos) {
+        batches.increment();
+        requests.add(size);
+        latencyNanos.add(elapsedNanos);
+        largestBatch.accumulateAndGet(size, Math::max);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // ── Types ──────────────────────────────────────────────────────────────
+
+    /**
+     * Cumulative transport counters: HTTP calls made, requests carried, failed calls, the
+     * largest batch, and mean requests and milliseconds per call.
+     */
+    public record BatchStats(long batches, long requests, long failures, long largestBatch,
+                             double meanBatchSize, double meanLatencyMs) {}
+
+    /** Requests queued at one priority, and whether a timer flush is already scheduled. */
+    private static final class Window {
+        private List<Pending<?>> pending = new ArrayList<>();
+        private boolean flushScheduled = false;
+
+        List<Pending<?>> drain() {
+            List<Pending<?>> batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+            return batch;
+        }
+    }
+
+    private record Pending<T extends Response<?>>(Request<?, T> request, CompletableFuture<T> future) {
+
+        void complete(Response<?> response) {
+            if (response == null) {
+                future.completeExceptionally(new IOException(
+                    "No response for JSON-RPC id " + request.getId() + " in batch"));
+                return;
+            }
+            future.complete(request.getResponseType().cast(response));
+        }
+    }
+}
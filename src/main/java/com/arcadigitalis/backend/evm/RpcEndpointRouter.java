@@ -0,0 +1,398 @@
+package com.arcadigitalis.backend.evm;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Web3jService} over several JSON-RPC endpoints, so every {@code Web3j} caller gets
+ * failover without knowing about it.
+ * <ul>
+ *   <li>Endpoints are ranked by a moving average of their latency. An endpoint that fails at
+ *       the transport level (I/O error, HTTP 429/5xx) cools down with exponential backoff,
+ *       and the call moves to the next endpoint. JSON-RPC errors such as a revert are
+ *       returned as they are.</li>
+ *   <li>Each endpoint has a request-per-second token bucket. {@link RpcPriority#BACKGROUND}
+ *       calls cannot spend the last {@code interactive-reserve} share of it, so API reads
+ *       get ahead of indexer backfill when a provider quota is tight.</li>
+ *   <li>An interactive single call still unanswered after the primary's p95 latency sends
+ *       a hedged duplicate to the next endpoint; the first success wins. Every call the
+ *       backend makes is a read, so duplicates are safe.</li>
+ * </ul>
+ */
+public class RpcEndpointRouter implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(RpcEndpointRouter.class);
+
+    private final List<Endpoint> endpoints;
+    private final double interactiveReserve;
+    private final boolean hedging;
+    private final int hedgeMinSamples;
+    private final long cooldownBaseMs;
+    private final long cooldownMaxMs;
+    private final long budgetWaitMs;
+    private final ExecutorService executor;
+
+    public RpcEndpointRouter(List<Endpoint> endpoints, double interactiveReserve, boolean hedging,
+                             int hedgeMinSamples, long cooldownBaseMs, long cooldownMaxMs, long budgetWaitMs) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("At least one EVM RPC endpoint must be configured");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.interactiveReserve = Math.min(Math.max(interactiveReserve, 0.0), 1.0);
+        this.hedging = hedging;
+        this.hedgeMinSamples = Math.max(1, hedgeMinSamples);
+        this.cooldownBaseMs = Math.max(1, cooldownBaseMs);
+        this.cooldownMaxMs = Math.max(this.cooldownBaseMs, cooldownMaxMs);
+        this.budgetWaitMs = Math.max(0, budgetWaitMs);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "arca-rpc-router-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ── Web3jService ───────────────────────────────────────────────────────
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        RpcPriority priority = RpcPriority.current();
+        return route(priority, 1, endpoint -> endpoint.service().send(request, responseType), true);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        RpcPriority priority = RpcPriority.current();
+        return CompletableFuture.supplyAsync(() -> priority.call(() -> {
+            try {
+                return send(request, responseType);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }), executor);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        RpcPriority priority = RpcPriority.current();
+        int permits = Math.max(1, batchRequest.getRequests().size());
+        return route(priority, permits, endpoint -> endpoint.service().sendBatch(batchRequest), false);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        RpcPriority priority = RpcPriority.current();
+        return CompletableFuture.supplyAsync(() -> priority.call(() -> {
+            try {
+                return sendBatch(batchRequest);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }), executor);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod,
+                                                            Class<T> responseType) {
+        throw new UnsupportedOperationException("HTTP endpoints do not support subscriptions; use arca.evm.ws-url");
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        for (Endpoint endpoint : endpoints) {
+            endpoint.service().close();
+        }
+    }
+
+    /** Health and budget snapshot of every endpoint, in configuration order. */
+    public List<EndpointStats> stats() {
+        long now = System.nanoTime();
+        return endpoints.stream().map(endpoint -> endpoint.stats(now)).toList();
+    }
+
+    // ── Routing ────────────────────────────────────────────────────────────
+
+    private <T> T route(RpcPriority priority, int permits, EndpointCall<T> call, boolean hedgeable)
+            throws IOException {
+        IOException lastFailure = null;
+        List<Endpoint> tried = new ArrayList<>();
+        long budgetDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetWaitMs);
+
+        while (tried.size() < endpoints.size()) {
+            List<Endpoint> candidates = ranked(tried);
+            Endpoint primary = null;
+            for (Endpoint endpoint : candidates) {
+                if (endpoint.tryAcquire(permits, priority, interactiveReserve)) {
+                    primary = endpoint;
+                    break;
+                }
+            }
+            if (primary == null) {
+                if (System.nanoTime() >= budgetDeadline) {
+                    break;
+                }
+                sleepForBudget();
+                continue;
+            }
+
+            tried.add(primary);
+            try {
+                if (hedgeable && hedging && priority == RpcPriority.INTERACTIVE) {
+                    return hedged(primary, tried, call);
+                }
+                return timed(primary, call);
+            } catch (IOException e) {
+                lastFailure = e;
+                log.warn("RPC endpoint {} failed: {} — {}", primary.url(), e.getMessage(),
+                    tried.size() < endpoints.size() ? "failing over" : "no endpoints left");
+            }
+        }
+
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        throw new IOException("RPC request budget exhausted on all endpoints for " + priority + " call");
+    }
+
+    /** Healthy endpoints by latency, then cooling-down ones by how soon they recover. */
+    private List<Endpoint> ranked(List<Endpoint> exclude) {
+        long now = System.nanoTime();
+        return endpoints.stream()
+            .filter(endpoint -> !exclude.contains(endpoint))
+            .sorted(Comparator.comparing((Endpoint endpoint) -> endpoint.isCoolingDown(now))
+                .thenComparingLong(endpoint -> endpoint.isCoolingDown(now) ? endpoint.cooldownUntil() : 0)
+                .thenComparingDouble(Endpoint::ewmaLatencyMs))
+            .toList();
+    }
+
+    private <T> T timed(Endpoint endpoint, EndpointCall<T> call) throws IOException {
+        long started = System.nanoTime();
+        try {
+            T result = call.apply(endpoint);
+            endpoint.onSuccess(System.nanoTime() - started);
+            return result;
+        } catch (IOException e) {
+            endpoint.onFailure(System.nanoTime(), cooldownBaseMs, cooldownMaxMs);
+            throw e;
+        } catch (ClientConnectionException e) {
+            // HttpService reports HTTP 429/5xx as an unchecked exception
+            endpoint.onFailure(System.nanoTime(), cooldownBaseMs, cooldownMaxMs);
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private <T> T hedged(Endpoint primary, List<Endpoint> tried, EndpointCall<T> call) throws IOException {
+        long p95Nanos = primary.p95Nanos(hedgeMinSamples);
+        if (p95Nanos <= 0 || tried.size() >= endpoints.size()) {
+            return timed(primary, call);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        launch(primary, call, result, outstanding);
+        try {
+            return result.get(p95Nanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException slow) {
+            Endpoint backup = null;
+            for (Endpoint endpoint : ranked(tried)) {
+                if (!endpoint.isCoolingDown(System.nanoTime())
+                        && endpoint.tryAcquire(1, RpcPriority.INTERACTIVE, interactiveReserve)) {
+                    backup = endpoint;
+                    break;
+                }
+            }
+            if (backup != null) {
+                log.debug("Hedging slow call on {} (p95 {}ms) to {}", primary.url(),
+                    p95Nanos / 1_000_000, backup.url());
+                tried.add(backup);
+                outstanding.incrementAndGet();
+                launch(backup, call, result, outstanding);
+            }
+            return await(result);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for RPC response");
+        }
+    }
+
+    /** Completes {@code result} with the first success, or the failure once every attempt failed. */
+    private <T> void launch(Endpoint endpoint, EndpointCall<T> call, CompletableFuture<T> result,
+                            AtomicInteger outstanding) {
+        executor.execute(() -> {
+            try {
+                result.complete(timed(endpoint, call));
+            } catch (Exception e) {
+                if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for RPC response");
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) return io;
+        if (cause instanceof RuntimeException re) throw re;
+        return new IOException("RPC call failed", cause);
+    }
+
+    private static void sleepForBudget() throws InterruptedIOException {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for RPC request budget");
+        }
+    }
+
+    @FunctionalInterface
+    private interface EndpointCall<T> {
+        T apply(Endpoint endpoint) throws IOException;
+    }
+
+    // ── Endpoint ───────────────────────────────────────────────────────────
+
+    /**
+     * One JSON-RPC endpoint with its latency history, failure state and token bucket.
+     * {@code requestsPerSecond <= 0} means no rate budget.
+     */
+    public static final class Endpoint {
+
+        private static final int LATENCY_WINDOW = 128;
+        private static final double EWMA_ALPHA = 0.2;
+
+        private final String url;
+        private final Web3jService service;
+        private final double requestsPerSecond;
+
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int latencyCount;
+        private int latencyNext;
+        private double ewmaLatencyMs;
+        private int consecutiveFailures;
+        private long cooldownUntil;
+        private long successes;
+        private long failures;
+
+        public Endpoint(String url, Web3jService service, double requestsPerSecond) {
+            this.url = url;
+            this.service = service;
+            this.requestsPerSecond = requestsPerSecond;
+            this.tokens = requestsPerSecond;
+        }
+
+        public String url() {
+            return url;
+        }
+
+        Web3jService service() {
+            return service;
+        }
+
+        synchronized boolean tryAcquire(int permits, RpcPriority priority, double interactiveReserve) {
+            if (requestsPerSecond <= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(requestsPerSecond, tokens + (now - refilledAt) / 1e9 * requestsPerSecond);
+            refilledAt = now;
+
+            // A batch larger than the whole bucket may run once the bucket is full
+            double cost = Math.min(permits, requestsPerSecond);
+            double floor = priority == RpcPriority.BACKGROUND ? requestsPerSecond * interactiveReserve : 0;
+            if (tokens - cost < floor) {
+                return false;
+            }
+            tokens -= cost;
+            return true;
+        }
+
+        synchronized void onSuccess(long elapsedNanos) {
+            successes++;
+            consecutiveFailures = 0;
+            cooldownUntil = 0;
+            latencies[latencyNext] = elapsedNanos;
+            latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+            double ms = elapsedNanos / 1_000_000.0;
+            ewmaLatencyMs = successes == 1 ? ms : EWMA_ALPHA * ms + (1 - EWMA_ALPHA) * ewmaLatencyMs;
+        }
+
+        synchronized void onFailure(long now, long cooldownBaseMs, long cooldownMaxMs) {
+            failures++;
+            consecutiveFailures++;
+            long backoffMs = cooldownBaseMs << Math.min(consecutiveFailures - 1, 16);
+            cooldownUntil = now + TimeUnit.MILLISECONDS.toNanos(Math.min(backoffMs, cooldownMaxMs));
+        }
+
+        synchronized boolean isCoolingDown(long now) {
+            return cooldownUntil != 0 && now < cooldownUntil;
+        }
+
+        synchronized long cooldownUntil() {
+            return cooldownUntil;
+        }
+
+        synchronized double ewmaLatencyMs() {
+            return ewmaLatencyMs;
+        }
+
+        /** p95 of the recent latency window, or 0 with fewer than {@code minSamples} samples. */
+        synchronized long p95Nanos(int minSamples) {
+            if (latencyCount < minSamples) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(latencyCount * 0.95) - 1];
+        }
+
+        synchronized EndpointStats stats(long now) {
+            return new EndpointStats(url, isCoolingDown(now), successes, failures, ewmaLatencyMs,
+                p95Nanos(1) / 1_000_000.0, requestsPerSecond > 0 ? tokens : -1);
+        }
+    }
+
+    /** {@code tokens} is -1 for an endpoint without a rate budget. */
+    public record EndpointStats(String url, boolean coolingDown, long successes, long failures,
+                                double ewmaLatencyMs, double p95LatencyMs, double tokens) {}
+}
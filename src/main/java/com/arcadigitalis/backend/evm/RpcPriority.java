@@ -0,0 +1,40 @@
+package com.arcadigitalis.backend.evm;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority class of the JSON-RPC calls made on the current thread. API reads run as
+ * {@link #INTERACTIVE} (the default); the indexer marks its work {@link #BACKGROUND}, so
+ * {@link RpcEndpointRouter} can keep part of every endpoint's rate budget for API reads.
+ */
+public enum RpcPriority {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RpcPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static RpcPriority current() {
+        return CURRENT.get();
+    }
+
+    /** Switches the current thread to this priority; pass the result to {@link #restore}. */
+    public RpcPriority enter() {
+        RpcPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    public static void restore(RpcPriority previous) {
+        CURRENT.set(previous);
+    }
+
+    /** Runs {@code body} on this thread at this priority. */
+    public <T> T call(Supplier<T> body) {
+        RpcPriority previous = enter();
+        try {
+            return body.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
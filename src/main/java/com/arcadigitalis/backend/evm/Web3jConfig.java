@@ -1,6 +1,9 @@
 package com.arcadigitalis.backend.evm;
 
 import jakarta.annotation.PostConstruct;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +13,10 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.http.HttpService;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class Web3jConfig {
@@ -19,18 +26,105 @@ public class Web3jConfig {
     @Value("${arca.evm.rpc-url}")
     private String rpcUrl;
 
+    /** Optional failover list; when set it replaces {@code rpc-url}. */
+    @Value("${arca.evm.rpc-urls:}")
+    private List<String> rpcUrls;
+
+    /** Per-endpoint request-per-second budgets aligned with the URL list; one value applies to all. */
+    @Value("${arca.evm.router.requests-per-second:0}")
+    private List<Double> requestsPerSecond;
+
+    @Value("${arca.evm.router.interactive-reserve:0.2}")
+    private double interactiveReserve;
+
+    @Value("${arca.evm.router.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${arca.evm.router.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${arca.evm.router.cooldown.base-ms:2000}")
+    private long cooldownBaseMs;
+
+    @Value("${arca.evm.router.cooldown.max-ms:60000}")
+    private long cooldownMaxMs;
+
+    @Value("${arca.evm.router.budget-wait-ms:2000}")
+    private long budgetWaitMs;
+
+    @Value("${arca.evm.ws-url:}")
+    private String wsUrl;
+
     @Value("${arca.evm.chain-id}")
     private long chainId;
 
     @Value("${arca.policy.proxy-address}")
     private String proxyAddress;
 
+    @Value("${arca.evm.transport.max-idle-connections:16}")
+    private int maxIdleConnections;
+
+    @Value("${arca.evm.transport.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${arca.evm.transport.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${arca.evm.transport.call-timeout-ms:15000}")
+    private long callTimeoutMs;
+
+    @Value("${arca.evm.transport.http2:true}")
+    private boolean http2;
+
+    @Value("${arca.evm.transport.gzip-requests:false}")
+    private boolean gzipRequests;
+
     private boolean fundingEnabled = false;
 
+    /**
+     * Shared HTTP transport for every JSON-RPC caller (indexer, PolicyReader, health checks).
+     * OkHttp asks for gzip responses and decompresses them transparently; HTTP/2 is negotiated
+     * over TLS when enabled.
+     */
+    @Bean
+    public OkHttpClient rpcHttpClient() {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .readTimeout(Duration.ofMillis(callTimeoutMs))
+            .callTimeout(Duration.ofMillis(callTimeoutMs))
+            .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1));
+        if (gzipRequests) {
+            builder.addInterceptor(new GzipRequestInterceptor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Routes JSON-RPC calls across the configured endpoints with failover, hedging and
+     * per-endpoint rate budgets. A single {@code rpc-url} is a one-endpoint router.
+     */
+    @Bean
+    public RpcEndpointRouter rpcEndpointRouter(OkHttpClient rpcHttpClient) {
+        List<String> urls = rpcUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            urls = List.of(rpcUrl);
+        }
+        List<RpcEndpointRouter.Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            double budget = requestsPerSecond.isEmpty() ? 0
+                : requestsPerSecond.get(Math.min(i, requestsPerSecond.size() - 1));
+            endpoints.add(new RpcEndpointRouter.Endpoint(urls.get(i), new HttpService(urls.get(i), rpcHttpClient), budget));
+        }
+        log.info("Connecting to EVM RPC: {} (pool={}, callTimeout={}ms, http2={}, gzipRequests={}, hedging={})",
+            urls, maxIdleConnections, callTimeoutMs, http2, gzipRequests, hedgeEnabled);
+        return new RpcEndpointRouter(endpoints, interactiveReserve, hedgeEnabled, hedgeMinSamples,
+            cooldownBaseMs, cooldownMaxMs, budgetWaitMs);
+    }
+
     @Bean
-    public Web3j web3j() {
-        log.info("Connecting to EVM RPC: {}", rpcUrl);
-        return Web3j.build(new HttpService(rpcUrl));
+    public Web3j web3j(RpcEndpointRouter rpcEndpointRouter) {
+        return Web3j.build(rpcEndpointRouter);
     }
 
     @PostConstruct
@@ -45,6 +139,9 @@ public class Web3jConfig {
         log.info("Arca Backend configured for chain={} proxy={}", chainId, proxyAddress);
     }
 
+    /** WebSocket JSON-RPC endpoint for newHeads push mode; blank when not configured. */
+    public String getWsUrl() { return wsUrl; }
+    public long getCallTimeoutMs() { return callTimeoutMs; }
     public long getChainId() { return chainId; }
     public String getProxyAddress() { return proxyAddress; }
     public boolean isFundingEnabled() { return fundingEnabled; }
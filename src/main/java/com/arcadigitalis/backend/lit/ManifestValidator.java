@@ -35,6 +35,10 @@ public class ManifestValidator {
         this.policyReader = policyReader;
     }
 
+    /**
+     * Runs all three layers. Layer 2 takes the status and beneficiary from one
+     * {@code getPackage} read, so both checks see the same block in a single round trip.
+     */
     public ValidationResult validate(JsonNode manifest) {
         Map<String, Boolean> checks = new LinkedHashMap<>();
         List<String> errors = new ArrayList<>();
@@ -101,9 +105,10 @@ public class ManifestValidator {
 
         // ── Layer 2: Live RPC validation ──────────────────────────────────
 
+        PolicyReader.PackageView view = policyReader.getPackage(packageKey);
+
         // Package must exist on chain (not DRAFT)
-        String status = policyReader.getPackageStatus(packageKey);
-        boolean packageActivated = !"DRAFT".equals(status);
+        boolean packageActivated = !"DRAFT".equals(view.status());
         checks.put("packageActivated", packageActivated);
         if (!packageActivated) {
             errors.add("Package " + packageKey + " has status DRAFT — not activated on chain");
@@ -112,7 +117,6 @@ public class ManifestValidator {
         // On-chain beneficiary must match manifest requester
         boolean onChainBeneficiary = false;
         if (packageActivated) {
-            PolicyReader.PackageView view = policyReader.getPackage(packageKey);
             onChainBeneficiary = requester.equalsIgnoreCase(view.beneficiaryAddress());
             if (!onChainBeneficiary) {
                 errors.add("On-chain beneficiary '" + view.beneficiaryAddress() + "' does not match manifest requester '" + requester + "'");
@@ -0,0 +1,51 @@
+package com.arcadigitalis.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "indexer_cursor", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_indexer_cursor_key", columnNames = {"chain_id", "proxy_address"})
+})
+public class IndexerCursorEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chain_id", nullable = false)
+    private long chainId;
+
+    @Column(name = "proxy_address", nullable = false, length = 42)
+    private String proxyAddress;
+
+    @Column(name = "last_block", nullable = false)
+    private long lastBlock;
+
+    @Column(name = "last_block_hash", length = 66)
+    private String lastBlockHash;
+
+    @Column(name = "pruned_below", nullable = false)
+    private long prunedBelow;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected IndexerCursorEntity() {}
+
+    public IndexerCursorEntity(long chainId, String proxyAddress, long lastBlock, String lastBlockHash) {
+        this.chainId = chainId;
+        this.proxyAddress = proxyAddress;
+        this.lastBlock = lastBlock;
+        this.lastBlockHash = lastBlockHash;
+        this.updatedAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public long getChainId() { return chainId; }
+    public String getProxyAddress() { return proxyAddress; }
+    public long getLastBlock() { return lastBlock; }
+    public String getLastBlockHash() { return lastBlockHash; }
+    public long getPrunedBelow() { return prunedBelow; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
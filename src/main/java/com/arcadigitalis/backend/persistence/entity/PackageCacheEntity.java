@@ -49,6 +49,24 @@ public class PackageCacheEntity {
     @Column(name = "paid_until")
     private Instant paidUntil;
 
+    @Column(name = "guardian_quorum")
+    private Integer guardianQuorum;
+
+    @Column(name = "veto_count")
+    private Integer vetoCount;
+
+    @Column(name = "approval_count")
+    private Integer approvalCount;
+
+    @Column(name = "warn_threshold")
+    private Long warnThreshold;
+
+    @Column(name = "inactivity_threshold")
+    private Long inactivityThreshold;
+
+    @Column(name = "grace_period_seconds")
+    private Integer gracePeriodSeconds;
+
     @Column(name = "last_indexed_block")
     private Long lastIndexedBlock;
 
@@ -84,6 +102,12 @@ public class PackageCacheEntity {
     public Instant getReleasedAt() { return releasedAt; }
     public Instant getLastCheckIn() { return lastCheckIn; }
     public Instant getPaidUntil() { return paidUntil; }
+    public Integer getGuardianQuorum() { return guardianQuorum; }
+    public Integer getVetoCount() { return vetoCount; }
+    public Integer getApprovalCount() { return approvalCount; }
+    public Long getWarnThreshold() { return warnThreshold; }
+    public Long getInactivityThreshold() { return inactivityThreshold; }
+    public Integer getGracePeriodSeconds() { return gracePeriodSeconds; }
     public Long getLastIndexedBlock() { return lastIndexedBlock; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -98,6 +122,12 @@ public class PackageCacheEntity {
     public void setReleasedAt(Instant releasedAt) { this.releasedAt = releasedAt; }
     public void setLastCheckIn(Instant lastCheckIn) { this.lastCheckIn = lastCheckIn; }
     public void setPaidUntil(Instant paidUntil) { this.paidUntil = paidUntil; }
+    public void setGuardianQuorum(Integer guardianQuorum) { this.guardianQuorum = guardianQuorum; }
+    public void setVetoCount(Integer vetoCount) { this.vetoCount = vetoCount; }
+    public void setApprovalCount(Integer approvalCount) { this.approvalCount = approvalCount; }
+    public void setWarnThreshold(Long warnThreshold) { this.warnThreshold = warnThreshold; }
+    public void setInactivityThreshold(Long inactivityThreshold) { this.inactivityThreshold = inactivityThreshold; }
+    public void setGracePeriodSeconds(Integer gracePeriodSeconds) { this.gracePeriodSeconds = gracePeriodSeconds; }
     public void setLastIndexedBlock(Long lastIndexedBlock) { this.lastIndexedBlock = lastIndexedBlock; }
 
     public void touch() { this.updatedAt = Instant.now(); }
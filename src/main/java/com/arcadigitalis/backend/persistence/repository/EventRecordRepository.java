@@ -1,25 +1,114 @@
 package com.arcadigitalis.backend.persistence.repository;
 
 import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface EventRecordRepository extends JpaRepository<EventRecordEntity, UUID> {
 
-    boolean existsByTxHashAndLogIndex(String txHash, int logIndex);
+    // ── Keyset pages: up to {@code limit} events strictly after (afterBlock, afterLogIndex)
+    //    and at or below toBlock, one query per EventQueryService.AccessPath ──────────────
 
-    Page<EventRecordEntity> findByChainIdAndProxyAddressOrderByBlockNumberAscLogIndexAsc(
-            long chainId, String proxyAddress, Pageable pageable);
+    @Query(value = "SELECT * FROM event_records WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND (block_number, log_index) > (:afterBlock, :afterLogIndex) AND block_number <= :toBlock "
+        + "ORDER BY block_number, log_index LIMIT :limit", nativeQuery = true)
+    List<EventRecordEntity> findPageAfter(long chainId, String proxyAddress,
+                                          long afterBlock, int afterLogIndex, long toBlock, int limit);
 
-    Page<EventRecordEntity> findByChainIdAndProxyAddressAndPackageKeyOrderByBlockNumberAscLogIndexAsc(
-            long chainId, String proxyAddress, String packageKey, Pageable pageable);
+    @Query(value = "SELECT * FROM event_records WHERE package_key = :packageKey "
+        + "AND chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND (block_number, log_index) > (:afterBlock, :afterLogIndex) AND block_number <= :toBlock "
+        + "ORDER BY block_number, log_index LIMIT :limit", nativeQuery = true)
+    List<EventRecordEntity> findPackagePageAfter(long chainId, String proxyAddress, String packageKey,
+                                                 long afterBlock, int afterLogIndex, long toBlock, int limit);
+
+    @Query(value = "SELECT * FROM event_records WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND event_type = :eventType "
+        + "AND (block_number, log_index) > (:afterBlock, :afterLogIndex) AND block_number <= :toBlock "
+        + "ORDER BY block_number, log_index LIMIT :limit", nativeQuery = true)
+    List<EventRecordEntity> findTypePageAfter(long chainId, String proxyAddress, String eventType,
+                                              long afterBlock, int afterLogIndex, long toBlock, int limit);
+
+    @Query(value = "SELECT * FROM event_records WHERE package_key = :packageKey AND event_type = :eventType "
+        + "AND chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND (block_number, log_index) > (:afterBlock, :afterLogIndex) AND block_number <= :toBlock "
+        + "ORDER BY block_number, log_index LIMIT :limit", nativeQuery = true)
+    List<EventRecordEntity> findPackageTypePageAfter(long chainId, String proxyAddress, String packageKey,
+                                                     String eventType, long afterBlock, int afterLogIndex,
+                                                     long toBlock, int limit);
+
+    /** The proxy's newest event in (block_number, log_index) order, or null. */
+    @Query(value = "SELECT * FROM event_records WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "ORDER BY block_number DESC, log_index DESC LIMIT 1", nativeQuery = true)
+    EventRecordEntity findLatest(long chainId, String proxyAddress);
+
+    // ── Time range → block bounds ────────────────────────────────────────
+
+    /** First block with an event at or after {@code from}, or null. */
+    @Query(value = "SELECT block_number FROM event_records WHERE chain_id = :chainId "
+        + "AND proxy_address = :proxyAddress AND block_timestamp >= :from "
+        + "ORDER BY block_timestamp, block_number LIMIT 1", nativeQuery = true)
+    Long findFirstBlockAtOrAfter(long chainId, String proxyAddress, Instant from);
+
+    /** Last block with an event at or before {@code to}, or null. */
+    @Query(value = "SELECT block_number FROM event_records WHERE chain_id = :chainId "
+        + "AND proxy_address = :proxyAddress AND block_timestamp <= :to "
+        + "ORDER BY block_timestamp DESC, block_number DESC LIMIT 1", nativeQuery = true)
+    Long findLastBlockAtOrBefore(long chainId, String proxyAddress, Instant to);
+
+    // ── Totals (opt-in) ──────────────────────────────────────────────────
+
+    @Query(value = "SELECT count(*) FROM event_records WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND block_number BETWEEN :fromBlock AND :toBlock", nativeQuery = true)
+    long countInRange(long chainId, String proxyAddress, long fromBlock, long toBlock);
+
+    @Query(value = "SELECT count(*) FROM event_records WHERE package_key = :packageKey "
+        + "AND chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND block_number BETWEEN :fromBlock AND :toBlock", nativeQuery = true)
+    long countPackageInRange(long chainId, String proxyAddress, String packageKey, long fromBlock, long toBlock);
+
+    @Query(value = "SELECT count(*) FROM event_records WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND event_type IN (:eventTypes) AND block_number BETWEEN :fromBlock AND :toBlock", nativeQuery = true)
+    long countTypesInRange(long chainId, String proxyAddress, Collection<String> eventTypes,
+                           long fromBlock, long toBlock);
+
+    @Query(value = "SELECT count(*) FROM event_records WHERE package_key = :packageKey "
+        + "AND chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND event_type IN (:eventTypes) AND block_number BETWEEN :fromBlock AND :toBlock", nativeQuery = true)
+    long countPackageTypesInRange(long chainId, String proxyAddress, String packageKey,
+                                  Collection<String> eventTypes, long fromBlock, long toBlock);
+
+    /** Planner row estimate for the whole table; reltuples is -1 before the first ANALYZE. */
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'event_records'::regclass",
+        nativeQuery = true)
+    long estimateRowCount();
+
+    /**
+     * Planner estimate of rows with one of {@code eventTypes}: reltuples times the types'
+     * most-common-value frequencies in pg_stats. Table-wide, like {@link #estimateRowCount()};
+     * 0 before the first ANALYZE.
+     */
+    @Query(value = "SELECT (GREATEST(c.reltuples, 0) * COALESCE(("
+        + "SELECT sum(m.freq) FROM pg_stats s "
+        + "CROSS JOIN LATERAL unnest(s.most_common_vals::text::text[], s.most_common_freqs) AS m(val, freq) "
+        + "WHERE s.schemaname = current_schema() AND s.tablename = 'event_records' "
+        + "AND s.attname = 'event_type' AND m.val IN (:eventTypes)), 0))::bigint "
+        + "FROM pg_class c WHERE c.oid = 'event_records'::regclass", nativeQuery = true)
+    long estimateTypeRowCount(Collection<String> eventTypes);
+
+    List<EventRecordEntity> findByChainIdAndProxyAddressAndPackageKeyInOrderByBlockNumberAscLogIndexAsc(
+            long chainId, String proxyAddress, Collection<String> packageKeys);
+
+    @Query("SELECT DISTINCT e.packageKey FROM EventRecordEntity e WHERE e.chainId = :chainId AND e.proxyAddress = :proxyAddress AND e.blockNumber > :blockNumber")
+    List<String> findDistinctPackageKeysAbove(long chainId, String proxyAddress, long blockNumber);
 
     @Modifying
     @Query("DELETE FROM EventRecordEntity e WHERE e.chainId = :chainId AND e.proxyAddress = :proxyAddress AND e.blockNumber > :blockNumber")
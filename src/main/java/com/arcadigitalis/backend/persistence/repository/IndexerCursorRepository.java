@@ -0,0 +1,43 @@
+package com.arcadigitalis.backend.persistence.repository;
+
+import com.arcadigitalis.backend.persistence.entity.IndexerCursorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface IndexerCursorRepository extends JpaRepository<IndexerCursorEntity, Long> {
+
+    Optional<IndexerCursorEntity> findByChainIdAndProxyAddress(long chainId, String proxyAddress);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO indexer_cursor (chain_id, proxy_address, last_block, last_block_hash, updated_at) "
+        + "VALUES (:chainId, :proxyAddress, :lastBlock, :lastBlockHash, now()) "
+        + "ON CONFLICT (chain_id, proxy_address) DO UPDATE SET "
+        + "last_block = EXCLUDED.last_block, last_block_hash = EXCLUDED.last_block_hash, updated_at = now()",
+        nativeQuery = true)
+    int upsert(long chainId, String proxyAddress, long lastBlock, String lastBlockHash);
+
+    @Query(value = "SELECT pruned_below FROM indexer_cursor WHERE chain_id = :chainId AND proxy_address = :proxyAddress",
+        nativeQuery = true)
+    Long findPrunedBelow(long chainId, String proxyAddress);
+
+    @Modifying
+    @Query(value = "UPDATE indexer_cursor SET pruned_below = :prunedBelow "
+        + "WHERE chain_id = :chainId AND proxy_address = :proxyAddress",
+        nativeQuery = true)
+    int updatePrunedBelow(long chainId, String proxyAddress, long prunedBelow);
+
+    /** Also lowers {@code pruned_below} so hash rows re-written above the fork are pruned again. */
+    @Modifying
+    @Query(value = "UPDATE indexer_cursor SET last_block = :blockNumber, last_block_hash = NULL, "
+        + "pruned_below = LEAST(pruned_below, :blockNumber + 1), updated_at = now() "
+        + "WHERE chain_id = :chainId AND proxy_address = :proxyAddress AND last_block > :blockNumber",
+        nativeQuery = true)
+    int rewindTo(long chainId, String proxyAddress, long blockNumber);
+}
@@ -4,8 +4,12 @@ import com.arcadigitalis.backend.persistence.entity.PackageCacheEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +22,44 @@ public interface PackageCacheRepository extends JpaRepository<PackageCacheEntity
     Page<PackageCacheEntity> findByOwnerAddress(String ownerAddress, Pageable pageable);
 
     Page<PackageCacheEntity> findByBeneficiaryAddress(String beneficiaryAddress, Pageable pageable);
+
+    /**
+     * Clears the event-derived projection of the given packages so surviving events can be
+     * replayed over it after a reorg rewind. Row ids are kept; guardian rows are cleared
+     * separately by {@link #deleteGuardians}. grace_period_seconds is not event-derived and is kept.
+     */
+    @Modifying
+    @Query(value = "UPDATE package_cache SET owner_address = NULL, beneficiary_address = NULL, manifest_uri = NULL, "
+        + "cached_status = NULL, pending_since = NULL, released_at = NULL, last_check_in = NULL, paid_until = NULL, "
+        + "guardian_quorum = NULL, warn_threshold = NULL, inactivity_threshold = NULL, veto_count = NULL, "
+        + "approval_count = NULL, last_indexed_block = NULL, updated_at = now() "
+        + "WHERE chain_id = :chainId AND proxy_address = :proxyAddress AND package_key IN (:packageKeys)",
+        nativeQuery = true)
+    int resetProjection(long chainId, String proxyAddress, Collection<String> packageKeys);
+
+    /** Deletes the guardian_cache rows of the given packages, ahead of a projection replay. */
+    @Modifying
+    @Query(value = "DELETE FROM guardian_cache WHERE package_cache_id IN (SELECT id FROM package_cache "
+        + "WHERE chain_id = :chainId AND proxy_address = :proxyAddress AND package_key IN (:packageKeys))",
+        nativeQuery = true)
+    int deleteGuardians(long chainId, String proxyAddress, Collection<String> packageKeys);
+
+    /**
+     * Fills grace_period_seconds from a chain read where no value is stored yet. No event
+     * carries it, so the projection verifier supplies it for the packages it samples.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE package_cache SET grace_period_seconds = :gracePeriodSeconds, updated_at = now() "
+        + "WHERE chain_id = :chainId AND proxy_address = :proxyAddress AND package_key = :packageKey "
+        + "AND grace_period_seconds IS NULL",
+        nativeQuery = true)
+    int fillGracePeriod(long chainId, String proxyAddress, String packageKey, int gracePeriodSeconds);
+
+    /** Deletes rows among {@code packageKeys} that no surviving event re-populated. */
+    @Modifying
+    @Query(value = "DELETE FROM package_cache WHERE chain_id = :chainId AND proxy_address = :proxyAddress "
+        + "AND package_key IN (:packageKeys) AND last_indexed_block IS NULL",
+        nativeQuery = true)
+    int deleteUnindexed(long chainId, String proxyAddress, Collection<String> packageKeys);
 }
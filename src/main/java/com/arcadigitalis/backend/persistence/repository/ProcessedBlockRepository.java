@@ -5,17 +5,29 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface ProcessedBlockRepository extends JpaRepository<ProcessedBlockEntity, Long> {
 
-    Optional<ProcessedBlockEntity> findByChainIdAndProxyAddressAndBlockNumber(
-            long chainId, String proxyAddress, long blockNumber);
+    List<ProcessedBlockEntity> findByChainIdAndProxyAddressAndBlockNumberBetweenOrderByBlockNumberAsc(
+            long chainId, String proxyAddress, long fromBlock, long toBlock);
 
-    @Query("SELECT p FROM ProcessedBlockEntity p WHERE p.chainId = :chainId AND p.proxyAddress = :proxyAddress ORDER BY p.blockNumber DESC LIMIT 1")
-    Optional<ProcessedBlockEntity> findLatestByChainIdAndProxyAddress(long chainId, String proxyAddress);
+    /**
+     * Deletes hash rows in [{@code fromBlock}, {@code belowBlock}) (outside the reorg window)
+     * unless the block carries indexed events — those hashes are kept for reorg checks on
+     * replayed logs. {@code fromBlock} is the previous prune bound, so retained rows are not
+     * rescanned on every commit.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM processed_blocks p WHERE p.chain_id = :chainId AND p.proxy_address = :proxyAddress "
+        + "AND p.block_number >= :fromBlock AND p.block_number < :belowBlock AND NOT EXISTS (SELECT 1 FROM event_records e "
+        + "WHERE e.chain_id = p.chain_id AND e.proxy_address = p.proxy_address AND e.block_number = p.block_number)",
+        nativeQuery = true)
+    int pruneOutsideReorgWindow(long chainId, String proxyAddress, long fromBlock, long belowBlock);
 
     @Modifying
     @Query("DELETE FROM ProcessedBlockEntity p WHERE p.chainId = :chainId AND p.proxyAddress = :proxyAddress AND p.blockNumber > :blockNumber")
@@ -1,19 +1,32 @@
 package com.arcadigitalis.backend.policy;
 
+import com.arcadigitalis.backend.api.dto.PackageStatusBatchItem;
 import com.arcadigitalis.backend.api.dto.PackageStatusResponse;
 import com.arcadigitalis.backend.api.dto.RecoveryKitResponse;
-import com.arcadigitalis.backend.evm.PolicyReader;
+import com.arcadigitalis.backend.api.exception.RpcUnavailableException;
+import com.arcadigitalis.backend.api.exception.ValidationException;
+import com.arcadigitalis.backend.evm.PackageViewCache;
+import com.arcadigitalis.backend.evm.PackageViewCache.CachedView;
 import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
 import com.arcadigitalis.backend.evm.Web3jConfig;
 import com.arcadigitalis.backend.lit.AccTemplateBuilder;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 /**
- * Maps contract read data to API DTOs. Always performs a live chain read;
- * the DB cache is NEVER the authoritative source for status (Constitution III).
+ * Maps contract read data to API DTOs. Reads go through {@link PackageViewCache}, which
+ * serves a value only while the chain head has not moved past the block it was read at;
+ * {@code liveRead} reports whether this response made the chain call. The DB cache is
+ * NEVER the source for status (Constitution III).
  * Returns {@code DRAFT} for unknown package keys (FR-009).
  * Surfaces {@code WARNING} and {@code CLAIMABLE} as-is (FR-009a).
  */
@@ -22,22 +35,82 @@ public class PackageService {
 
     private static final Logger log = LoggerFactory.getLogger(PackageService.class);
 
-    private final PolicyReader policyReader;
+    private static final String PACKAGE_KEY_PATTERN = "^0x[0-9a-fA-F]{64}$";
+
+    private final PackageViewCache packageViewCache;
     private final Web3jConfig config;
     private final AccTemplateBuilder accTemplateBuilder;
+    private final int batchMaxKeys;
+    private final int batchChunkSize;
 
-    public PackageService(PolicyReader policyReader, Web3jConfig config, AccTemplateBuilder accTemplateBuilder) {
-        this.policyReader = policyReader;
+    public PackageService(PackageViewCache packageViewCache, Web3jConfig config, AccTemplateBuilder accTemplateBuilder,
+                          @Value("${arca.packages.status-batch.max-keys:200}") int batchMaxKeys,
+                          @Value("${arca.evm.multicall.chunk-size:100}") int batchChunkSize) {
+        this.packageViewCache = packageViewCache;
         this.config = config;
         this.accTemplateBuilder = accTemplateBuilder;
+        this.batchMaxKeys = batchMaxKeys;
+        this.batchChunkSize = Math.max(1, batchChunkSize);
     }
 
     /**
-     * Gets full package view from live chain read and maps to
+     * Gets full package view (live or head-current cached read) and maps to
      * PackageStatusResponse.
      */
     public PackageStatusResponse getPackageView(String packageKey) {
-        PackageView view = policyReader.getPackage(packageKey);
+        return toStatusResponse(packageKey, packageViewCache.get(packageKey));
+    }
+
+    /**
+     * Status for many packages, one batched on-chain read per chunk of
+     * {@code arca.evm.multicall.chunk-size} uncached keys. Results follow request order.
+     * A malformed key, a reverted read or an unavailable RPC for one chunk is reported on
+     * the affected items only.
+     *
+     * @throws ValidationException if the list is empty or longer than {@code status-batch.max-keys}
+     */
+    public List<PackageStatusBatchItem> getPackageViews(List<String> packageKeys) {
+        if (packageKeys == null || packageKeys.isEmpty()) {
+            throw new ValidationException("packageKeys must not be empty");
+        }
+        if (packageKeys.size() > batchMaxKeys) {
+            throw new ValidationException("At most " + batchMaxKeys + " packageKeys per batch");
+        }
+
+        List<String> valid = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(packageKeys)) {
+            if (key != null && key.matches(PACKAGE_KEY_PATTERN)) {
+                valid.add(key);
+            }
+        }
+
+        Map<String, CachedView> reads = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+        for (int from = 0; from < valid.size(); from += batchChunkSize) {
+            List<String> chunk = valid.subList(from, Math.min(from + batchChunkSize, valid.size()));
+            try {
+                reads.putAll(packageViewCache.getAll(chunk));
+            } catch (RpcUnavailableException e) {
+                log.warn("Batch status read failed for {} packages: {}", chunk.size(), e.getMessage());
+                chunk.forEach(key -> errors.put(key, "RPC_UNAVAILABLE"));
+            }
+        }
+
+        List<PackageStatusBatchItem> items = new ArrayList<>(packageKeys.size());
+        for (String key : packageKeys) {
+            if (key == null || !key.matches(PACKAGE_KEY_PATTERN)) {
+                items.add(PackageStatusBatchItem.failed(key, "INVALID_PACKAGE_KEY"));
+            } else if (reads.containsKey(key)) {
+                items.add(PackageStatusBatchItem.ok(toStatusResponse(key, reads.get(key))));
+            } else {
+                items.add(PackageStatusBatchItem.failed(key, errors.getOrDefault(key, "READ_REVERTED")));
+            }
+        }
+        return items;
+    }
+
+    private PackageStatusResponse toStatusResponse(String packageKey, CachedView read) {
+        PackageView view = read.view();
         return new PackageStatusResponse(
             config.getChainId(),
             config.getProxyAddress(),
@@ -57,16 +130,17 @@ public class PackageService {
             view.approvalCount(),
             view.pendingSince(),
             view.releasedAt(),
-            true // liveRead — always true for this path
+            read.live()
         );
     }
 
     /**
-     * Gets a recovery kit for the beneficiary. Always performs a live chain
+     * Gets a recovery kit for the beneficiary from a live or head-current cached
      * read; never errors because DB is empty (FR-016).
      */
     public RecoveryKitResponse getRecoveryKit(String packageKey) {
-        PackageView view = policyReader.getPackage(packageKey);
+        CachedView read = packageViewCache.get(packageKey);
+        PackageView view = read.view();
 
         Object accCondition = null;
         if (view.beneficiaryAddress() != null && !view.beneficiaryAddress().isBlank()
@@ -93,7 +167,7 @@ public class PackageService {
             view.releasedAt(),
             accCondition,
             view.beneficiaryAddress(),
-            true // liveRead
+            read.live()
         );
     }
 
@@ -0,0 +1,11 @@
+-- V10: Project every PackageView field from events, so package_cache can serve bulk reads.
+-- guardians go to guardian_cache; NULL means "no event has supplied this field yet".
+ALTER TABLE package_cache
+    ADD COLUMN guardian_quorum        INTEGER,
+    ADD COLUMN veto_count             INTEGER,
+    ADD COLUMN approval_count         INTEGER,
+    ADD COLUMN warn_threshold         BIGINT,
+    ADD COLUMN inactivity_threshold   BIGINT,
+    ADD COLUMN grace_period_seconds   INTEGER;
+
+CREATE INDEX idx_guardian_cache_address ON guardian_cache (guardian_address);
@@ -0,0 +1,20 @@
+-- V11: Indexes for the filtered GET /events access paths (see EventQueryService.AccessPath).
+-- Block and time ranges are folded into (block_number, log_index) bounds, so each path is one
+-- ordered range scan. docs/event-query-plans.sql seeds 1M rows and prints each plan; the
+-- recorded run is docs/event-query-plans.out.
+
+-- eventType across the proxy: event_type = ? AND (block_number, log_index) > (?, ?)
+CREATE INDEX idx_event_records_proxy_type_block_log
+    ON event_records (chain_id, proxy_address, event_type, block_number, log_index);
+
+-- eventType within one package
+CREATE INDEX idx_event_records_pkg_type_block_log
+    ON event_records (package_key, event_type, block_number, log_index);
+
+-- fromTime/toTime -> block bounds; index-only (timestamps never decrease with block number)
+CREATE INDEX idx_event_records_proxy_time_block
+    ON event_records (chain_id, proxy_address, block_timestamp, block_number);
+
+-- Superseded by the composites above, which lead with the chain/proxy or package scope
+DROP INDEX IF EXISTS idx_event_records_type;
+DROP INDEX IF EXISTS idx_event_records_timestamp;
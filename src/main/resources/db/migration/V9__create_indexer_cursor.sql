@@ -0,0 +1,23 @@
+-- V9: Sparse indexer checkpoint — one cursor row per (chain, proxy).
+-- processed_blocks keeps hashes only for blocks with events and the trailing reorg window.
+CREATE TABLE indexer_cursor (
+    id               BIGSERIAL PRIMARY KEY,
+    chain_id         BIGINT       NOT NULL,
+    proxy_address    VARCHAR(42)  NOT NULL,
+    last_block       BIGINT       NOT NULL,
+    last_block_hash  VARCHAR(66),
+    -- Lower bound for the next processed_blocks prune; rows below it were already pruned
+    pruned_below     BIGINT       NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+
+    CONSTRAINT uq_indexer_cursor_key UNIQUE (chain_id, proxy_address)
+);
+
+-- Seed the cursor from the dense per-block history written by earlier versions
+INSERT INTO indexer_cursor (chain_id, proxy_address, last_block, last_block_hash)
+SELECT DISTINCT ON (chain_id, proxy_address) chain_id, proxy_address, block_number, block_hash
+FROM processed_blocks
+ORDER BY chain_id, proxy_address, block_number DESC;
+
+-- Supports the "block has events" probe used when pruning processed_blocks
+CREATE INDEX idx_event_records_chain_block_log ON event_records (chain_id, proxy_address, block_number, log_index);
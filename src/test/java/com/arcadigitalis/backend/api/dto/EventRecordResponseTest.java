@@ -0,0 +1,35 @@
+package com.arcadigitalis.backend.api.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EventRecordResponse serialization.
+ * Tests: stored raw_data is embedded as a JSON object, not re-encoded as a string.
+ */
+class EventRecordResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("data is written verbatim as a nested JSON object")
+    void data_isEmbeddedVerbatim() throws Exception {
+        String rawData = "{\"owner\": \"0xOwner\", \"guardians\": [\"0xg1\", \"0xg2\"], \"guardianQuorum\": 2}";
+        EventRecordResponse response = new EventRecordResponse("id", 1L, "0xProxy", "0xPkg", "PackageActivated",
+            "0xProxy", 100L, "0xTx", 0, Instant.EPOCH, rawData);
+
+        String json = objectMapper.writeValueAsString(response);
+
+        assertThat(json).contains("\"data\":" + rawData);
+        JsonNode data = objectMapper.readTree(json).get("data");
+        assertThat(data.isObject()).isTrue();
+        assertThat(data.get("guardianQuorum").asInt()).isEqualTo(2);
+        assertThat(data.get("guardians")).hasSize(2);
+    }
+}
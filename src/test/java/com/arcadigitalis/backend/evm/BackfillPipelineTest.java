@@ -0,0 +1,136 @@
+package com.arcadigitalis.backend.evm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BackfillPipeline.
+ * Tests: strict commit order under out-of-order fetches, stop on failure, in-flight fetches
+ * interrupted on stop, bounded window.
+ */
+class BackfillPipelineTest {
+
+    private BackfillPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        // chunk fixed at 10 blocks; 4 fetchers, 2 decoders, window of 3
+        BlockRangePlanner planner = new BlockRangePlanner(10, 10, 10, 2000L, 5);
+        pipeline = new BackfillPipeline(planner, true, 4, 2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Ranges commit in block order even when later fetches finish first")
+    void commitsInBlockOrder() {
+        List<Long> committed = new CopyOnWriteArrayList<>();
+
+        long reached = pipeline.run(0, 99,
+            (from, to) -> {
+                // Earlier ranges are slower, so completion order is reversed within the window
+                Thread.sleep(Math.max(0, 30 - from / 5));
+                return to;
+            },
+            to -> to,
+            committed::add);
+
+        assertThat(reached).isEqualTo(99L);
+        assertThat(committed).containsExactly(9L, 19L, 29L, 39L, 49L, 59L, 69L, 79L, 89L, 99L);
+    }
+
+    @Test
+    @DisplayName("A failed range stops the run at the last committed block")
+    void failureStopsAtLastCommitted() {
+        List<Long> committed = new CopyOnWriteArrayList<>();
+
+        long reached = pipeline.run(100, 199,
+            (from, to) -> {
+                if (from == 130) throw new IllegalStateException("rpc down");
+                return to;
+            },
+            to -> to,
+            committed::add);
+
+        assertThat(reached).isEqualTo(129L);
+        assertThat(committed).containsExactly(109L, 119L, 129L);
+    }
+
+    @Test
+    @DisplayName("Stopping the run interrupts fetches still in flight")
+    void stopInterruptsInFlightFetches() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+
+        long reached = pipeline.run(0, 99,
+            (from, to) -> {
+                if (from == 0) return to;
+                blocked.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return to;
+            },
+            to -> to,
+            to -> {
+                awaitQuietly(blocked);
+                return false; // e.g. a reorg rewind
+            });
+
+        assertThat(reached).isEqualTo(-1L);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("No more than queue-depth ranges are in flight ahead of the committer")
+    void windowIsBounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        pipeline.run(0, 199,
+            (from, to) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return to;
+            },
+            to -> to,
+            to -> {
+                sleepQuietly(5);
+                inFlight.decrementAndGet();
+                return true;
+            });
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
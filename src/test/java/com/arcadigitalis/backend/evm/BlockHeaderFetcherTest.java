@@ -0,0 +1,122 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlockHeaderFetcher and BlockHeaderCache.
+ * Tests: batch splitting, cache hits skip the RPC, LRU bound, reorg eviction.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlockHeaderFetcherTest {
+
+    @Mock private Web3j web3j;
+    @Mock private BatchRequest batchRequest;
+    @Mock private BatchResponse batchResponse;
+    @Mock private Request<?, EthBlock> blockRequest;
+
+    private BlockHeaderCache cache;
+    private BlockHeaderFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BlockHeaderCache(100);
+        fetcher = new BlockHeaderFetcher(web3j, cache, 2);
+    }
+
+    @Test
+    @DisplayName("Missing headers are fetched in batches of header-batch-size")
+    void fetchHeaders_splitsIntoBatches() throws Exception {
+        when(web3j.newBatch()).thenReturn(batchRequest);
+        doReturn(blockRequest).when(web3j).ethGetBlockByNumber(any(DefaultBlockParameter.class), anyBoolean());
+        when(batchRequest.send()).thenReturn(batchResponse);
+        doReturn(List.of(ethBlock(10), ethBlock(11)))
+            .doReturn(List.of(ethBlock(12)))
+            .when(batchResponse).getResponses();
+
+        Map<Long, BlockHeader> headers = fetcher.fetchHeaders(List.of(10L, 11L, 12L));
+
+        assertThat(headers).containsOnlyKeys(10L, 11L, 12L);
+        assertThat(headers.get(11L).hash()).isEqualTo(hash(11));
+        assertThat(headers.get(11L).parentHash()).isEqualTo(hash(10));
+        assertThat(headers.get(11L).timestamp()).isEqualTo(Instant.ofEpochSecond(1_700_000_011L));
+        verify(web3j, times(2)).newBatch();
+        verify(batchRequest, times(3)).add(any());
+    }
+
+    @Test
+    @DisplayName("Cached headers are served without any RPC")
+    void fetchHeaders_cacheHitSkipsRpc() {
+        cache.put(new BlockHeader(42L, hash(42), hash(41), Instant.EPOCH));
+
+        Map<Long, BlockHeader> headers = fetcher.fetchHeaders(List.of(42L));
+
+        assertThat(headers.get(42L).hash()).isEqualTo(hash(42));
+        verifyNoInteractions(web3j);
+    }
+
+    @Test
+    @DisplayName("Cache is bounded and evicts least-recently-used entries")
+    void cache_isBounded() {
+        BlockHeaderCache small = new BlockHeaderCache(2);
+        small.put(new BlockHeader(1L, hash(1), hash(0), Instant.EPOCH));
+        small.put(new BlockHeader(2L, hash(2), hash(1), Instant.EPOCH));
+        small.get(1L);
+        small.put(new BlockHeader(3L, hash(3), hash(2), Instant.EPOCH));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.get(1L)).isNotNull();
+        assertThat(small.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("evictFrom drops the fork point and everything above it")
+    void cache_evictFrom() {
+        for (long n = 1; n <= 5; n++) {
+            cache.put(new BlockHeader(n, hash(n), hash(n - 1), Instant.EPOCH));
+        }
+
+        cache.evictFrom(3L);
+
+        assertThat(cache.get(2L)).isNotNull();
+        assertThat(cache.get(3L)).isNull();
+        assertThat(cache.get(5L)).isNull();
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private static EthBlock ethBlock(long number) {
+        EthBlock.Block block = new EthBlock.Block();
+        block.setNumber("0x" + Long.toHexString(number));
+        block.setHash(hash(number));
+        block.setParentHash(hash(number - 1));
+        block.setTimestamp("0x" + Long.toHexString(1_700_000_000L + number));
+        EthBlock response = new EthBlock();
+        response.setResult(block);
+        return response;
+    }
+
+    private static String hash(long number) {
+        return String.format("0x%064x", number);
+    }
+}
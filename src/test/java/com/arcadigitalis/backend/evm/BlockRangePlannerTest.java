@@ -0,0 +1,88 @@
+package com.arcadigitalis.backend.evm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BlockRangePlanner.
+ * Tests: range clamping, halving on overload, growth after fast streak, error classification.
+ */
+class BlockRangePlannerTest {
+
+    private BlockRangePlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        // initial=1000, min=10, max=4000, fast=500ms, streak=3
+        planner = new BlockRangePlanner(1000, 10, 4000, 500L, 3);
+    }
+
+    @Test
+    @DisplayName("Range end is from + chunk - 1, clamped to the confirmed block")
+    void nextRangeEnd_clampedToConfirmed() {
+        assertThat(planner.nextRangeEnd(0, 1_000_000)).isEqualTo(999L);
+        assertThat(planner.nextRangeEnd(500, 700)).isEqualTo(700L);
+    }
+
+    @Test
+    @DisplayName("Overload halves the chunk down to min-size, then reports exhaustion")
+    void overload_halvesUntilMinimum() {
+        assertThat(planner.onOverload()).isTrue();
+        assertThat(planner.currentChunkSize()).isEqualTo(500);
+
+        while (planner.currentChunkSize() > 10) {
+            assertThat(planner.onOverload()).isTrue();
+        }
+        assertThat(planner.currentChunkSize()).isEqualTo(10);
+        assertThat(planner.onOverload()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Chunk doubles only after a full streak of fast responses")
+    void fastStreak_growsChunk() {
+        planner.onSuccess(100);
+        planner.onSuccess(100);
+        assertThat(planner.currentChunkSize()).isEqualTo(1000);
+
+        planner.onSuccess(100);
+        assertThat(planner.currentChunkSize()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("A slow response resets the fast streak")
+    void slowResponse_resetsStreak() {
+        planner.onSuccess(100);
+        planner.onSuccess(100);
+        planner.onSuccess(5_000);
+        planner.onSuccess(100);
+        assertThat(planner.currentChunkSize()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Growth never exceeds max-size")
+    void growth_cappedAtMaximum() {
+        for (int i = 0; i < 30; i++) {
+            planner.onSuccess(1);
+        }
+        assertThat(planner.currentChunkSize()).isEqualTo(4000);
+    }
+
+    @Test
+    @DisplayName("Provider limit and timeout errors are classified as overload")
+    void overloadClassification() {
+        assertThat(BlockRangePlanner.isOverloadError("query returned more than 10000 results")).isTrue();
+        assertThat(BlockRangePlanner.isOverloadError("Log response size exceeded")).isTrue();
+        assertThat(BlockRangePlanner.isOverloadError("block range is too wide")).isTrue();
+        assertThat(BlockRangePlanner.isOverloadError("Query timeout exceeded")).isTrue();
+        assertThat(BlockRangePlanner.isOverloadError(new IOException("wrapped", new SocketTimeoutException()))).isTrue();
+
+        assertThat(BlockRangePlanner.isOverloadError("invalid argument 0: hex string without 0x prefix")).isFalse();
+        assertThat(BlockRangePlanner.isOverloadError((String) null)).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.CalldataBuilderTest.LegacyEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for CalldataBuilder: encoded calldata strings per second for
+ * each of the 11 functions. {@code legacy} is the previous web3j {@code Function} +
+ * {@code FunctionEncoder} path (CalldataBuilderTest.LegacyEncoder), kept as the baseline.
+ * <p>
+ * Run: {@code mvn test-compile} then {@code java -cp "target/test-classes:target/classes:$(mvn -q
+ * dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" org.openjdk.jmh.Main CalldataBuilderBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalldataBuilderBenchmark {
+
+    private static final String PKG_KEY = "0x" + "ab".repeat(32);
+    private static final String MANIFEST_URI =
+        "ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/manifest.json";
+    private static final String BENEFICIARY = "0x71C7656EC7ab88b098defB751B7401B5f6d8976F";
+    private static final List<String> GUARDIANS = List.of(
+        "0x" + "33".repeat(20), "0x" + "44".repeat(20), "0x" + "55".repeat(20));
+
+    @Param({"activate", "checkIn", "renew", "updateManifestUri", "revoke", "rescue",
+        "guardianApprove", "guardianVeto", "guardianRescindVeto", "guardianRescindApprove", "claim"})
+    public String function;
+
+    private final CalldataBuilder builder = new CalldataBuilder();
+
+    @Benchmark
+    public String current() {
+        return switch (function) {
+            case "activate" -> builder.encodeActivate(PKG_KEY, MANIFEST_URI, BENEFICIARY, GUARDIANS, 2,
+                86_400L, 604_800L, 259_200L, 1_780_000_000L);
+            case "checkIn" -> builder.encodeCheckIn(PKG_KEY);
+            case "renew" -> builder.encodeRenew(PKG_KEY);
+            case "updateManifestUri" -> builder.encodeUpdateManifestUri(PKG_KEY, MANIFEST_URI);
+            case "revoke" -> builder.encodeRevoke(PKG_KEY);
+            case "rescue" -> builder.encodeRescue(PKG_KEY);
+            case "guardianApprove" -> builder.encodeGuardianApprove(PKG_KEY);
+            case "guardianVeto" -> builder.encodeGuardianVeto(PKG_KEY);
+            case "guardianRescindVeto" -> builder.encodeGuardianRescindVeto(PKG_KEY);
+            case "guardianRescindApprove" -> builder.encodeGuardianRescindApprove(PKG_KEY);
+            case "claim" -> builder.encodeClaim(PKG_KEY);
+            default -> throw new IllegalStateException("Unknown function " + function);
+        };
+    }
+
+    @Benchmark
+    public String legacy() {
+        return switch (function) {
+            case "activate" -> LegacyEncoder.encodeActivate(PKG_KEY, MANIFEST_URI, BENEFICIARY, GUARDIANS, 2,
+                86_400L, 604_800L, 259_200L, 1_780_000_000L);
+            case "updateManifestUri" -> LegacyEncoder.encodeUpdateManifestUri(PKG_KEY, MANIFEST_URI);
+            default -> LegacyEncoder.encode(function, PKG_KEY);
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(CalldataBuilderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
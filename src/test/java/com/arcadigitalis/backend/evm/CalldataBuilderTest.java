@@ -3,15 +3,31 @@ package com.arcadigitalis.backend.evm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for CalldataBuilder — T053.
  * Verifies ABI-encoding output starts with the correct 4-byte selector
- * and contains expected data fields for all 11 functions.
+ * and contains expected data fields for all 11 functions, and that the output is
+ * byte-for-byte what web3j's FunctionEncoder produces for the same inputs.
  */
 class CalldataBuilderTest {
 
@@ -130,4 +146,99 @@ class CalldataBuilderTest {
         String b = builder.encodeCheckIn(PKG_KEY);
         assertThat(a).isEqualTo(b);
     }
+
+    // ── Byte-for-byte against FunctionEncoder ────────────────────────────
+
+    @Test
+    @DisplayName("All single-key functions match FunctionEncoder, for lower- and mixed-case keys")
+    void singleKeyFunctions_matchFunctionEncoder() {
+        for (String key : List.of(PKG_KEY, "0x" + "0123456789AbCdEf".repeat(4), "0x" + "00".repeat(32))) {
+            assertThat(builder.encodeCheckIn(key)).isEqualTo(LegacyEncoder.encode("checkIn", key));
+            assertThat(builder.encodeRenew(key)).isEqualTo(LegacyEncoder.encode("renew", key));
+            assertThat(builder.encodeRevoke(key)).isEqualTo(LegacyEncoder.encode("revoke", key));
+            assertThat(builder.encodeRescue(key)).isEqualTo(LegacyEncoder.encode("rescue", key));
+            assertThat(builder.encodeGuardianApprove(key)).isEqualTo(LegacyEncoder.encode("guardianApprove", key));
+            assertThat(builder.encodeGuardianVeto(key)).isEqualTo(LegacyEncoder.encode("guardianVeto", key));
+            assertThat(builder.encodeGuardianRescindVeto(key))
+                .isEqualTo(LegacyEncoder.encode("guardianRescindVeto", key));
+            assertThat(builder.encodeGuardianRescindApprove(key))
+                .isEqualTo(LegacyEncoder.encode("guardianRescindApprove", key));
+            assertThat(builder.encodeClaim(key)).isEqualTo(LegacyEncoder.encode("claim", key));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ipfs://QmNewManifest", "https://example.org/manifest/ünïcødé/🔐.json",
+        "a-manifest-uri-that-is-exactly-sixty-four-bytes-long-padding-xyz"})
+    @DisplayName("updateManifestUri matches FunctionEncoder for empty, word-aligned and non-ASCII URIs")
+    void updateManifestUri_matchesFunctionEncoder(String manifestUri) {
+        assertThat(builder.encodeUpdateManifestUri(PKG_KEY, manifestUri))
+            .isEqualTo(LegacyEncoder.encodeUpdateManifestUri(PKG_KEY, manifestUri));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 7})
+    @DisplayName("activate matches FunctionEncoder for any guardian count")
+    void activate_matchesFunctionEncoder(int guardianCount) {
+        List<String> guardians = new ArrayList<>();
+        for (int i = 0; i < guardianCount; i++) {
+            guardians.add(i % 2 == 0 ? ADDR1 : "0x" + String.format("%02X", 0xa0 + i).repeat(20));
+        }
+        for (String manifestUri : List.of("", "ipfs://QmTest",
+                "ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/manifest.json")) {
+            assertThat(builder.encodeActivate(PKG_KEY, manifestUri, ADDR1, guardians, 2,
+                86400L, 604800L, 259200L, Long.MAX_VALUE))
+                .isEqualTo(LegacyEncoder.encodeActivate(PKG_KEY, manifestUri, ADDR1, guardians, 2,
+                    86400L, 604800L, 259200L, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed keys, addresses and negative uints are rejected")
+    void malformedInputs_rejected() {
+        assertThatThrownBy(() -> builder.encodeCheckIn("0x" + "ab".repeat(31)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.encodeCheckIn("0x" + "zz".repeat(32)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.encodeActivate(PKG_KEY, "ipfs://x", "0x" + "11".repeat(21),
+            List.of(), 1, 1L, 1L, 1L, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.encodeActivate(PKG_KEY, "ipfs://x", ADDR1,
+            List.of(), 1, -1L, 1L, 1L, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** The web3j Function/FunctionEncoder path CalldataBuilder used before its direct encoder. */
+    static final class LegacyEncoder {
+
+        static String encode(String name, String packageKey) {
+            return FunctionEncoder.encode(new Function(name, List.of(bytes32(packageKey)), Collections.emptyList()));
+        }
+
+        static String encodeUpdateManifestUri(String packageKey, String manifestUri) {
+            return FunctionEncoder.encode(new Function("updateManifestUri",
+                List.of(bytes32(packageKey), new Utf8String(manifestUri)), Collections.emptyList()));
+        }
+
+        static String encodeActivate(String packageKey, String manifestUri, String beneficiary,
+                                     List<String> guardians, int guardianQuorum,
+                                     long warnThreshold, long inactivityThreshold,
+                                     long gracePeriodSeconds, long paidUntil) {
+            List<Type> inputs = List.of(
+                bytes32(packageKey),
+                new Utf8String(manifestUri),
+                new Address(beneficiary),
+                new DynamicArray<>(Address.class, guardians.stream().map(Address::new).toList()),
+                new Uint256(BigInteger.valueOf(guardianQuorum)),
+                new Uint256(BigInteger.valueOf(warnThreshold)),
+                new Uint256(BigInteger.valueOf(inactivityThreshold)),
+                new Uint256(BigInteger.valueOf(gracePeriodSeconds)),
+                new Uint256(BigInteger.valueOf(paidUntil)));
+            return FunctionEncoder.encode(new Function("activate", inputs, Collections.emptyList()));
+        }
+
+        private static Bytes32 bytes32(String hexKey) {
+            return new Bytes32(Numeric.hexStringToByteArray(hexKey));
+        }
+    }
 }
@@ -0,0 +1,174 @@
+package com.arcadigitalis.backend.evm;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for EventDecoder: decoded logs per second for a realistic mix
+ * (check-ins dominate, plus renewals, guardian votes, pending releases and activations).
+ * {@code legacy} is the previous implementation — an equalsIgnoreCase chain and per-call
+ * {@code Utils.convert} + Web3j {@code Type} decoding for every layout — kept here as the baseline.
+ * <p>
+ * Run: {@code mvn test-compile} then {@code java -cp "target/test-classes:target/classes:$(mvn -q
+ * dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" org.openjdk.jmh.Main EventDecoderBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDecoderBenchmark {
+
+    private static final int BATCH = 100;
+
+    private final EventDecoder decoder = new EventDecoder();
+    private final LegacyDecoder legacy = new LegacyDecoder();
+    private List<Log> logs;
+
+    @Setup
+    public void setUp() {
+        String pkg = "0x" + "ab".repeat(32);
+        String guardianTopic = "0x" + "0".repeat(24) + "1f".repeat(20);
+        String activatedData = FunctionEncoder.encodeConstructor(List.of(
+            new Address("0x" + "11".repeat(20)),
+            new Address("0x" + "22".repeat(20)),
+            new Utf8String("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi"),
+            new DynamicArray<>(Address.class, List.of(new Address("0x" + "33".repeat(20)), new Address("0x" + "44".repeat(20)))),
+            new Uint256(2), new Uint256(86_400), new Uint256(604_800)));
+
+        List<Log> mix = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            Log log;
+            switch (i % 10) {
+                case 0 -> log = log("PackageActivated(bytes32,address,address,string,address[],uint256,uint256,uint256)",
+                    List.of(pkg), "0x" + activatedData);
+                case 1, 2 -> log = log("Renewed(bytes32,uint256)", List.of(pkg), word(1_800_000_000L + i));
+                case 3 -> log = log("GuardianApproved(bytes32,address)", List.of(pkg, guardianTopic), "0x");
+                case 4 -> log = log("GuardianVetoed(bytes32,address)", List.of(pkg), word(0x1f1f1fL));
+                case 5 -> log = log("PendingRelease(bytes32,uint256)", List.of(pkg), word(1));
+                default -> log = log("CheckIn(bytes32)", List.of(pkg), "0x");
+            }
+            log.setLogIndex("0x" + Integer.toHexString(i));
+            mix.add(log);
+        }
+        logs = mix;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void current(Blackhole bh) {
+        for (Log log : logs) {
+            bh.consume(decoder.decode(log));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void legacy(Blackhole bh) {
+        for (Log log : logs) {
+            bh.consume(legacy.decode(log));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EventDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static Log log(String signature, List<String> indexed, String data) {
+        List<String> topics = new ArrayList<>();
+        topics.add(EventEncoder.buildEventSignature(signature));
+        topics.addAll(indexed);
+        Log log = new Log();
+        log.setTopics(topics);
+        log.setData(data);
+        log.setBlockNumber("0x64");
+        log.setBlockHash("0x" + "cc".repeat(32));
+        log.setTransactionHash("0x" + "dd".repeat(32));
+        return log;
+    }
+
+    private static String word(long value) {
+        return "0x" + String.format("%064x", BigInteger.valueOf(value));
+    }
+
+    // ── Baseline ───────────────────────────────────────────────────────────
+
+    /** Pre-optimization decode path, reduced to what the benchmark exercises. */
+    static final class LegacyDecoder {
+
+        private static final String[] SIGNATURES = {
+            "PackageActivated(bytes32,address,address,string,address[],uint256,uint256,uint256)",
+            "ManifestUpdated(bytes32,string)", "CheckIn(bytes32)", "Renewed(bytes32,uint256)",
+            "GuardianApproved(bytes32,address)", "GuardianVetoed(bytes32,address)",
+            "GuardianVetoRescinded(bytes32,address)", "GuardianApproveRescinded(bytes32,address)",
+            "GuardianStateReset(bytes32)", "PendingRelease(bytes32,uint256)", "Released(bytes32)",
+            "Revoked(bytes32)", "PackageRescued(bytes32)"
+        };
+        private static final String[] TOPICS = Arrays.stream(SIGNATURES).map(EventEncoder::buildEventSignature).toArray(String[]::new);
+        private static final String[] NAMES = Arrays.stream(SIGNATURES).map(s -> s.substring(0, s.indexOf('('))).toArray(String[]::new);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> decode(Log logEntry) {
+            String topic0 = logEntry.getTopics().get(0);
+            String eventType = null;
+            for (int i = 0; i < TOPICS.length && eventType == null; i++) {
+                if (topic0.equalsIgnoreCase(TOPICS[i])) eventType = NAMES[i];
+            }
+            String data = logEntry.getData();
+            if (eventType == null || data == null || data.equals("0x")) {
+                return Collections.emptyMap();
+            }
+            switch (eventType) {
+                case "PackageActivated": {
+                    List<Type> d = FunctionReturnDecoder.decode(data, Utils.convert(Arrays.asList(
+                        new TypeReference<Address>() {}, new TypeReference<Address>() {},
+                        new TypeReference<Utf8String>() {}, new TypeReference<DynamicArray<Address>>() {},
+                        new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {})));
+                    return Map.of("owner", d.get(0).getValue().toString(), "beneficiary", d.get(1).getValue().toString(),
+                        "manifestUri", d.get(2).getValue().toString(),
+                        "guardians", ((DynamicArray<Address>) d.get(3)).getValue().stream().map(Address::getValue).toList(),
+                        "guardianQuorum", ((Uint256) d.get(4)).getValue().intValue(),
+                        "warnThreshold", ((Uint256) d.get(5)).getValue().longValue(),
+                        "inactivityThreshold", ((Uint256) d.get(6)).getValue().longValue());
+                }
+                case "Renewed": {
+                    List<Type> d = FunctionReturnDecoder.decode(data, Utils.convert(List.of(new TypeReference<Uint256>() {})));
+                    return Map.of("paidUntil", ((Uint256) d.get(0)).getValue().longValue());
+                }
+                case "GuardianApproved": case "GuardianVetoed": case "GuardianVetoRescinded": case "GuardianApproveRescinded": {
+                    List<Type> d = FunctionReturnDecoder.decode(data, Utils.convert(List.of(new TypeReference<Address>() {})));
+                    return Map.of("guardian", d.get(0).getValue().toString());
+                }
+                case "PendingRelease": {
+                    List<Type> d = FunctionReturnDecoder.decode(data, Utils.convert(List.of(new TypeReference<Uint256>() {})));
+                    int flags = ((Uint256) d.get(0)).getValue().intValue();
+                    return Map.of("reason_flags", flags, "inactivity", (flags & 1) != 0, "funding_lapse", (flags & 2) != 0);
+                }
+                default:
+                    return Collections.emptyMap();
+            }
+        }
+    }
+}
@@ -128,8 +128,69 @@ class EventDecoderTest {
         assertThat(uniqueCount).isEqualTo(13);
     }
 
+    @Test
+    @DisplayName("Renewed paidUntil is read straight from the data word")
+    void decodeRenewed_fixedLayout() {
+        String topic0 = EventEncoder.buildEventSignature("Renewed(bytes32,uint256)");
+        Log log = buildLog(topic0, PKG_KEY_TOPIC, word(BigInteger.valueOf(1_800_000_000L)));
+
+        DecodedEvent event = decoder.decode(log);
+
+        assertThat(event.rawData()).containsEntry("paidUntil", 1_800_000_000L);
+    }
+
+    @Test
+    @DisplayName("PendingRelease reason flags are split into booleans")
+    void decodePendingRelease_fixedLayout() {
+        String topic0 = EventEncoder.buildEventSignature("PendingRelease(bytes32,uint256)");
+        Log log = buildLog(topic0, PKG_KEY_TOPIC, word(BigInteger.valueOf(3)));
+
+        DecodedEvent event = decoder.decode(log);
+
+        assertThat(event.rawData())
+            .containsEntry("reason_flags", 3)
+            .containsEntry("inactivity", true)
+            .containsEntry("funding_lapse", true);
+    }
+
+    @Test
+    @DisplayName("Non-indexed guardian address is read from the data word")
+    void decodeGuardianApproved_fromData() {
+        String topic0 = EventEncoder.buildEventSignature("GuardianApproved(bytes32,address)");
+        String guardian = "0x" + "1f".repeat(20);
+        Log log = buildLog(topic0, PKG_KEY_TOPIC, "0x" + "0".repeat(24) + guardian.substring(2));
+
+        DecodedEvent event = decoder.decode(log);
+
+        assertThat(event.eventType()).isEqualTo("GuardianApproved");
+        assertThat(event.rawData()).containsEntry("guardian", guardian);
+    }
+
+    @Test
+    @DisplayName("Truncated data for a fixed layout yields an empty payload, not an exception")
+    void truncatedData_emptyPayload() {
+        String topic0 = EventEncoder.buildEventSignature("Renewed(bytes32,uint256)");
+        Log log = buildLog(topic0, PKG_KEY_TOPIC, "0x1234");
+
+        assertThat(decoder.decode(log).rawData()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("topic0 lookup is case-insensitive and covers all 13 events")
+    void topicLookup_caseInsensitive() {
+        String topic0 = EventEncoder.buildEventSignature("CheckIn(bytes32)").toUpperCase().replace("0X", "0x");
+        Log log = buildLog(topic0, PKG_KEY_TOPIC, "0x");
+
+        assertThat(decoder.decode(log).eventType()).isEqualTo("CheckIn");
+        assertThat(EventDecoder.knownTopics()).hasSize(13);
+    }
+
     // ── Helper ─────────────────────────────────────────────────────────────
 
+    private static String word(BigInteger value) {
+        return "0x" + String.format("%064x", value);
+    }
+
     private Log buildLog(String topic0, String topic1, String data) {
         Log log = new Log();
         log.setTopics(Arrays.asList(topic0, topic1));
@@ -0,0 +1,146 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventExportService.ExportSlot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventExportService.
+ * Tests: one NDJSON line per row with raw_data embedded, filter SQL, slot accounting,
+ * client disconnect surfaced as IOException.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventExportServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ResultSet rs;
+
+    private EventExportService service;
+
+    private static final long CHAIN_ID = 11155111L;
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
+
+    @BeforeEach
+    void setUp() {
+        service = new EventExportService(jdbcTemplate, transactionManager, 1);
+    }
+
+    @Test
+    @DisplayName("Each row becomes one NDJSON line with raw_data as a nested object")
+    void export_writesOneLinePerRow() throws Exception {
+        stubRow();
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = service.export(service.tryAcquire(), CHAIN_ID, PROXY, null, Set.of(), 100L, 200L, out);
+
+        assertThat(written).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode event = new ObjectMapper().readTree(lines[0]);
+        assertThat(event.get("blockNumber").asLong()).isEqualTo(150L);
+        assertThat(event.get("blockTimestamp").asText()).isEqualTo("2026-01-01T00:00:00Z");
+        assertThat(event.get("data").get("paidUntil").asLong()).isEqualTo(1_800_000_000L);
+        assertThat(lines[1]).startsWith("{");
+    }
+
+    @Test
+    @DisplayName("packageKey and eventType filters are bound as parameters; block range is inclusive")
+    void export_appendsFilters() throws Exception {
+        AtomicReference<String> sql = new AtomicReference<>();
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        doAnswer(inv -> {
+            sql.set(inv.getArgument(0));
+            args.set((Object[]) inv.getRawArguments()[2]);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        service.export(service.tryAcquire(), CHAIN_ID, PROXY, PKG, Set.of("CheckIn"), 100L, 200L,
+            new ByteArrayOutputStream());
+
+        assertThat(sql.get()).contains("block_number BETWEEN ? AND ?", "AND package_key = ?", "AND event_type IN (?)")
+            .endsWith("ORDER BY block_number, log_index");
+        assertThat(args.get()).containsExactly(CHAIN_ID, PROXY, 100L, 200L, PKG, "CheckIn");
+    }
+
+    @Test
+    @DisplayName("Slots are bounded and released when the export finishes")
+    void slots_areBoundedAndReleased() throws Exception {
+        ExportSlot slot = service.tryAcquire();
+        assertThat(slot).isNotNull();
+        assertThat(service.tryAcquire()).isNull();
+
+        service.export(slot, CHAIN_ID, PROXY, null, Set.of(), 0L, 1L, new ByteArrayOutputStream());
+        slot.release(); // Second release is a no-op
+
+        ExportSlot next = service.tryAcquire();
+        assertThat(next).isNotNull();
+        assertThat(service.tryAcquire()).isNull();
+    }
+
+    @Test
+    @DisplayName("A client disconnect surfaces as IOException and frees the slot")
+    void export_clientDisconnect() throws Exception {
+        stubRow();
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.export(service.tryAcquire(), CHAIN_ID, PROXY, null, Set.of(), 0L, 1L, broken))
+            .isInstanceOf(IOException.class);
+        assertThat(service.tryAcquire()).isNotNull();
+    }
+
+    private void stubRow() throws Exception {
+        when(rs.getString("id")).thenReturn("00000000-0000-0000-0000-000000000001");
+        when(rs.getLong("chain_id")).thenReturn(CHAIN_ID);
+        when(rs.getString("proxy_address")).thenReturn(PROXY);
+        when(rs.getString("package_key")).thenReturn(PKG);
+        when(rs.getString("event_type")).thenReturn("Renewed");
+        when(rs.getString("emitting_address")).thenReturn(PROXY);
+        when(rs.getLong("block_number")).thenReturn(150L);
+        when(rs.getString("tx_hash")).thenReturn("0xTX");
+        when(rs.getInt("log_index")).thenReturn(0);
+        when(rs.getTimestamp("block_timestamp")).thenReturn(Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+        when(rs.getString("raw_data")).thenReturn("{\"paidUntil\": 1800000000}");
+    }
+}
@@ -0,0 +1,174 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventIngestor.EventKey;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedRange;
+import com.arcadigitalis.backend.evm.PackageCacheReducer.PackageDelta;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
+import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventIngestor.
+ * Tests: conflict rows are not re-notified, cursor advance, bounded pruning, one cache upsert per package.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventIngestorTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private ProcessedBlockRepository processedBlockRepository;
+    @Mock private IndexerCursorRepository cursorRepository;
+
+    private EventIngestor ingestor;
+
+    private static final long CHAIN_ID = 11155111L;
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
+
+    @BeforeEach
+    void setUp() {
+        ingestor = new EventIngestor(jdbcTemplate, processedBlockRepository, cursorRepository);
+    }
+
+    @Test
+    @DisplayName("Only rows actually inserted are returned; ON CONFLICT skips are dropped")
+    void ingest_returnsOnlyInsertedRows() {
+        IndexedLog first = indexedLog("CheckIn", 100L, 0);
+        IndexedLog replayed = indexedLog("CheckIn", 100L, 1);
+        IndexedLog third = indexedLog("Renewed", 101L, 0);
+        stubInsertedEvents(first, third);
+
+        List<IndexedLog> inserted = ingestor.ingest(CHAIN_ID, PROXY,
+            new IndexedRange(101L, "0xTIP", List.of(first, replayed, third), Map.of(101L, "0xTIP"), 50L));
+
+        assertThat(inserted).containsExactly(first, third);
+    }
+
+    @Test
+    @DisplayName("Cursor advance, block hashes and pruning happen in the same call")
+    @SuppressWarnings("unchecked")
+    void ingest_advancesCursorAndRecordsHashes() {
+        stubBatchUpdates();
+        when(cursorRepository.findPrunedBelow(CHAIN_ID, PROXY)).thenReturn(120L);
+
+        List<IndexedLog> inserted = ingestor.ingest(CHAIN_ID, PROXY,
+            new IndexedRange(200L, "0xTIP", List.of(), Map.of(199L, "0xA", 200L, "0xTIP"), 137L));
+
+        assertThat(inserted).isEmpty();
+        ArgumentCaptor<Collection<Map.Entry<Long, String>>> blocks = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("processed_blocks"), blocks.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertThat(blocks.getValue()).hasSize(2);
+        verify(jdbcTemplate, never()).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verify(cursorRepository).upsert(CHAIN_ID, PROXY, 200L, "0xTIP");
+        verify(processedBlockRepository).pruneOutsideReorgWindow(CHAIN_ID, PROXY, 120L, 137L);
+        verify(cursorRepository).updatePrunedBelow(CHAIN_ID, PROXY, 137L);
+    }
+
+    @Test
+    @DisplayName("Pruning is skipped when the reorg window has not moved past the previous bound")
+    void ingest_skipsPruneBelowPreviousBound() {
+        when(cursorRepository.findPrunedBelow(CHAIN_ID, PROXY)).thenReturn(137L);
+
+        ingestor.ingest(CHAIN_ID, PROXY, new IndexedRange(200L, "0xTIP", List.of(), Map.of(), 137L));
+
+        verify(processedBlockRepository, never()).pruneOutsideReorgWindow(anyLong(), anyString(), anyLong(), anyLong());
+        verify(cursorRepository, never()).updatePrunedBelow(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Package cache is upserted once per distinct package, not once per event")
+    @SuppressWarnings("unchecked")
+    void ingest_upsertsOneRowPerPackage() {
+        String otherPkg = "0x" + "cd".repeat(32);
+        IndexedLog activated = indexedLog("PackageActivated", 100L, 0);
+        IndexedLog checkIn = indexedLog("CheckIn", 100L, 1);
+        IndexedLog renewed = indexedLog("Renewed", 101L, 0);
+        IndexedLog other = new IndexedLog(new DecodedEvent("CheckIn", otherPkg, 101L, "0xBLOCK101",
+            "0xTX101", 1, Map.of()), PROXY, Instant.EPOCH, "{}");
+        stubBatchUpdates();
+        stubInsertedEvents(activated, checkIn, renewed, other);
+
+        ingestor.ingest(CHAIN_ID, PROXY,
+            new IndexedRange(101L, null, List.of(activated, checkIn, renewed, other), Map.of(), 0L));
+
+        ArgumentCaptor<Collection<PackageDelta>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("package_cache"), deltas.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertThat(deltas.getValue()).extracting(PackageDelta::packageKey).containsExactly(PKG, otherPkg);
+    }
+
+    @Test
+    @DisplayName("Activation replaces the package's guardian rows in contract order")
+    @SuppressWarnings("unchecked")
+    void ingest_replacesGuardianRows() {
+        IndexedLog activated = new IndexedLog(new DecodedEvent("PackageActivated", PKG, 100L, "0xBLOCK100",
+            "0xTX100", 0, Map.of("guardians", List.of("0xG1", "0xG2"), "guardianQuorum", 1)),
+            PROXY, Instant.EPOCH, "{}");
+        stubBatchUpdates();
+        stubInsertedEvents(activated);
+
+        ingestor.ingest(CHAIN_ID, PROXY, new IndexedRange(100L, null, List.of(activated), Map.of(), 0L));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO package_cache"), any(Collection.class),
+            anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        order.verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM guardian_cache"), any(Collection.class),
+            anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        ArgumentCaptor<Collection<?>> rows = ArgumentCaptor.forClass(Collection.class);
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO guardian_cache"), rows.capture(),
+            anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(rows.getValue()).hasSize(2);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    /** Every batch reports all rows written. */
+    @SuppressWarnings("unchecked")
+    private void stubBatchUpdates() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(inv -> {
+                int[] ones = new int[((Collection<?>) inv.getArgument(1)).size()];
+                Arrays.fill(ones, 1);
+                return new int[][] {ones};
+            });
+    }
+
+    /** The event_records insert RETURNs the keys of {@code written}; the rest hit ON CONFLICT. */
+    @SuppressWarnings("unchecked")
+    private void stubInsertedEvents(IndexedLog... written) {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+            .thenReturn(Arrays.stream(written)
+                .map(log -> new EventKey(log.event().txHash(), log.event().logIndex()))
+                .toList());
+    }
+
+    private static IndexedLog indexedLog(String type, long block, int logIndex) {
+        DecodedEvent event = new DecodedEvent(type, PKG, block, "0xBLOCK" + block,
+            "0xTX" + block, logIndex, Map.of());
+        return new IndexedLog(event, PROXY, Instant.EPOCH, "{}");
+    }
+}
@@ -0,0 +1,204 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventQueryService.AccessPath;
+import com.arcadigitalis.backend.evm.EventQueryService.EventFilter;
+import com.arcadigitalis.backend.evm.EventQueryService.EventPage;
+import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
+import com.arcadigitalis.backend.persistence.repository.EventRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventQueryService and EventCursor.
+ * Tests: limit+1 keyset fetch, next cursor from the last row, totals only on request,
+ * estimated vs exact eventType totals, access path choice, time-to-block folding, per-type
+ * merge, raw_data pass-through, cursor round trip.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventQueryServiceTest {
+
+    @Mock private EventRecordRepository eventRecordRepository;
+
+    private EventQueryService service;
+
+    private static final long CHAIN_ID = 11155111L;
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
+
+    @BeforeEach
+    void setUp() {
+        service = new EventQueryService(eventRecordRepository);
+    }
+
+    @Test
+    @DisplayName("A full page fetches limit+1 rows and hands out the last returned row as the cursor")
+    void query_fullPageHasNextCursor() {
+        when(eventRecordRepository.findPageAfter(CHAIN_ID, PROXY, 0L, -1, Long.MAX_VALUE, 3)).thenReturn(rows(3));
+
+        EventPage page = service.query(CHAIN_ID, PROXY, EventFilter.NONE, EventCursor.START, 2, false);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(EventCursor.decode(page.nextCursor())).isEqualTo(new EventCursor(101L, 1));
+        assertThat(page.totalElements()).isNull();
+        verify(eventRecordRepository, never()).estimateRowCount();
+    }
+
+    @Test
+    @DisplayName("The cursor position is passed through as the keyset lower bound; the last page has no cursor")
+    void query_resumesAfterCursor() {
+        when(eventRecordRepository.findPackagePageAfter(CHAIN_ID, PROXY, PKG, 101L, 1, Long.MAX_VALUE, 51)).thenReturn(rows(1));
+
+        EventPage page = service.query(CHAIN_ID, PROXY, EventFilter.forPackage(PKG), new EventCursor(101L, 1), 50, false);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Totals are exact per package and estimated for the whole proxy, only when requested")
+    void query_totalsOnRequest() {
+        when(eventRecordRepository.findPackagePageAfter(eq(CHAIN_ID), eq(PROXY), eq(PKG), anyLong(), anyInt(),
+            anyLong(), anyInt())).thenReturn(List.of());
+        when(eventRecordRepository.countPackageInRange(CHAIN_ID, PROXY, PKG, 0L, Long.MAX_VALUE)).thenReturn(7L);
+        when(eventRecordRepository.findPageAfter(eq(CHAIN_ID), eq(PROXY), anyLong(), anyInt(), anyLong(), anyInt()))
+            .thenReturn(List.of());
+        when(eventRecordRepository.estimateRowCount()).thenReturn(1_000_000L);
+        when(eventRecordRepository.countInRange(CHAIN_ID, PROXY, 10L, 20L)).thenReturn(3L);
+
+        assertThat(service.query(CHAIN_ID, PROXY, EventFilter.forPackage(PKG), EventCursor.START, 50, true)
+            .totalElements()).isEqualTo(7L);
+        assertThat(service.query(CHAIN_ID, PROXY, EventFilter.NONE, EventCursor.START, 50, true).totalElements())
+            .isEqualTo(1_000_000L);
+        assertThat(service.query(CHAIN_ID, PROXY, new EventFilter(null, null, 10L, 20L, null, null),
+            EventCursor.START, 50, true).totalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("eventType totals are estimated for the whole proxy and exact within a block range")
+    void query_typeTotals() {
+        Set<String> types = Set.of("Released");
+        when(eventRecordRepository.findTypePageAfter(eq(CHAIN_ID), eq(PROXY), eq("Released"), anyLong(), anyInt(),
+            anyLong(), anyInt())).thenReturn(List.of());
+        when(eventRecordRepository.estimateTypeRowCount(types)).thenReturn(76_923L);
+        when(eventRecordRepository.countTypesInRange(CHAIN_ID, PROXY, types, 10L, 20L)).thenReturn(2L);
+
+        assertThat(service.query(CHAIN_ID, PROXY, new EventFilter(null, types, null, null, null, null),
+            EventCursor.START, 50, true).totalElements()).isEqualTo(76_923L);
+        assertThat(service.query(CHAIN_ID, PROXY, new EventFilter(null, types, 10L, 20L, null, null),
+            EventCursor.START, 50, true).totalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("raw_data is passed through unparsed; a missing value becomes an empty object")
+    void query_passesRawDataThrough() {
+        List<EventRecordEntity> rows = rows(2);
+        ReflectionTestUtils.setField(rows.get(0), "rawData", "{\"paidUntil\": 1800000000}");
+        ReflectionTestUtils.setField(rows.get(1), "rawData", null);
+        when(eventRecordRepository.findPageAfter(CHAIN_ID, PROXY, 0L, -1, Long.MAX_VALUE, 51)).thenReturn(rows);
+
+        EventPage page = service.query(CHAIN_ID, PROXY, EventFilter.NONE, EventCursor.START, 50, false);
+
+        assertThat(page.items()).extracting(EventQueryService.EventRecord::dataJson)
+            .containsExactly("{\"paidUntil\": 1800000000}", "{}");
+    }
+
+    @Test
+    @DisplayName("The access path follows the package and eventType filters")
+    void accessPath_choice() {
+        assertThat(AccessPath.of(EventFilter.NONE)).isEqualTo(AccessPath.PROXY);
+        assertThat(AccessPath.of(EventFilter.forPackage(PKG))).isEqualTo(AccessPath.PACKAGE);
+        assertThat(AccessPath.of(new EventFilter(null, Set.of("CheckIn"), null, null, null, null)))
+            .isEqualTo(AccessPath.PROXY_TYPE);
+        assertThat(AccessPath.of(new EventFilter(PKG, Set.of("CheckIn"), null, null, null, null)))
+            .isEqualTo(AccessPath.PACKAGE_TYPE);
+        assertThat(AccessPath.of(new EventFilter(" ", Set.of(), 1L, 2L, null, null))).isEqualTo(AccessPath.PROXY);
+    }
+
+    @Test
+    @DisplayName("A time range is resolved to block bounds, and the cursor starts at fromBlock")
+    void query_foldsTimeRangeIntoBlockBounds() {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-01-02T00:00:00Z");
+        when(eventRecordRepository.findFirstBlockAtOrAfter(CHAIN_ID, PROXY, from)).thenReturn(500L);
+        when(eventRecordRepository.findLastBlockAtOrBefore(CHAIN_ID, PROXY, to)).thenReturn(900L);
+        when(eventRecordRepository.findPageAfter(CHAIN_ID, PROXY, 500L, -1, 900L, 51)).thenReturn(rows(1));
+
+        EventPage page = service.query(CHAIN_ID, PROXY, new EventFilter(null, null, 100L, null, from, to),
+            EventCursor.START, 50, false);
+
+        assertThat(page.items()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("A time range with no events on one side short-circuits without a page query")
+    void query_emptyTimeRange() {
+        Instant from = Instant.parse("2030-01-01T00:00:00Z");
+        when(eventRecordRepository.findFirstBlockAtOrAfter(CHAIN_ID, PROXY, from)).thenReturn(null);
+
+        EventPage page = service.query(CHAIN_ID, PROXY, new EventFilter(null, null, null, null, from, null),
+            EventCursor.START, 50, true);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.totalElements()).isZero();
+        assertThat(page.nextCursor()).isNull();
+        verify(eventRecordRepository, never()).findPageAfter(anyLong(), anyString(), anyLong(), anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("A set of event types merges the per-type pages in keyset order")
+    void query_mergesEventTypes() {
+        List<EventRecordEntity> all = rows(4);
+        when(eventRecordRepository.findTypePageAfter(CHAIN_ID, PROXY, "CheckIn", 0L, -1, Long.MAX_VALUE, 3))
+            .thenReturn(List.of(all.get(0), all.get(2)));
+        when(eventRecordRepository.findTypePageAfter(CHAIN_ID, PROXY, "Renewed", 0L, -1, Long.MAX_VALUE, 3))
+            .thenReturn(List.of(all.get(1), all.get(3)));
+
+        EventPage page = service.query(CHAIN_ID, PROXY,
+            new EventFilter(null, Set.of("CheckIn", "Renewed"), null, null, null, null), EventCursor.START, 2, false);
+
+        assertThat(page.items()).extracting(EventQueryService.EventRecord::blockNumber).containsExactly(100L, 101L);
+        assertThat(EventCursor.decode(page.nextCursor())).isEqualTo(new EventCursor(101L, 1));
+    }
+
+    @Test
+    @DisplayName("Cursors round-trip; blank means start; malformed tokens are rejected")
+    void cursor_roundTrip() {
+        EventCursor cursor = new EventCursor(19_000_000L, 42);
+
+        assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(EventCursor.decode(null)).isEqualTo(EventCursor.START);
+        assertThat(EventCursor.decode(" ")).isEqualTo(EventCursor.START);
+        assertThatThrownBy(() -> EventCursor.decode("2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventCursor.decode(new EventCursor(-5L, 0).encode()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    /** {@code count} rows at (100,0), (101,1), (102,2), ... */
+    private static List<EventRecordEntity> rows(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            EventRecordEntity entity = new EventRecordEntity(CHAIN_ID, PROXY, PKG, "CheckIn", PROXY,
+                100L + i, "0xB" + i, "0xTX" + i, i, Instant.EPOCH, "{}");
+            ReflectionTestUtils.setField(entity, "id", UUID.randomUUID());
+            return entity;
+        }).toList();
+    }
+}
@@ -0,0 +1,289 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventQueryService.EventFilter;
+import com.arcadigitalis.backend.evm.EventQueryService.EventPage;
+import com.arcadigitalis.backend.evm.EventQueryService.EventRecord;
+import com.arcadigitalis.backend.evm.IndexerPoller.IndexedEventNotification;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventStreamHub.
+ * Tests: live fan-out without DB reads, Last-Event-ID replay with de-duplication, no second
+ * sender for a live event racing the registration, resync past the replay limit, tailing
+ * event_records without a local indexer, slow-consumer eviction, connection cap, keepalive on
+ * idle streams.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventStreamHubTest {
+
+    @Mock private EventQueryService eventQueryService;
+    @Mock private Web3jConfig config;
+
+    private final Queue<Runnable> senderTasks = new ConcurrentLinkedQueue<>();
+
+    private static final long CHAIN_ID = 11155111L;
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
+    private static final String OTHER_PKG = "0x" + "cd".repeat(32);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(config.getChainId()).thenReturn(CHAIN_ID);
+        lenient().when(config.getProxyAddress()).thenReturn(PROXY);
+    }
+
+    @Test
+    @DisplayName("A live event reaches every stream on its package, with the cursor as SSE id, and no DB read")
+    void liveEvent_fansOutWithoutQuery() {
+        EventStreamHub hub = hub(10, 8, 100);
+        RecordingEmitter first = (RecordingEmitter) hub.subscribe(PKG.toUpperCase().replace("0X", "0x"), EventCursor.START);
+        RecordingEmitter second = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        RecordingEmitter other = (RecordingEmitter) hub.subscribe(OTHER_PKG, EventCursor.START);
+        runSenders();
+
+        hub.onIndexedEvent(notification(PKG, "CheckIn", 150L, 2));
+        runSenders();
+
+        assertThat(first.frames).containsExactly(second.frames.toArray(String[]::new));
+        assertThat(first.frames).singleElement().satisfies(frame -> assertThat(frame)
+            .contains("id:" + new EventCursor(150L, 2).encode(), "event:CheckIn", "\"blockNumber\":150",
+                "\"data\":{\"timestamp\":1}")
+            .doesNotContain("\"id\""));
+        assertThat(other.frames).isEmpty();
+        verifyNoInteractions(eventQueryService);
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID replays stored events first; live copies of replayed events are dropped")
+    void resume_replaysThenGoesLive() {
+        EventStreamHub hub = hub(10, 8, 100);
+        EventCursor lastSeen = new EventCursor(100L, 0);
+        when(eventQueryService.query(eq(CHAIN_ID), eq(PROXY), eq(EventFilter.forPackage(PKG)), eq(lastSeen),
+            anyInt(), eq(false))).thenReturn(new EventPage(List.of(record(101L, 0), record(102L, 1)), null, null));
+
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(PKG, lastSeen);
+        // Indexed while the replay is still pending: one duplicate, one new
+        hub.onIndexedEvent(notification(PKG, "CheckIn", 102L, 1));
+        hub.onIndexedEvent(notification(PKG, "Renewed", 103L, 0));
+        runSenders();
+
+        assertThat(emitter.frames).hasSize(3);
+        assertThat(emitter.frames.get(0)).contains("id:" + new EventCursor(101L, 0).encode());
+        assertThat(emitter.frames.get(1)).contains("id:" + new EventCursor(102L, 1).encode(), "\"id\":\"row-102\"");
+        assertThat(emitter.frames.get(2)).contains("id:" + new EventCursor(103L, 0).encode(), "event:Renewed");
+    }
+
+    @Test
+    @DisplayName("A live event racing the registration does not start a sender alongside the replay")
+    void resume_liveEventDuringRegistration_waitsForReplay() throws Exception {
+        EventStreamHub hub = hub(10, 256, 100);
+        EventCursor lastSeen = new EventCursor(100L, 0);
+        when(eventQueryService.query(eq(CHAIN_ID), eq(PROXY), eq(EventFilter.forPackage(PKG)), eq(lastSeen),
+            anyInt(), eq(false))).thenReturn(new EventPage(List.of(record(101L, 0), record(102L, 1)), null, null));
+        AtomicBoolean firing = new AtomicBoolean(true);
+        // Fires across the registration window; fewer frames than the buffer holds once registered
+        Thread indexer = new Thread(() -> {
+            while (firing.get() && hub.connectionCount() == 0) {
+                hub.onIndexedEvent(notification(PKG, "Renewed", 103L, 0));
+            }
+            for (int i = 0; i < 200; i++) {
+                hub.onIndexedEvent(notification(PKG, "Renewed", 103L, 0));
+            }
+        });
+        indexer.start();
+
+        RecordingEmitter emitter;
+        try {
+            Thread.sleep(5);
+            emitter = (RecordingEmitter) hub.subscribe(PKG, lastSeen);
+        } finally {
+            firing.set(false);
+            indexer.join();
+        }
+        hub.onIndexedEvent(notification(PKG, "Renewed", 103L, 0));
+
+        // Only the replay task; a live frame offered mid-registration must not schedule a drain
+        assertThat(senderTasks).hasSize(1);
+        runSenders();
+        assertThat(emitter.frames).hasSize(3);
+        assertThat(emitter.frames.get(0)).contains("id:" + new EventCursor(101L, 0).encode());
+        assertThat(emitter.frames.get(1)).contains("id:" + new EventCursor(102L, 1).encode());
+        assertThat(emitter.frames.get(2)).contains("id:" + new EventCursor(103L, 0).encode(), "event:Renewed");
+    }
+
+    @Test
+    @DisplayName("A client further behind than replay-limit gets a resync event and the stream closes")
+    void resume_pastReplayLimitResyncs() {
+        EventStreamHub hub = hub(10, 8, 1);
+        when(eventQueryService.query(anyLong(), anyString(), any(), any(), anyInt(), anyBoolean()))
+            .thenReturn(new EventPage(List.of(record(101L, 0), record(102L, 0)), null, null));
+
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(PKG, new EventCursor(100L, 0));
+        runSenders();
+
+        assertThat(emitter.frames).hasSize(2);
+        assertThat(emitter.frames.get(1))
+            .contains("event:" + EventStreamHub.RESYNC_EVENT, "id:" + new EventCursor(101L, 0).encode());
+        assertThat(emitter.completed).isTrue();
+        assertThat(hub.connectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Without a local indexer, one shared event_records poll feeds every stream")
+    void noLocalIndexer_tailsEventRecords() {
+        EventStreamHub hub = hub(10, 8, 100, false);
+        RecordingEmitter first = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        RecordingEmitter second = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        RecordingEmitter other = (RecordingEmitter) hub.subscribe(OTHER_PKG, EventCursor.START);
+        runSenders();
+        EventCursor tableEnd = new EventCursor(100L, 0);
+        when(eventQueryService.latestPosition(CHAIN_ID, PROXY)).thenReturn(tableEnd);
+        when(eventQueryService.query(CHAIN_ID, PROXY, EventFilter.NONE, tableEnd, 200, false))
+            .thenReturn(new EventPage(List.of(record(101L, 0)), null, null));
+
+        hub.tail(); // first poll: finds where the table ends
+        hub.tail();
+        runSenders();
+
+        assertThat(first.frames).singleElement().asString()
+            .contains("id:" + new EventCursor(101L, 0).encode(), "event:CheckIn");
+        assertThat(second.frames).containsExactlyElementsOf(first.frames);
+        assertThat(other.frames).isEmpty();
+        verify(eventQueryService, times(1)).query(anyLong(), anyString(), any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("The instance running the indexer does not tail event_records")
+    void localIndexer_doesNotTail() {
+        EventStreamHub hub = hub(10, 8, 100);
+        hub.subscribe(PKG, EventCursor.START);
+
+        hub.tail();
+        hub.tail();
+
+        verifyNoInteractions(eventQueryService);
+    }
+
+    @Test
+    @DisplayName("A stream whose queue is full is evicted without holding up the others")
+    void slowConsumer_isEvicted() {
+        EventStreamHub hub = hub(10, 2, 100);
+        RecordingEmitter slow = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        senderTasks.clear(); // The slow client's sender never gets to run
+
+        hub.onIndexedEvent(notification(PKG, "CheckIn", 150L, 0));
+        hub.onIndexedEvent(notification(PKG, "CheckIn", 151L, 0));
+        RecordingEmitter fresh = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        hub.onIndexedEvent(notification(PKG, "CheckIn", 152L, 0));
+
+        assertThat(slow.completed).isTrue();
+        assertThat(hub.connectionCount()).isEqualTo(1);
+        runSenders();
+        assertThat(fresh.frames).singleElement().asString().contains("\"blockNumber\":152");
+    }
+
+    @Test
+    @DisplayName("Subscriptions past max-connections are refused; closed streams free their slot")
+    void maxConnections_enforced() {
+        EventStreamHub hub = hub(1, 8, 100);
+        RecordingEmitter open = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+
+        assertThat(hub.subscribe(OTHER_PKG, EventCursor.START)).isNull();
+        open.completeFromContainer();
+        assertThat(hub.subscribe(OTHER_PKG, EventCursor.START)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Idle streams get a keepalive comment")
+    void heartbeat_onIdleStreams() {
+        EventStreamHub hub = hub(10, 8, 100);
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(PKG, EventCursor.START);
+        runSenders();
+
+        hub.heartbeat();
+        runSenders();
+
+        assertThat(emitter.frames).singleElement().asString().contains(":keepalive");
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private EventStreamHub hub(int maxConnections, int bufferSize, int replayLimit) {
+        return hub(maxConnections, bufferSize, replayLimit, true);
+    }
+
+    private EventStreamHub hub(int maxConnections, int bufferSize, int replayLimit, boolean localIndexer) {
+        return new EventStreamHub(eventQueryService, new ObjectMapper().findAndRegisterModules()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL), config,
+            senderTasks::add, RecordingEmitter::new, () -> localIndexer, maxConnections, bufferSize, replayLimit);
+    }
+
+    private void runSenders() {
+        Runnable task;
+        while ((task = senderTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static IndexedEventNotification notification(String packageKey, String eventType, long block, int logIndex) {
+        DecodedEvent event = new DecodedEvent(eventType, packageKey, block, "0xB" + block, "0xTX" + block,
+            logIndex, Map.of("timestamp", 1));
+        return new IndexedEventNotification(event, PROXY, Instant.EPOCH, "{\"timestamp\":1}");
+    }
+
+    private static EventRecord record(long block, int logIndex) {
+        return new EventRecord("row-" + block, CHAIN_ID, PROXY, PKG, "CheckIn", PROXY, block, "0xTX" + block,
+            logIndex, Instant.EPOCH, "{}");
+    }
+
+    /** Captures each SSE frame as its wire text instead of writing to a response. */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new ArrayList<>();
+        private Runnable completionCallback = () -> {};
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            frames.add(builder.build().stream().map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        /** As the container does when the client disconnects. */
+        void completeFromContainer() {
+            completed = true;
+            completionCallback.run();
+        }
+    }
+}
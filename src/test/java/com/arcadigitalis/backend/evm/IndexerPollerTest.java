@@ -0,0 +1,68 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
+import com.arcadigitalis.backend.evm.IndexerPoller.FetchedRange;
+import com.arcadigitalis.backend.evm.IndexerPoller.RangeFetchException;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Filter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for IndexerPoller's eth_getLogs filter and decode stage.
+ * Tests: topic0 OR-list of known events, missing event-block header.
+ */
+class IndexerPollerTest {
+
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+
+    @Test
+    @DisplayName("Filter restricts topic0 to the known ARCA events")
+    void logFilter_restrictsTopic0() {
+        EthFilter filter = IndexerPoller.logFilter(100, 200, PROXY);
+
+        assertThat(filter.getAddress()).containsExactly(PROXY);
+        assertThat(filter.getTopics()).hasSize(1);
+        List<?> topic0 = (List<?>) filter.getTopics().get(0).getValue();
+        assertThat(topic0).hasSize(EventDecoder.knownTopics().size());
+        assertThat(topic0).extracting(t -> ((Filter.SingleTopic) t).getValue())
+            .containsExactlyInAnyOrderElementsOf(EventDecoder.knownTopics());
+    }
+
+    @Test
+    @DisplayName("A log whose block header is missing fails the range instead of using wall-clock time")
+    void decodeRange_missingHeader_throws() throws Exception {
+        EventDecoder decoder = mock(EventDecoder.class);
+        IndexerPoller poller = new IndexerPoller(mock(Web3j.class), mock(Web3jConfig.class), decoder,
+            mock(ReorgHandler.class), mock(ReorgDetector.class), mock(IndexerCursorRepository.class),
+            mock(EventIngestor.class), mock(ApplicationEventPublisher.class), mock(DataSource.class),
+            mock(BlockRangePlanner.class), mock(BlockHeaderFetcher.class), mock(BackfillPipeline.class),
+            mock(ChainHeadTracker.class));
+        Log logEntry = new Log();
+        logEntry.setBlockNumber("0x64");
+        BlockHeader tip = new BlockHeader(101L, "0xTIP", "0xPARENT", Instant.EPOCH);
+        FetchedRange fetched = new FetchedRange(100L, 101L, 101L, List.of(logEntry), Set.of(101L), Map.of(101L, tip));
+
+        assertThatThrownBy(() -> poller.decodeRange(fetched))
+            .isInstanceOf(RangeFetchException.class)
+            .hasMessageContaining("event block 100");
+        verify(decoder, never()).decode(any());
+    }
+}
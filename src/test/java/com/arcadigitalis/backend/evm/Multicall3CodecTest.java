@@ -0,0 +1,75 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.Multicall3Codec.Call3;
+import com.arcadigitalis.backend.evm.Multicall3Codec.Result;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for Multicall3Codec.
+ * Tests: aggregate3 calldata layout, per-call success/failure decoding, malformed payloads.
+ */
+class Multicall3CodecTest {
+
+    private static final String TARGET = "0x" + "11".repeat(20);
+
+    @Test
+    @DisplayName("aggregate3 calldata matches the ABI layout for one call")
+    void encode_singleCall() {
+        String calldata = Multicall3Codec.encodeAggregate3(List.of(new Call3(TARGET, true, "0xdeadbeef")));
+
+        assertThat(calldata).isEqualTo("0x82ad56cb"
+            + word("20")                       // offset of calls[]
+            + word("1")                        // calls.length
+            + word("20")                       // offset of calls[0]
+            + word("11".repeat(20))            // target
+            + word("1")                        // allowFailure
+            + word("60")                       // offset of callData
+            + word("4")                        // callData.length
+            + "deadbeef" + "0".repeat(56));
+    }
+
+    @Test
+    @DisplayName("Second tuple offset skips the first tuple's padded callData")
+    void encode_twoCalls_offsets() {
+        String calldata = Multicall3Codec.encodeAggregate3(List.of(
+            new Call3(TARGET, true, "0x" + "aa".repeat(36)),
+            new Call3(TARGET, false, "0x")));
+
+        String body = calldata.substring(10);
+        assertThat(body.substring(128, 192)).isEqualTo(word("40"));             // calls[0] after 2 offsets
+        assertThat(body.substring(192, 256)).isEqualTo(word("100"));            // 0x40 + 4 head words + 2 data words
+    }
+
+    @Test
+    @DisplayName("Results decode per-call success and return data")
+    void decode_mixedResults() {
+        String returnData = "0x"
+            + word("20") + word("2")
+            + word("40") + word("c0")
+            + word("1") + word("40") + word("2") + "abcd" + "0".repeat(60)
+            + word("0") + word("40") + word("0");
+
+        List<Result> results = Multicall3Codec.decodeAggregate3(returnData);
+
+        assertThat(results).containsExactly(new Result(true, "0xabcd"), new Result(false, "0x"));
+    }
+
+    @Test
+    @DisplayName("Truncated return data is rejected")
+    void decode_truncated() {
+        String returnData = "0x" + word("20") + word("2") + word("40");
+
+        assertThatThrownBy(() -> Multicall3Codec.decodeAggregate3(returnData))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String word(String hex) {
+        return "0".repeat(64 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,168 @@
+package com.arcadigitalis.backend.evm;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NewHeadsSubscriber against a local WebSocket JSON-RPC stand-in.
+ * Tests: push wake-up past confirmation depth, coalescing, fallback on disconnect, on a silent
+ * socket and on refusal.
+ */
+@ExtendWith(MockitoExtension.class)
+class NewHeadsSubscriberTest {
+
+    @Mock private Web3jConfig config;
+    @Mock private IndexerPoller indexerPoller;
+
+    private StandInNode node;
+    private NewHeadsSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        node = new StandInNode();
+        node.start();
+        assertThat(node.started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (subscriber != null) subscriber.stop();
+        node.stop(1000);
+    }
+
+    @Test
+    @DisplayName("A pushed head past the confirmation depth wakes the indexer with that head")
+    void newHead_wakesIndexer() {
+        when(config.getWsUrl()).thenReturn("ws://127.0.0.1:" + node.getPort());
+        node.headToPush = 100;
+        subscriber = new NewHeadsSubscriber(config, indexerPoller, true, 12, 30, 60);
+
+        subscriber.start();
+
+        verify(indexerPoller, timeout(5000)).setPushMode(true);
+        verify(indexerPoller, timeout(5000)).onNewHead(100L);
+    }
+
+    @Test
+    @DisplayName("Heads that do not confirm a new block do not trigger another cycle")
+    void repeatedHeads_coalesce() {
+        subscriber = new NewHeadsSubscriber(config, indexerPoller, true, 12, 30, 60);
+
+        subscriber.onNewHead(100);
+        subscriber.onNewHead(100);
+        subscriber.onNewHead(99);
+        subscriber.onNewHead(5); // below confirmation depth
+
+        verify(indexerPoller, timeout(2000).times(1)).onNewHead(anyLong());
+    }
+
+    @Test
+    @DisplayName("Losing the socket puts the indexer back in polling mode")
+    void disconnect_fallsBackToPolling() throws Exception {
+        when(config.getWsUrl()).thenReturn("ws://127.0.0.1:" + node.getPort());
+        subscriber = new NewHeadsSubscriber(config, indexerPoller, true, 12, 30, 60);
+        subscriber.start();
+        verify(indexerPoller, timeout(5000)).setPushMode(true);
+
+        for (WebSocket connection : node.getConnections()) {
+            connection.close();
+        }
+
+        verify(indexerPoller, timeout(5000)).setPushMode(false);
+        assertThat(subscriber.isConnected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("An open socket that stops pushing heads puts the indexer back in polling mode")
+    void silentSocket_fallsBackToPolling() {
+        when(config.getWsUrl()).thenReturn("ws://127.0.0.1:" + node.getPort());
+        subscriber = new NewHeadsSubscriber(config, indexerPoller, true, 12, 30, 1);
+        subscriber.start();
+        verify(indexerPoller, timeout(5000)).setPushMode(true);
+
+        // The stand-in node never pushes a head; the connection itself stays open
+        verify(indexerPoller, timeout(5000)).setPushMode(false);
+        assertThat(subscriber.isConnected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("An unreachable endpoint leaves the indexer polling")
+    void unreachable_staysPolling() throws Exception {
+        int port = node.getPort();
+        node.stop(1000);
+        when(config.getWsUrl()).thenReturn("ws://127.0.0.1:" + port);
+        subscriber = new NewHeadsSubscriber(config, indexerPoller, true, 12, 30, 60);
+
+        subscriber.start();
+
+        verify(indexerPoller, never()).setPushMode(true);
+        assertThat(subscriber.isConnected()).isFalse();
+    }
+
+    // ── Stand-in node ──────────────────────────────────────────────────────
+
+    /** Answers eth_subscribe and pushes a single newHeads notification. */
+    private static class StandInNode extends WebSocketServer {
+
+        private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+        final CountDownLatch started = new CountDownLatch(1);
+        volatile long headToPush = -1;
+
+        StandInNode() {
+            super(new InetSocketAddress("127.0.0.1", 0));
+            setReuseAddr(true);
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            Matcher id = ID.matcher(message);
+            String requestId = id.find() ? id.group(1) : "1";
+            if (message.contains("eth_subscribe")) {
+                conn.send("{\"jsonrpc\":\"2.0\",\"id\":" + requestId + ",\"result\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\"}");
+                if (headToPush >= 0) {
+                    conn.send("{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{"
+                        + "\"subscription\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\",\"result\":{"
+                        + "\"number\":\"0x" + Long.toHexString(headToPush) + "\","
+                        + "\"hash\":\"0x" + "11".repeat(32) + "\","
+                        + "\"parentHash\":\"0x" + "22".repeat(32) + "\","
+                        + "\"timestamp\":\"0x6553f100\"}}}");
+                }
+            } else {
+                conn.send("{\"jsonrpc\":\"2.0\",\"id\":" + requestId + ",\"result\":true}");
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {}
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {}
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {}
+    }
+}
@@ -0,0 +1,140 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
+import com.arcadigitalis.backend.evm.PackageCacheReducer.PackageDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PackageCacheReducer.
+ * Tests: one delta per package, last-writer-wins ordering, explicit pending clear,
+ * block-timestamp time fields, guardian counts and guardian list.
+ */
+class PackageCacheReducerTest {
+
+    private static final String PKG_A = "0x" + "aa".repeat(32);
+    private static final String PKG_B = "0x" + "bb".repeat(32);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private PackageCacheReducer reducer;
+
+    @BeforeEach
+    void setUp() {
+        reducer = new PackageCacheReducer();
+    }
+
+    @Test
+    @DisplayName("Activate + N check-ins + renew fold into a single delta")
+    void foldsManyEventsIntoOneDelta() {
+        reducer.applyAll(List.of(
+            indexed(event("PackageActivated", PKG_A, 10, Map.of("owner", "0xOwner", "manifestUri", "ipfs://a"))),
+            indexed(event("CheckIn", PKG_A, 11, Map.of())),
+            indexed(event("CheckIn", PKG_A, 12, Map.of())),
+            indexed(event("CheckIn", PKG_A, 13, Map.of())),
+            indexed(event("Renewed", PKG_A, 14, Map.of("paidUntil", 1_800_000_000L)))
+        ));
+
+        assertThat(reducer.deltas()).hasSize(1);
+        PackageDelta delta = reducer.deltas().iterator().next();
+        assertThat(delta.cachedStatus()).isEqualTo("ACTIVE");
+        assertThat(delta.ownerAddress()).isEqualTo("0xOwner");
+        assertThat(delta.manifestUri()).isEqualTo("ipfs://a");
+        assertThat(delta.lastCheckIn()).isEqualTo(blockTime(13));
+        assertThat(delta.paidUntil()).isEqualTo(Instant.ofEpochSecond(1_800_000_000L));
+        assertThat(delta.lastIndexedBlock()).isEqualTo(14L);
+        assertThat(delta.pendingSinceSet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Distinct packages get distinct deltas in first-seen order")
+    void oneDeltaPerPackage() {
+        reducer.apply(event("CheckIn", PKG_B, 5, Map.of()), blockTime(5));
+        reducer.apply(event("Revoked", PKG_A, 6, Map.of()), blockTime(6));
+        reducer.apply(event("CheckIn", PKG_B, 7, Map.of()), blockTime(7));
+
+        assertThat(reducer.deltas()).extracting(PackageDelta::packageKey).containsExactly(PKG_B, PKG_A);
+    }
+
+    @Test
+    @DisplayName("Later status wins; rescue explicitly clears pending_since")
+    void rescueClearsPending() {
+        reducer.apply(event("PendingRelease", PKG_A, 20, Map.of()), blockTime(20));
+        reducer.apply(event("PackageRescued", PKG_A, 21, Map.of()), blockTime(21));
+
+        PackageDelta delta = reducer.deltas().iterator().next();
+        assertThat(delta.cachedStatus()).isEqualTo("ACTIVE");
+        assertThat(delta.pendingSinceSet()).isTrue();
+        assertThat(delta.pendingSince()).isNull();
+    }
+
+    @Test
+    @DisplayName("Guardian events leave status untouched and accumulate count increments")
+    void guardianEventsLeaveStatusUntouched() {
+        reducer.apply(event("GuardianApproved", PKG_A, 30, Map.of()), blockTime(30));
+        reducer.apply(event("GuardianApproved", PKG_A, 31, Map.of()), blockTime(31));
+        reducer.apply(event("GuardianVetoed", PKG_A, 32, Map.of()), blockTime(32));
+        reducer.apply(event("GuardianApproveRescinded", PKG_A, 33, Map.of()), blockTime(33));
+
+        PackageDelta delta = reducer.deltas().iterator().next();
+        assertThat(delta.cachedStatus()).isNull();
+        assertThat(delta.approvalCount()).isEqualTo(1);
+        assertThat(delta.vetoCount()).isEqualTo(1);
+        assertThat(delta.countsReset()).isFalse();
+        assertThat(delta.lastIndexedBlock()).isEqualTo(33L);
+    }
+
+    @Test
+    @DisplayName("A state reset makes the counts absolute from that event on")
+    void stateResetMakesCountsAbsolute() {
+        reducer.apply(event("GuardianVetoed", PKG_A, 40, Map.of()), blockTime(40));
+        reducer.apply(event("GuardianStateReset", PKG_A, 41, Map.of()), blockTime(41));
+        reducer.apply(event("GuardianApproved", PKG_A, 42, Map.of()), blockTime(42));
+
+        PackageDelta delta = reducer.deltas().iterator().next();
+        assertThat(delta.countsReset()).isTrue();
+        assertThat(delta.vetoCount()).isZero();
+        assertThat(delta.approvalCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Activation projects guardians, quorum and thresholds; time fields use block timestamps")
+    void activationProjectsFullView() {
+        reducer.apply(event("PackageActivated", PKG_A, 50, Map.of(
+            "owner", "0xOwner", "beneficiary", "0xBen", "manifestUri", "ipfs://a",
+            "guardians", List.of("0xg1", "0xg2"), "guardianQuorum", 2,
+            "warnThreshold", 86_400L, "inactivityThreshold", 604_800L)), blockTime(50));
+        reducer.apply(event("PendingRelease", PKG_A, 51, Map.of()), blockTime(51));
+        reducer.apply(event("Released", PKG_A, 52, Map.of()), blockTime(52));
+
+        PackageDelta delta = reducer.deltas().iterator().next();
+        assertThat(delta.guardians()).containsExactly("0xg1", "0xg2");
+        assertThat(delta.guardianQuorum()).isEqualTo(2);
+        assertThat(delta.warnThreshold()).isEqualTo(86_400L);
+        assertThat(delta.inactivityThreshold()).isEqualTo(604_800L);
+        assertThat(delta.countsReset()).isTrue();
+        assertThat(delta.lastCheckIn()).isEqualTo(blockTime(50));
+        assertThat(delta.pendingSince()).isEqualTo(blockTime(51));
+        assertThat(delta.releasedAt()).isEqualTo(blockTime(52));
+        assertThat(delta.cachedStatus()).isEqualTo("RELEASED");
+    }
+
+    private static Instant blockTime(long block) {
+        return NOW.plusSeconds(12 * block);
+    }
+
+    private static IndexedLog indexed(DecodedEvent event) {
+        return new IndexedLog(event, "0xPROXY", blockTime(event.blockNumber()), "{}");
+    }
+
+    private static DecodedEvent event(String type, String packageKey, long block, Map<String, Object> data) {
+        return new DecodedEvent(type, packageKey, block, "0xBLOCK", "0xTX" + block, 0, data);
+    }
+}
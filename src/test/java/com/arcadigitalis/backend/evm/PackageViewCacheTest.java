@@ -0,0 +1,139 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.IndexerPoller.IndexedEventNotification;
+import com.arcadigitalis.backend.evm.PackageViewCache.CachedView;
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PackageViewCache.
+ * Tests: hit at same head, head advance, polled head without an indexer, max age, indexer eviction, disabled, size bound.
+ */
+@ExtendWith(MockitoExtension.class)
+class PackageViewCacheTest {
+
+    @Mock private PolicyReader policyReader;
+
+    private static final String PKG_KEY = "0x" + "ab".repeat(32);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ChainHeadTracker chainHead;
+    private PackageViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        chainHead = new ChainHeadTracker();
+        chainHead.update(500);
+        cache = new PackageViewCache(policyReader, chainHead, true, 12, 2, nanos::get);
+        lenient().when(policyReader.getPackage(anyString())).thenReturn(PackageView.draft());
+    }
+
+    @Test
+    @DisplayName("Second read at the same head is a cache hit tagged with the read block")
+    void sameHead_hit() {
+        CachedView first = cache.get(PKG_KEY);
+        CachedView second = cache.get(PKG_KEY.toUpperCase().replace("0X", "0x"));
+
+        assertThat(first.live()).isTrue();
+        assertThat(second.live()).isFalse();
+        assertThat(second.blockNumber()).isEqualTo(500);
+        verify(policyReader, times(1)).getPackage(anyString());
+    }
+
+    @Test
+    @DisplayName("Head moving past the tagged block misses")
+    void headAdvance_miss() {
+        cache.get(PKG_KEY);
+        chainHead.update(501);
+
+        CachedView view = cache.get(PKG_KEY);
+
+        assertThat(view.live()).isTrue();
+        assertThat(view.blockNumber()).isEqualTo(501);
+        verify(policyReader, times(2)).getPackage(PKG_KEY);
+    }
+
+    @Test
+    @DisplayName("Without an indexer feeding the head, the tracker's own poll moves it and entries miss")
+    @SuppressWarnings("unchecked")
+    void secondaryInstance_headPolled_miss() throws Exception {
+        Web3j web3j = mock(Web3j.class);
+        Request<?, EthBlockNumber> request = mock(Request.class);
+        EthBlockNumber blockNumber = new EthBlockNumber();
+        blockNumber.setResult("0x1f5"); // 501
+        when(request.send()).thenReturn(blockNumber);
+        doReturn(request).when(web3j).ethBlockNumber();
+        chainHead = new ChainHeadTracker(web3j, 3_000, nanos::get);
+        chainHead.update(500);
+        cache = new PackageViewCache(policyReader, chainHead, true, 12, 2, nanos::get);
+        cache.get(PKG_KEY);
+
+        chainHead.refresh(); // fed within refresh-ms: no RPC
+        nanos.addAndGet(3_000_000_000L);
+        chainHead.refresh();
+
+        assertThat(chainHead.current()).isEqualTo(501);
+        assertThat(cache.get(PKG_KEY).live()).isTrue();
+        verify(web3j, times(1)).ethBlockNumber();
+    }
+
+    @Test
+    @DisplayName("Entries older than max-age miss even when the head has not moved")
+    void maxAge_miss() {
+        cache.get(PKG_KEY);
+        nanos.addAndGet(12_000_000_000L);
+
+        assertThat(cache.get(PKG_KEY).live()).isTrue();
+        verify(policyReader, times(2)).getPackage(PKG_KEY);
+    }
+
+    @Test
+    @DisplayName("An indexed event for the packageKey evicts its entry")
+    void indexedEvent_evicts() {
+        cache.get(PKG_KEY);
+        DecodedEvent event = new DecodedEvent("CheckIn", PKG_KEY, 490L, "0xBLOCK490",
+            "0xTX490", 0, Map.of());
+
+        cache.onIndexedEvent(new IndexedEventNotification(event, "0xPROXY", Instant.EPOCH, "{}"));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(PKG_KEY).live()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Disabled cache always reads live and stores nothing")
+    void disabled_alwaysLive() {
+        PackageViewCache off = new PackageViewCache(policyReader, chainHead, false, 12, 2, nanos::get);
+
+        off.get(PKG_KEY);
+        assertThat(off.get(PKG_KEY).live()).isTrue();
+        assertThat(off.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Least recently used entry is dropped beyond max-entries")
+    void sizeBound_evictsEldest() {
+        cache.get("0x01");
+        cache.get("0x02");
+        cache.get("0x03");
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.arcadigitalis.backend.evm;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for PackageViewDecoder: decoded getPackage responses per second
+ * for packages with 0 to 5 guardians. {@code legacy} is the previous web3j
+ * {@code FunctionReturnDecoder} path (PackageViewDecoderTest.ReferenceDecoder), kept as the baseline.
+ * <p>
+ * Run: {@code mvn test-compile} then {@code java -cp "target/test-classes:target/classes:$(mvn -q
+ * dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" org.openjdk.jmh.Main PackageViewDecoderBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageViewDecoderBenchmark {
+
+    private static final int BATCH = 6;
+
+    private List<String> responses;
+
+    @Setup
+    public void setUp() {
+        List<String> mix = new ArrayList<>(BATCH);
+        for (int guardianCount = 0; guardianCount < BATCH; guardianCount++) {
+            List<Address> guardians = new ArrayList<>();
+            for (int i = 0; i < guardianCount; i++) {
+                guardians.add(new Address("0x" + String.format("%02x", 0x30 + i).repeat(20)));
+            }
+            mix.add("0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Uint8(1),
+                new Address("0x" + "11".repeat(20)),
+                new Address("0x" + "22".repeat(20)),
+                new Utf8String("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi"),
+                new DynamicArray<>(Address.class, guardians),
+                new Uint256(Math.max(1, guardianCount / 2)),
+                new Uint256(0), new Uint256(guardianCount / 2),
+                new Uint256(86_400), new Uint256(604_800), new Uint256(259_200),
+                new Uint256(1_750_000_000L), new Uint256(1_780_000_000L),
+                new Uint256(0), new Uint256(0))));
+        }
+        responses = mix;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void current(Blackhole bh) {
+        for (String response : responses) {
+            bh.consume(PackageViewDecoder.decode(response));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void legacy(Blackhole bh) {
+        for (String response : responses) {
+            bh.consume(PackageViewDecoderTest.ReferenceDecoder.decode(response));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PackageViewDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,164 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Differential tests for PackageViewDecoder against web3j's FunctionReturnDecoder over the
+ * same getPackage output layout.
+ * Tests: guardian counts, manifest encodings, timestamps, every status, empty and malformed data.
+ */
+class PackageViewDecoderTest {
+
+    private static final String[] STATUS_NAMES = {
+        "DRAFT", "ACTIVE", "WARNING", "PENDING_RELEASE", "CLAIMABLE", "RELEASED", "REVOKED"
+    };
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 5})
+    @DisplayName("Guardian arrays of any length decode like web3j")
+    void guardianCounts_matchReference(int guardianCount) {
+        List<Address> guardians = new ArrayList<>();
+        for (int i = 0; i < guardianCount; i++) {
+            guardians.add(new Address("0x" + String.format("%02x", i + 0x30).repeat(20)));
+        }
+        String hex = encode(1, "ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi",
+            guardians, 1_750_000_000L);
+
+        assertMatchesReference(hex);
+        assertThat(PackageViewDecoder.decode(hex).guardians()).hasSize(guardianCount);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ipfs://x", "https://example.org/manifest/ünïcødé/🔐.json",
+        "a-manifest-uri-that-is-exactly-sixty-four-bytes-long-padding-xyz"})
+    @DisplayName("Empty, multi-word and non-ASCII manifest URIs decode like web3j")
+    void manifestUris_matchReference(String manifestUri) {
+        String hex = encode(2, manifestUri, List.of(new Address("0x" + "44".repeat(20))), 1_750_000_000L);
+
+        assertMatchesReference(hex);
+        assertThat(PackageViewDecoder.decode(hex).manifestUri()).isEqualTo(manifestUri);
+    }
+
+    @Test
+    @DisplayName("Every status index maps to its name; out-of-range falls back to DRAFT")
+    void statuses_matchReference() {
+        for (int status = 0; status <= 7; status++) {
+            String hex = encode(status, "ipfs://x", List.of(), 0);
+
+            assertMatchesReference(hex);
+            assertThat(PackageViewDecoder.decode(hex).status())
+                .isEqualTo(status < STATUS_NAMES.length ? STATUS_NAMES[status] : "DRAFT");
+        }
+    }
+
+    @Test
+    @DisplayName("Zero timestamps decode to null; large ones to the same Instant as web3j")
+    void timestamps_matchReference() {
+        assertThat(PackageViewDecoder.decode(encode(1, "ipfs://x", List.of(), 0)).lastCheckIn()).isNull();
+
+        String hex = encode(1, "ipfs://x", List.of(), 32_503_680_000L);
+        assertMatchesReference(hex);
+        assertThat(PackageViewDecoder.decode(hex).lastCheckIn()).isEqualTo(Instant.ofEpochSecond(32_503_680_000L));
+    }
+
+    @Test
+    @DisplayName("Empty return data (unknown package) decodes to a DRAFT view")
+    void emptyData_isDraft() {
+        assertThat(PackageViewDecoder.decode("0x")).isEqualTo(PackageView.draft());
+        assertThat(PackageViewDecoder.decode("")).isEqualTo(PackageView.draft());
+    }
+
+    @Test
+    @DisplayName("Truncated data or an out-of-range offset is rejected")
+    void malformedData_rejected() {
+        String hex = encode(1, "ipfs://x", List.of(new Address("0x" + "44".repeat(20))), 1L);
+
+        assertThatThrownBy(() -> PackageViewDecoder.decode(hex.substring(0, 2 + 64 * 10)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackageViewDecoder.decode(hex.substring(0, hex.length() - 64)))
+            .isInstanceOf(IllegalArgumentException.class);
+        String badOffset = hex.substring(0, 2 + 64 * 3) + "f".repeat(64) + hex.substring(2 + 64 * 4);
+        assertThatThrownBy(() -> PackageViewDecoder.decode(badOffset))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private static String encode(int status, String manifestUri, List<Address> guardians, long timestamp) {
+        return "0x" + FunctionEncoder.encodeConstructor(List.of(
+            new Uint8(status),
+            new Address("0x" + "Aa".repeat(20)),
+            new Address("0x" + "bB".repeat(20)),
+            new Utf8String(manifestUri),
+            new DynamicArray<>(Address.class, guardians),
+            new Uint256(guardians.size()),
+            new Uint256(1), new Uint256(2),
+            new Uint256(86_400), new Uint256(604_800), new Uint256(259_200),
+            new Uint256(timestamp), new Uint256(timestamp + 1),
+            new Uint256(0), new Uint256(BigInteger.valueOf(timestamp).shiftLeft(1))));
+    }
+
+    private static void assertMatchesReference(String hex) {
+        assertThat(PackageViewDecoder.decode(hex)).isEqualTo(ReferenceDecoder.decode(hex));
+    }
+
+    /** web3j decoding of the same layout, as PolicyReader did before PackageViewDecoder. */
+    static final class ReferenceDecoder {
+
+        private static final List<TypeReference<Type>> OUTPUTS = Utils.convert(List.of(
+            new TypeReference<Uint8>() {}, new TypeReference<Address>() {}, new TypeReference<Address>() {},
+            new TypeReference<Utf8String>() {}, new TypeReference<DynamicArray<Address>>() {},
+            new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {}));
+
+        @SuppressWarnings("unchecked")
+        static PackageView decode(String hex) {
+            List<Type> d = FunctionReturnDecoder.decode(hex, OUTPUTS);
+            if (d.isEmpty()) {
+                return PackageView.draft();
+            }
+            int statusIndex = ((Uint8) d.get(0)).getValue().intValue();
+            return new PackageView(
+                statusIndex < STATUS_NAMES.length ? STATUS_NAMES[statusIndex] : "DRAFT",
+                ((Address) d.get(1)).getValue(), ((Address) d.get(2)).getValue(),
+                ((Utf8String) d.get(3)).getValue(),
+                ((DynamicArray<Address>) d.get(4)).getValue().stream().map(Address::getValue).toList(),
+                uint(d, 5).intValue(), uint(d, 6).intValue(), uint(d, 7).intValue(),
+                uint(d, 8).longValue(), uint(d, 9).longValue(), uint(d, 10).intValue(),
+                instant(d, 11), instant(d, 12), instant(d, 13), instant(d, 14));
+        }
+
+        private static BigInteger uint(List<Type> d, int index) {
+            return ((Uint256) d.get(index)).getValue();
+        }
+
+        private static Instant instant(List<Type> d, int index) {
+            BigInteger value = uint(d, index);
+            return value.signum() == 0 ? null : Instant.ofEpochSecond(value.longValue());
+        }
+    }
+}
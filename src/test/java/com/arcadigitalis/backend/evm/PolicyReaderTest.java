@@ -0,0 +1,176 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyReader.getPackages against a stubbed JSON-RPC.
+ * Tests: one aggregate3 eth_call per chunk, per-call failure handling, de-duplication,
+ * reads pinned and memoized by a ReadContext.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyReaderTest {
+
+    @Mock private Web3j web3j;
+    @Mock private Web3jConfig config;
+    @Mock private Request<?, EthCall> callRequest;
+    @Mock private Request<?, EthBlockNumber> blockNumberRequest;
+
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG_A = "0x" + "aa".repeat(32);
+    private static final String PKG_B = "0x" + "bb".repeat(32);
+    private static final String PKG_C = "0x" + "cc".repeat(32);
+
+    @BeforeEach
+    void setUp() {
+        when(config.getProxyAddress()).thenReturn(PROXY);
+        doReturn(callRequest).when(web3j).ethCall(any(Transaction.class), any(DefaultBlockParameter.class));
+    }
+
+    @Test
+    @DisplayName("Packages are read in one aggregate3 call; reverted sub-calls are left out")
+    void getPackages_singleMulticall() throws Exception {
+        when(callRequest.send()).thenReturn(ethCall(aggregate3Result(
+            new Multicall3Codec.Result(true, packageViewData(1, 1_700_000_000L)),
+            new Multicall3Codec.Result(false, "0x"))));
+
+        PolicyReader reader = new PolicyReader(web3j, config, new RequestCoalescer(), RpcBatcher.direct(web3j), Multicall3Codec.DEFAULT_ADDRESS, 100);
+        Map<String, PackageView> views = reader.getPackages(List.of(PKG_A, PKG_B, PKG_A));
+
+        assertThat(views).containsOnlyKeys(PKG_A);
+        assertThat(views.get(PKG_A).status()).isEqualTo("ACTIVE");
+        assertThat(views.get(PKG_A).lastCheckIn().getEpochSecond()).isEqualTo(1_700_000_000L);
+
+        ArgumentCaptor<Transaction> tx = ArgumentCaptor.forClass(Transaction.class);
+        verify(web3j).ethCall(tx.capture(), any(DefaultBlockParameter.class));
+        assertThat(tx.getValue().getTo()).isEqualTo(Multicall3Codec.DEFAULT_ADDRESS);
+        assertThat(tx.getValue().getData()).startsWith("0x82ad56cb");
+    }
+
+    @Test
+    @DisplayName("Keys beyond the chunk size go into further aggregate3 calls")
+    void getPackages_chunked() throws Exception {
+        when(callRequest.send())
+            .thenReturn(ethCall(aggregate3Result(
+                new Multicall3Codec.Result(true, packageViewData(1, 0)),
+                new Multicall3Codec.Result(true, packageViewData(2, 0)))))
+            .thenReturn(ethCall(aggregate3Result(
+                new Multicall3Codec.Result(true, packageViewData(5, 0)))));
+
+        PolicyReader reader = new PolicyReader(web3j, config, new RequestCoalescer(), RpcBatcher.direct(web3j), Multicall3Codec.DEFAULT_ADDRESS, 2);
+        Map<String, PackageView> views = reader.getPackages(List.of(PKG_A, PKG_B, PKG_C));
+
+        assertThat(views.keySet()).containsExactly(PKG_A, PKG_B, PKG_C);
+        assertThat(views.get(PKG_C).status()).isEqualTo("RELEASED");
+        verify(web3j, times(2)).ethCall(any(Transaction.class), any(DefaultBlockParameter.class));
+    }
+
+    @Test
+    @DisplayName("Inside a ReadContext every read goes to one resolved block; identical reads are sent once")
+    void readContext_pinsAndMemoizes() throws Exception {
+        EthBlockNumber head = new EthBlockNumber();
+        head.setResult("0x10");
+        doReturn(blockNumberRequest).when(web3j).ethBlockNumber();
+        when(blockNumberRequest.send()).thenReturn(head);
+        when(callRequest.send())
+            .thenReturn(ethCall(packageViewData(1, 1_700_000_000L)))
+            .thenReturn(ethCall("0x" + word(1)));
+
+        PolicyReader reader = new PolicyReader(web3j, config, new RequestCoalescer(), RpcBatcher.direct(web3j), "", 100);
+        String status = ReadContext.pinned(() -> {
+            reader.getPackage(PKG_A);
+            reader.getPackage(PKG_A);
+            return reader.getPackageStatus(PKG_A);
+        });
+
+        assertThat(status).isEqualTo("ACTIVE");
+        verify(web3j, times(1)).ethBlockNumber();
+        ArgumentCaptor<DefaultBlockParameter> blocks = ArgumentCaptor.forClass(DefaultBlockParameter.class);
+        verify(web3j, times(2)).ethCall(any(Transaction.class), blocks.capture());
+        assertThat(blocks.getAllValues()).extracting(DefaultBlockParameter::getValue).containsOnly("0x10");
+    }
+
+    @Test
+    @DisplayName("Outside a ReadContext reads go to latest and are not memoized")
+    void noReadContext_readsLatest() throws Exception {
+        when(callRequest.send()).thenReturn(ethCall(packageViewData(1, 0)));
+
+        PolicyReader reader = new PolicyReader(web3j, config, new RequestCoalescer(), RpcBatcher.direct(web3j), "", 100);
+        reader.getPackage(PKG_A);
+        reader.getPackage(PKG_A);
+
+        verify(web3j, never()).ethBlockNumber();
+        verify(web3j, times(2)).ethCall(any(Transaction.class), eq(DefaultBlockParameterName.LATEST));
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private static EthCall ethCall(String result) {
+        EthCall call = new EthCall();
+        call.setResult(result);
+        return call;
+    }
+
+    /** ABI-encoded getPackage return tuple with the given status and lastCheckIn. */
+    private static String packageViewData(int status, long lastCheckIn) {
+        return "0x" + FunctionEncoder.encodeConstructor(List.of(
+            new Uint8(status),
+            new Address("0x" + "11".repeat(20)),
+            new Address("0x" + "22".repeat(20)),
+            new Utf8String("ipfs://QmTest"),
+            new DynamicArray<>(Address.class, List.of(new Address("0x" + "33".repeat(20)))),
+            new Uint256(1), new Uint256(0), new Uint256(0),
+            new Uint256(86_400), new Uint256(604_800), new Uint256(259_200),
+            new Uint256(lastCheckIn), new Uint256(0), new Uint256(0), new Uint256(0)));
+    }
+
+    /** ABI-encoded {@code (bool,bytes)[]} as returned by Multicall3 aggregate3. */
+    private static String aggregate3Result(Multicall3Codec.Result... results) {
+        List<String> tuples = new ArrayList<>();
+        for (Multicall3Codec.Result result : results) {
+            String data = result.returnData().substring(2);
+            tuples.add(word(result.success() ? 1 : 0) + word(0x40) + word(data.length() / 2)
+                + data + "0".repeat((64 - data.length() % 64) % 64));
+        }
+        StringBuilder out = new StringBuilder("0x").append(word(0x20)).append(word(results.length));
+        long offset = 32L * results.length;
+        for (String tuple : tuples) {
+            out.append(word(offset));
+            offset += tuple.length() / 2;
+        }
+        tuples.forEach(out::append);
+        return out.toString();
+    }
+
+    private static String word(long value) {
+        return String.format("%064x", value);
+    }
+}
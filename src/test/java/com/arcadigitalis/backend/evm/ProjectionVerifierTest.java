@@ -0,0 +1,139 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
+import com.arcadigitalis.backend.evm.ProjectionVerifier.ProjectedPackage;
+import com.arcadigitalis.backend.evm.ProjectionVerifier.RunSummary;
+import com.arcadigitalis.backend.persistence.repository.PackageCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectionVerifier.
+ * Tests: field-level comparison, clock-derived statuses, reads pinned to the cursor block,
+ * grace period fill-in, cumulative drift counters.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectionVerifierTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PackageCacheRepository packageCacheRepository;
+    @Mock private PolicyReader policyReader;
+    @Mock private Web3jConfig config;
+
+    private ProjectionVerifier verifier;
+
+    private static final long CHAIN_ID = 11155111L;
+    private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
+    private static final String OWNER = "0x" + "11".repeat(20);
+    private static final String GUARDIAN = "0x" + "22".repeat(20);
+    private static final Instant CHECK_IN = Instant.parse("2026-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        verifier = new ProjectionVerifier(jdbcTemplate, packageCacheRepository, policyReader, config, true, 50);
+    }
+
+    @Test
+    @DisplayName("A projection matching the chain has no mismatches; addresses compare case-insensitively")
+    void compare_matchingProjection() {
+        PackageView view = view("ACTIVE", 1, CHECK_IN);
+        ProjectedPackage row = projected("ACTIVE", 1, CHECK_IN, 259_200, 120L);
+
+        assertThat(ProjectionVerifier.compare(row, view)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Clock-derived WARNING and CLAIMABLE match the stored ACTIVE and PENDING_RELEASE")
+    void compare_clockDerivedStatuses() {
+        assertThat(ProjectionVerifier.compare(projected("ACTIVE", 0, CHECK_IN, 259_200, 120L),
+            view("WARNING", 0, CHECK_IN))).isEmpty();
+        assertThat(ProjectionVerifier.compare(projected("PENDING_RELEASE", 0, CHECK_IN, 259_200, 120L),
+            view("CLAIMABLE", 0, CHECK_IN))).isEmpty();
+        assertThat(ProjectionVerifier.compare(projected("ACTIVE", 0, CHECK_IN, 259_200, 120L),
+            view("RELEASED", 0, CHECK_IN))).containsExactly("status");
+    }
+
+    @Test
+    @DisplayName("Every differing field is reported by name")
+    void compare_reportsEachField() {
+        ProjectedPackage row = projected("ACTIVE", 2, CHECK_IN.minusSeconds(60), 259_200, 120L);
+
+        assertThat(ProjectionVerifier.compare(row, view("ACTIVE", 1, CHECK_IN)))
+            .containsExactly("approvalCount", "lastCheckIn");
+    }
+
+    @Test
+    @DisplayName("Reads are pinned to the cursor block; a missing grace period is filled, not drift")
+    @SuppressWarnings("unchecked")
+    void verifySample_pinsToCursorAndFillsGracePeriod() {
+        when(config.getChainId()).thenReturn(CHAIN_ID);
+        when(config.getProxyAddress()).thenReturn(PROXY);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(projected("ACTIVE", 1, CHECK_IN, null, 120L)))
+            .thenReturn(List.of());
+        AtomicReference<Long> pinnedBlock = new AtomicReference<>();
+        when(policyReader.getPackages(List.of(PKG))).thenAnswer(inv -> {
+            pinnedBlock.set(ReadContext.current().blockNumber(() -> -1L));
+            return Map.of(PKG, view("ACTIVE", 1, CHECK_IN));
+        });
+
+        RunSummary summary = verifier.verifySample();
+
+        assertThat(pinnedBlock.get()).isEqualTo(120L);
+        assertThat(summary.checked()).isEqualTo(1);
+        assertThat(summary.drifted()).isZero();
+        verify(packageCacheRepository).fillGracePeriod(CHAIN_ID, PROXY, PKG, 259_200);
+        assertThat(ReadContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Drift is counted per package and per field across runs")
+    @SuppressWarnings("unchecked")
+    void verifySample_countsDrift() {
+        when(config.getChainId()).thenReturn(CHAIN_ID);
+        when(config.getProxyAddress()).thenReturn(PROXY);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(projected("ACTIVE", 0, CHECK_IN, 259_200, 120L)))
+            .thenReturn(List.of());
+        when(policyReader.getPackages(List.of(PKG))).thenReturn(Map.of(PKG, view("ACTIVE", 1, CHECK_IN)));
+
+        verifier.verifySample();
+
+        ProjectionVerifier.DriftStats stats = verifier.stats();
+        assertThat(stats.runs()).isEqualTo(1);
+        assertThat(stats.checked()).isEqualTo(1);
+        assertThat(stats.drifted()).isEqualTo(1);
+        assertThat(stats.fieldMismatches()).containsEntry("approvalCount", 1L);
+        verify(packageCacheRepository, never()).fillGracePeriod(anyLong(), anyString(), anyString(), anyInt());
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private static PackageView view(String status, int approvals, Instant lastCheckIn) {
+        return new PackageView(status, OWNER, null, "ipfs://m", List.of(GUARDIAN), 1, 0, approvals,
+            86_400L, 604_800L, 259_200, lastCheckIn, null, null, null);
+    }
+
+    private static ProjectedPackage projected(String status, int approvals, Instant lastCheckIn,
+                                              Integer gracePeriodSeconds, Long cursorBlock) {
+        return new ProjectedPackage(PKG, status, OWNER.toUpperCase().replace("0X", "0x"), null, "ipfs://m",
+            List.of(GUARDIAN), 1, 0, approvals, 86_400L, 604_800L, gracePeriodSeconds, lastCheckIn,
+            null, null, null, cursorBlock);
+    }
+}
@@ -0,0 +1,115 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.evm.BlockHeaderFetcher.BlockHeader;
+import com.arcadigitalis.backend.evm.ReorgDetector.UnstableRangeException;
+import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReorgDetector.
+ * Tests: continuity pass, deep fork walk-back to the common ancestor, unstable ranges, ring bound.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReorgDetectorTest {
+
+    @Mock private BlockHeaderFetcher headerFetcher;
+    @Mock private BlockHeaderCache headerCache;
+    @Mock private ProcessedBlockRepository processedBlockRepository;
+    @Mock private Web3jConfig config;
+
+    private ReorgDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new ReorgDetector(headerFetcher, headerCache, processedBlockRepository, config, 16);
+        // Committed canonical chain "a" for blocks 100..109
+        detector.record(chain("a", 100, 109, "a"));
+    }
+
+    @Test
+    @DisplayName("A range whose first parentHash matches the buffer is not a reorg — no RPC, no DB")
+    void continuousRange_noReorg() {
+        long result = detector.findCommonAncestor(chain("a", 110, 112, "a"));
+
+        assertThat(result).isEqualTo(ReorgDetector.NO_REORG);
+        verifyNoInteractions(headerFetcher, processedBlockRepository);
+    }
+
+    @Test
+    @DisplayName("A fork several blocks deep walks back to the true common ancestor")
+    void deepFork_findsCommonAncestor() {
+        // Canonical chain now diverges after block 104: 105..109 were replaced by branch "b"
+        Map<Long, BlockHeader> canonical = new HashMap<>();
+        for (long n = 100; n <= 104; n++) canonical.put(n, header(n, "a", "a"));
+        for (long n = 105; n <= 109; n++) canonical.put(n, header(n, "b", n == 105 ? "a" : "b"));
+        when(headerFetcher.fetchHeaders(anyCollection())).thenReturn(canonical);
+
+        long ancestor = detector.findCommonAncestor(List.of(header(110, "b", "b")));
+
+        assertThat(ancestor).isEqualTo(104L);
+        verify(headerCache).evictFrom(99L); // 99 is known through block 100's parentHash
+    }
+
+    @Test
+    @DisplayName("rewindTo drops buffered headers above the ancestor")
+    void rewind_dropsBufferedHeaders() {
+        detector.rewindTo(104L);
+
+        assertThat(detector.hashAt(104L)).isEqualTo(hash("a", 104));
+        assertThat(detector.hashAt(105L)).isNull();
+    }
+
+    @Test
+    @DisplayName("A range whose own headers do not link is rejected for retry")
+    void unlinkedRange_isUnstable() {
+        List<BlockHeader> broken = List.of(header(110, "a", "a"), header(111, "c", "c"));
+
+        assertThatThrownBy(() -> detector.findCommonAncestor(broken))
+            .isInstanceOf(UnstableRangeException.class);
+    }
+
+    @Test
+    @DisplayName("Ring keeps only the last N headers")
+    void ring_isBounded() {
+        detector.record(chain("a", 110, 125, "a"));
+
+        assertThat(detector.hashAt(109L)).isNull();
+        assertThat(detector.hashAt(110L)).isEqualTo(hash("a", 110));
+        assertThat(detector.hashAt(125L)).isEqualTo(hash("a", 125));
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    /** Headers {@code from..to} on branch {@code branch}; the first links to {@code parentBranch}. */
+    private static List<BlockHeader> chain(String branch, long from, long to, String parentBranch) {
+        List<BlockHeader> headers = new ArrayList<>();
+        for (long n = from; n <= to; n++) {
+            headers.add(header(n, branch, n == from ? parentBranch : branch));
+        }
+        return headers;
+    }
+
+    private static BlockHeader header(long number, String branch, String parentBranch) {
+        return new BlockHeader(number, hash(branch, number), hash(parentBranch, number - 1), Instant.EPOCH);
+    }
+
+    private static String hash(String branch, long number) {
+        return "0x" + branch.repeat(2) + String.format("%062x", number);
+    }
+}
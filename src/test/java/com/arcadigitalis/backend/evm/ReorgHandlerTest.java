@@ -1,77 +1,93 @@
 package com.arcadigitalis.backend.evm;
 
+import com.arcadigitalis.backend.evm.EventDecoder.DecodedEvent;
+import com.arcadigitalis.backend.evm.EventIngestor.IndexedLog;
+import com.arcadigitalis.backend.persistence.entity.EventRecordEntity;
 import com.arcadigitalis.backend.persistence.repository.EventRecordRepository;
+import com.arcadigitalis.backend.persistence.repository.IndexerCursorRepository;
+import com.arcadigitalis.backend.persistence.repository.PackageCacheRepository;
 import com.arcadigitalis.backend.persistence.repository.ProcessedBlockRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ReorgHandler — T093.
- * Tests: no reorg, detected reorg, first-seen block.
+ * Tests: rewind of events/blocks/cursor, package_cache rebuild from surviving events.
  */
 @ExtendWith(MockitoExtension.class)
 class ReorgHandlerTest {
 
     @Mock private ProcessedBlockRepository processedBlockRepository;
     @Mock private EventRecordRepository eventRecordRepository;
+    @Mock private IndexerCursorRepository cursorRepository;
+    @Mock private PackageCacheRepository packageCacheRepository;
+    @Mock private EventIngestor eventIngestor;
+    @Mock private BlockHeaderCache headerCache;
 
     private ReorgHandler handler;
 
     private static final long CHAIN_ID = 11155111L;
     private static final String PROXY = "0x1234567890abcdef1234567890abcdef12345678";
+    private static final String PKG = "0x" + "ab".repeat(32);
 
     @BeforeEach
     void setUp() {
-        handler = new ReorgHandler(processedBlockRepository, eventRecordRepository);
+        handler = new ReorgHandler(processedBlockRepository, eventRecordRepository, cursorRepository,
+            packageCacheRepository, eventIngestor, headerCache);
     }
 
     @Test
-    @DisplayName("No reorg when block hashes match — no deletions")
-    void noReorg_whenHashesMatch() {
-        var storedBlock = mock(com.arcadigitalis.backend.persistence.entity.ProcessedBlockEntity.class);
-        when(storedBlock.getBlockHash()).thenReturn("0xAABB");
-        when(processedBlockRepository.findByChainIdAndProxyAddressAndBlockNumber(CHAIN_ID, PROXY, 100L))
-            .thenReturn(Optional.of(storedBlock));
+    @DisplayName("Rewind deletes events and blocks above the ancestor and moves the cursor back")
+    void rewind_deletesAboveAncestor() {
+        when(eventRecordRepository.findDistinctPackageKeysAbove(CHAIN_ID, PROXY, 95L)).thenReturn(List.of());
 
-        handler.checkAndHandleReorg(CHAIN_ID, PROXY, 100L, "0xAABB");
+        handler.rewindTo(CHAIN_ID, PROXY, 95L);
 
-        verify(eventRecordRepository, never()).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(anyLong(), anyString(), anyLong());
+        verify(eventRecordRepository).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(CHAIN_ID, PROXY, 95L);
+        verify(processedBlockRepository).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(CHAIN_ID, PROXY, 95L);
+        verify(cursorRepository).rewindTo(CHAIN_ID, PROXY, 95L);
+        verify(headerCache).evictFrom(96L);
+        verifyNoInteractions(packageCacheRepository, eventIngestor);
     }
 
     @Test
-    @DisplayName("Reorg detected when block hashes differ — deletes from fork point")
-    void reorgDetected_deletesFromForkPoint() {
-        var storedBlock = mock(com.arcadigitalis.backend.persistence.entity.ProcessedBlockEntity.class);
-        when(storedBlock.getBlockHash()).thenReturn("0xOLDHASH");
-        when(processedBlockRepository.findByChainIdAndProxyAddressAndBlockNumber(CHAIN_ID, PROXY, 100L))
-            .thenReturn(Optional.of(storedBlock));
-
-        handler.checkAndHandleReorg(CHAIN_ID, PROXY, 100L, "0xNEWHASH");
-
-        // Should delete events and blocks from forkPoint-1 = 99
-        verify(eventRecordRepository).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
-            eq(CHAIN_ID), eq(PROXY), eq(99L));
-        verify(processedBlockRepository).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(
-            eq(CHAIN_ID), eq(PROXY), eq(99L));
-    }
-
-    @Test
-    @DisplayName("First-seen block (not in DB) — no reorg check")
-    void firstSeenBlock_noAction() {
-        when(processedBlockRepository.findByChainIdAndProxyAddressAndBlockNumber(CHAIN_ID, PROXY, 100L))
-            .thenReturn(Optional.empty());
-
-        handler.checkAndHandleReorg(CHAIN_ID, PROXY, 100L, "0xANYHASH");
-
-        verify(eventRecordRepository, never()).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(anyLong(), anyString(), anyLong());
+    @DisplayName("Affected packages are reset and rebuilt from their surviving events")
+    @SuppressWarnings("unchecked")
+    void rewind_rebuildsAffectedPackages() {
+        when(eventRecordRepository.findDistinctPackageKeysAbove(CHAIN_ID, PROXY, 95L)).thenReturn(List.of(PKG));
+        EventRecordEntity survivor = new EventRecordEntity(CHAIN_ID, PROXY, PKG, "PackageActivated", PROXY,
+            90L, "0xB90", "0xTX90", 0, Instant.EPOCH, "{\"owner\":\"0xOwner\"}");
+        when(eventRecordRepository.findByChainIdAndProxyAddressAndPackageKeyInOrderByBlockNumberAscLogIndexAsc(
+            CHAIN_ID, PROXY, List.of(PKG))).thenReturn(List.of(survivor));
+
+        int rebuilt = handler.rewindTo(CHAIN_ID, PROXY, 95L);
+
+        assertThat(rebuilt).isEqualTo(1);
+        InOrder order = inOrder(eventRecordRepository, packageCacheRepository, eventIngestor);
+        order.verify(eventRecordRepository).deleteByChainIdAndProxyAddressAndBlockNumberGreaterThan(CHAIN_ID, PROXY, 95L);
+        order.verify(packageCacheRepository).resetProjection(CHAIN_ID, PROXY, List.of(PKG));
+        order.verify(packageCacheRepository).deleteGuardians(CHAIN_ID, PROXY, List.of(PKG));
+        ArgumentCaptor<List<IndexedLog>> replayed = ArgumentCaptor.forClass(List.class);
+        order.verify(eventIngestor).applyToPackageCache(eq(CHAIN_ID), eq(PROXY), replayed.capture());
+        order.verify(packageCacheRepository).deleteUnindexed(CHAIN_ID, PROXY, List.of(PKG));
+
+        IndexedLog indexed = replayed.getValue().get(0);
+        assertThat(indexed.blockTimestamp()).isEqualTo(Instant.EPOCH);
+        DecodedEvent event = indexed.event();
+        assertThat(event.eventType()).isEqualTo("PackageActivated");
+        assertThat(event.rawData()).containsEntry("owner", "0xOwner");
     }
 }
@@ -0,0 +1,115 @@
+package com.arcadigitalis.backend.evm;
+
+import com.arcadigitalis.backend.api.exception.RpcUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RequestCoalescer.
+ * Tests: concurrent callers share one call, failures reach every waiter, no reuse after completion.
+ */
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    @DisplayName("Concurrent callers for the same key share one in-flight call")
+    void concurrentSameKey_oneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> coalescer.execute("k", () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "view";
+            })));
+            while (calls.get() == 0) Thread.onSpinWait();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> coalescer.execute("k", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            waitFor(() -> coalescer.coalescedCount() == 4);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("view");
+            }
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failing in-flight call rethrows the same exception to every waiter")
+    void failure_propagatesToWaiters() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = pool.submit(() -> coalescer.execute("k", () -> {
+                started.countDown();
+                await(release);
+                throw new RpcUnavailableException("down");
+            }));
+            started.await();
+            Future<Object> follower = pool.submit(() -> coalescer.execute("k", () -> "unused"));
+            waitFor(() -> coalescer.coalescedCount() == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RpcUnavailableException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RpcUnavailableException.class);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Completed calls are not reused, and distinct keys never coalesce")
+    void sequentialAndDistinctKeys_notCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.execute("a", calls::incrementAndGet);
+        coalescer.execute("a", calls::incrementAndGet);
+        coalescer.execute("b", calls::incrementAndGet);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(coalescer.coalescedCount()).isZero();
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("condition not reached");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.arcadigitalis.backend.evm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RpcBatcher.
+ * Tests: full window sent as one batch matched by id, direct mode, batch failure, missing response.
+ */
+@ExtendWith(MockitoExtension.class)
+class RpcBatcherTest {
+
+    @Mock private Web3j web3j;
+    @Mock private Web3jService service;
+    @Mock private BatchRequest batchRequest;
+    @Mock private BatchResponse batchResponse;
+
+    private RpcBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) batcher.stop();
+    }
+
+    @Test
+    @DisplayName("A full window goes out as one JSON-RPC batch and responses are matched by id")
+    void fullWindow_oneBatchMatchedById() throws Exception {
+        batcher = new RpcBatcher(web3j, 10_000, 2, 5_000);
+        Request<?, EthBlockNumber> first = blockNumberRequest();
+        Request<?, EthBlockNumber> second = blockNumberRequest();
+        when(web3j.newBatch()).thenReturn(batchRequest);
+        when(batchRequest.send()).thenReturn(batchResponse);
+        // Provider answers out of order
+        doReturn(List.of(blockNumber(second, "0x2"), blockNumber(first, "0x1"))).when(batchResponse).getResponses();
+
+        CompletableFuture<EthBlockNumber> a = batcher.submit(first);
+        CompletableFuture<EthBlockNumber> b = batcher.submit(second);
+
+        assertThat(a.get(5, TimeUnit.SECONDS).getBlockNumber().longValue()).isEqualTo(1);
+        assertThat(b.get(5, TimeUnit.SECONDS).getBlockNumber().longValue()).isEqualTo(2);
+        verify(web3j, times(1)).newBatch();
+        verify(batchRequest, times(2)).add(any());
+        assertThat(batcher.stats().batches()).isEqualTo(1);
+        assertThat(batcher.stats().largestBatch()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A window holding one request is flushed by the timer as a plain call")
+    void singleRequest_flushedAsPlainCall() throws Exception {
+        batcher = new RpcBatcher(web3j, 5, 50, 5_000);
+        Request<?, EthBlockNumber> request = blockNumberRequest();
+        when(service.send(any(), eq(EthBlockNumber.class))).thenReturn(blockNumber(request, "0x7"));
+
+        EthBlockNumber response = batcher.send(request);
+
+        assertThat(response.getBlockNumber().longValue()).isEqualTo(7);
+        verify(web3j, never()).newBatch();
+    }
+
+    @Test
+    @DisplayName("Direct mode sends immediately and still counts the call")
+    void direct_sendsImmediately() throws Exception {
+        batcher = RpcBatcher.direct(web3j);
+        Request<?, EthBlockNumber> request = blockNumberRequest();
+        when(service.send(any(), eq(EthBlockNumber.class))).thenReturn(blockNumber(request, "0x9"));
+
+        assertThat(batcher.send(request).getBlockNumber().longValue()).isEqualTo(9);
+        assertThat(batcher.stats().requests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failed batch call fails every request in it")
+    void batchFailure_failsAll() throws Exception {
+        batcher = new RpcBatcher(web3j, 10_000, 2, 5_000);
+        when(web3j.newBatch()).thenReturn(batchRequest);
+        when(batchRequest.send()).thenThrow(new IOException("connection reset"));
+
+        CompletableFuture<EthBlockNumber> a = batcher.submit(blockNumberRequest());
+        CompletableFuture<EthBlockNumber> b = batcher.submit(blockNumberRequest());
+
+        assertThatThrownBy(() -> a.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> b.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        assertThat(batcher.stats().failures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A request the provider left out of the batch response fails on its own")
+    void missingResponse_failsOnlyThatRequest() throws Exception {
+        batcher = new RpcBatcher(web3j, 10_000, 2, 5_000);
+        Request<?, EthBlockNumber> answered = blockNumberRequest();
+        when(web3j.newBatch()).thenReturn(batchRequest);
+        when(batchRequest.send()).thenReturn(batchResponse);
+        doReturn(List.of(blockNumber(answered, "0x1"))).when(batchResponse).getResponses();
+
+        CompletableFuture<EthBlockNumber> a = batcher.submit(answered);
+        CompletableFuture<EthBlockNumber> b = batcher.submit(blockNumberRequest());
+
+        assertThat(a.get(5, TimeUnit.SECONDS).getBlockNumber().longValue()).isEqualTo(1);
+        assertThatThrownBy(() -> b.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private Request<?, EthBlockNumber> blockNumberRequest() {
+        return new Request<>("eth_blockNumber", List.of(), service, EthBlockNumber.class);
+    }
+
+    private static EthBlockNumber blockNumber(Request<?, EthBlockNumber> request, String hex) {
+        EthBlockNumber response = new EthBlockNumber();
+        response.setId(request.getId());
+        response.setResult(hex);
+        return response;
+    }
+}
@@ -0,0 +1,176 @@
+package com.arcadigitalis.backend.evm;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RpcEndpointRouter against WireMock JSON-RPC stand-ins.
+ * Tests: failover and cooldown, hedging past p95, no hedging for batched background calls,
+ * background budget reserve, all endpoints down.
+ */
+class RpcEndpointRouterTest {
+
+    private WireMockServer primary;
+    private WireMockServer secondary;
+    private RpcEndpointRouter router;
+
+    @BeforeEach
+    void setUp() {
+        primary = new WireMockServer(options().dynamicPort());
+        secondary = new WireMockServer(options().dynamicPort());
+        primary.start();
+        secondary.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (router != null) router.close();
+        primary.stop();
+        secondary.stop();
+    }
+
+    @Test
+    @DisplayName("A failing endpoint fails over to the next one and then cools down")
+    void serverError_failsOverAndCoolsDown() throws Exception {
+        primary.stubFor(post("/").willReturn(serverError()));
+        secondary.stubFor(post("/").willReturn(okJson(blockNumber("0x10"))));
+        router = router(false, 0, 0, 0);
+        Web3j web3j = Web3j.build(router);
+
+        assertThat(web3j.ethBlockNumber().send().getBlockNumber().longValue()).isEqualTo(16);
+        assertThat(web3j.ethBlockNumber().send().getBlockNumber().longValue()).isEqualTo(16);
+
+        primary.verify(1, postRequestedFor(urlEqualTo("/")));
+        secondary.verify(2, postRequestedFor(urlEqualTo("/")));
+        assertThat(router.stats().get(0).coolingDown()).isTrue();
+        assertThat(router.stats().get(0).failures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JSON-RPC errors are returned as-is, without failover")
+    void rpcError_notFailedOver() throws Exception {
+        primary.stubFor(post("/").willReturn(okJson(
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":3,\"message\":\"execution reverted\"}}")));
+        router = router(false, 0, 0, 0);
+
+        assertThat(Web3j.build(router).ethBlockNumber().send().hasError()).isTrue();
+
+        secondary.verify(0, postRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    @DisplayName("A call slower than the primary's p95 is hedged to the second endpoint")
+    void slowPrimary_hedged() throws Exception {
+        primary.stubFor(post("/").willReturn(okJson(blockNumber("0x1"))));
+        secondary.stubFor(post("/").willReturn(okJson(blockNumber("0x2")).withFixedDelay(100)));
+        router = router(true, 0, 0, 0);
+        Web3j web3j = Web3j.build(router);
+        // Warm up: both endpoints get latency samples, the fast primary ranks first
+        for (int i = 0; i < 5; i++) {
+            web3j.ethBlockNumber().send();
+        }
+
+        primary.stubFor(post("/").willReturn(okJson(blockNumber("0x1")).withFixedDelay(3_000)));
+        long started = System.nanoTime();
+        long block = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(block).isEqualTo(2);
+        assertThat(elapsedMs).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("A background call sent through RpcBatcher keeps its priority and is not hedged")
+    void batchedBackgroundCall_notHedged() throws Exception {
+        primary.stubFor(post("/").willReturn(okJson(blockNumber("0x1"))));
+        secondary.stubFor(post("/").willReturn(okJson(blockNumber("0x2")).withFixedDelay(100)));
+        router = router(true, 0, 0, 0);
+        Web3j web3j = Web3j.build(router);
+        for (int i = 0; i < 5; i++) {
+            web3j.ethBlockNumber().send();
+        }
+        int secondaryBefore = secondary.getAllServeEvents().size();
+
+        primary.stubFor(post("/").willReturn(okJson(blockNumber("0x1")).withFixedDelay(500)));
+        RpcBatcher batcher = new RpcBatcher(web3j, 5, 50, 5_000);
+        try {
+            long block = RpcPriority.BACKGROUND.call(() -> {
+                try {
+                    return batcher.send(web3j.ethBlockNumber()).getBlockNumber().longValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            assertThat(block).isEqualTo(1);
+            assertThat(secondary.getAllServeEvents()).hasSize(secondaryBefore);
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Background calls cannot spend the interactive reserve; interactive calls still can")
+    void backgroundBudget_reservedForInteractive() throws Exception {
+        primary.stubFor(post("/").willReturn(okJson(blockNumber("0x5"))));
+        // Warm the stub outside the router so a slow first request cannot refill the bucket
+        Web3j.build(new HttpService(primary.baseUrl())).ethBlockNumber().send();
+        router = new RpcEndpointRouter(
+            List.of(endpoint(primary, 2)), 0.5, false, 1, 1_000, 1_000, 50);
+        Web3j web3j = Web3j.build(router);
+
+        RpcPriority previous = RpcPriority.BACKGROUND.enter();
+        try {
+            web3j.ethBlockNumber().send();
+            assertThatThrownBy(() -> web3j.ethBlockNumber().send())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("budget");
+        } finally {
+            RpcPriority.restore(previous);
+        }
+
+        assertThat(web3j.ethBlockNumber().send().getBlockNumber().longValue()).isEqualTo(5);
+        primary.verify(3, postRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    @DisplayName("When every endpoint fails the last transport error is thrown")
+    void allEndpointsDown_throws() {
+        primary.stubFor(post("/").willReturn(serverError()));
+        secondary.stubFor(post("/").willReturn(aResponse().withStatus(429)));
+        router = router(false, 0, 0, 0);
+
+        assertThatThrownBy(() -> Web3j.build(router).ethBlockNumber().send()).isInstanceOf(IOException.class);
+        assertThat(router.stats()).allMatch(RpcEndpointRouter.EndpointStats::coolingDown);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────
+
+    private RpcEndpointRouter router(boolean hedging, double primaryRps, double secondaryRps, long budgetWaitMs) {
+        return new RpcEndpointRouter(
+            List.of(endpoint(primary, primaryRps), endpoint(secondary, secondaryRps)),
+            0.2, hedging, 3, 60_000, 60_000, budgetWaitMs);
+    }
+
+    private static RpcEndpointRouter.Endpoint endpoint(WireMockServer server, double requestsPerSecond) {
+        return new RpcEndpointRouter.Endpoint(server.baseUrl(), new HttpService(server.baseUrl()), requestsPerSecond);
+    }
+
+    private static String blockNumber(String hex) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"" + hex + "\"}";
+    }
+}
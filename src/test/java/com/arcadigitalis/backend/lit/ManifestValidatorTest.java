@@ -18,6 +18,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -65,7 +67,6 @@ class ManifestValidatorTest {
     @Test
     @DisplayName("Valid manifest passes all three layers")
     void validManifest_passes() {
-        when(policyReader.getPackageStatus(eq(PKG_KEY))).thenReturn("ACTIVE");
         when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(new PackageView(
             "ACTIVE", "0xOwner", BENEFICIARY, "ipfs://Qm",
             List.of(), 0, 0, 0, 0, 0, 0, null, null, null, null
@@ -75,6 +76,9 @@ class ManifestValidatorTest {
 
         assertThat(result.valid()).isTrue();
         assertThat(result.errors()).isEmpty();
+        // Status and beneficiary come from the one getPackage read
+        verify(policyReader).getPackage(PKG_KEY);
+        verifyNoMoreInteractions(policyReader);
     }
 
     @Test
@@ -96,7 +100,6 @@ class ManifestValidatorTest {
         ObjectNode manifest = buildValidManifest();
         manifest.with("policy").put("contract", "0xwrongaddress");
 
-        when(policyReader.getPackageStatus(eq(PKG_KEY))).thenReturn("ACTIVE");
         when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(new PackageView(
             "ACTIVE", "0xOwner", BENEFICIARY, "ipfs://Qm",
             List.of(), 0, 0, 0, 0, 0, 0, null, null, null, null
@@ -135,7 +138,7 @@ class ManifestValidatorTest {
     @Test
     @DisplayName("DRAFT package fails Layer 2")
     void draftPackage_failsLayer2() {
-        when(policyReader.getPackageStatus(eq(PKG_KEY))).thenReturn("DRAFT");
+        when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(PackageView.draft());
 
         ValidationResult result = validator.validate(buildValidManifest());
 
@@ -146,7 +149,6 @@ class ManifestValidatorTest {
     @Test
     @DisplayName("Requester != beneficiary fails Layer 2")
     void wrongBeneficiary_failsLayer2() {
-        when(policyReader.getPackageStatus(eq(PKG_KEY))).thenReturn("ACTIVE");
         when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(new PackageView(
             "ACTIVE", "0xOwner", "0xDifferentBeneficiary", "ipfs://Qm",
             List.of(), 0, 0, 0, 0, 0, 0, null, null, null, null
@@ -164,7 +166,6 @@ class ManifestValidatorTest {
         ObjectNode manifest = buildValidManifest();
         manifest.with("keyRelease").put("encryptedSymmetricKey", "short");
 
-        when(policyReader.getPackageStatus(eq(PKG_KEY))).thenReturn("ACTIVE");
         when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(new PackageView(
             "ACTIVE", "0xOwner", BENEFICIARY, "ipfs://Qm",
             List.of(), 0, 0, 0, 0, 0, 0, null, null, null, null
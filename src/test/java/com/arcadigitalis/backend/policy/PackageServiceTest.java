@@ -1,6 +1,11 @@
 package com.arcadigitalis.backend.policy;
 
+import com.arcadigitalis.backend.api.dto.PackageStatusBatchItem;
 import com.arcadigitalis.backend.api.dto.PackageStatusResponse;
+import com.arcadigitalis.backend.api.exception.RpcUnavailableException;
+import com.arcadigitalis.backend.api.exception.ValidationException;
+import com.arcadigitalis.backend.evm.ChainHeadTracker;
+import com.arcadigitalis.backend.evm.PackageViewCache;
 import com.arcadigitalis.backend.evm.PolicyReader;
 import com.arcadigitalis.backend.evm.PolicyReader.PackageView;
 import com.arcadigitalis.backend.evm.Web3jConfig;
@@ -15,9 +20,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -33,6 +45,7 @@ class PackageServiceTest {
     @Mock private Web3jConfig config;
     @Mock private AccTemplateBuilder accTemplateBuilder;
 
+    private ChainHeadTracker chainHead;
     private PackageService packageService;
 
     private static final String PKG_KEY = "0x" + "ab".repeat(32);
@@ -41,9 +54,12 @@ class PackageServiceTest {
 
     @BeforeEach
     void setUp() {
-        packageService = new PackageService(policyReader, config, accTemplateBuilder);
-        when(config.getChainId()).thenReturn(CHAIN_ID);
-        when(config.getProxyAddress()).thenReturn(PROXY);
+        chainHead = new ChainHeadTracker();
+        chainHead.update(100);
+        PackageViewCache cache = new PackageViewCache(policyReader, chainHead, true, 60, 100);
+        packageService = new PackageService(cache, config, accTemplateBuilder, 3, 2);
+        lenient().when(config.getChainId()).thenReturn(CHAIN_ID);
+        lenient().when(config.getProxyAddress()).thenReturn(PROXY);
     }
 
     @Test
@@ -159,6 +175,73 @@ class PackageServiceTest {
         assertThat(r.liveRead()).isTrue();
     }
 
+    @Test
+    @DisplayName("Repeat read at the same head is served from cache with liveRead=false")
+    void repeatReadAtSameHead_servedFromCache() {
+        when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(buildView("ACTIVE"));
+
+        PackageStatusResponse first = packageService.getPackageView(PKG_KEY);
+        PackageStatusResponse second = packageService.getPackageView(PKG_KEY);
+
+        assertThat(first.liveRead()).isTrue();
+        assertThat(second.liveRead()).isFalse();
+        assertThat(second.status()).isEqualTo("ACTIVE");
+        verify(policyReader, times(1)).getPackage(PKG_KEY);
+    }
+
+    @Test
+    @DisplayName("Head advancing past the cached block forces a live read")
+    void headAdvance_forcesLiveRead() {
+        when(policyReader.getPackage(eq(PKG_KEY))).thenReturn(buildView("ACTIVE"), buildView("WARNING"));
+
+        packageService.getPackageView(PKG_KEY);
+        chainHead.update(101);
+        PackageStatusResponse response = packageService.getPackageView(PKG_KEY);
+
+        assertThat(response.liveRead()).isTrue();
+        assertThat(response.status()).isEqualTo("WARNING");
+    }
+
+    @Test
+    @DisplayName("Batch status reports malformed and reverted keys inline, in request order")
+    void batch_perKeyErrorsInline() {
+        String other = "0x" + "cd".repeat(32);
+        when(policyReader.getPackages(List.of(PKG_KEY, other))).thenReturn(Map.of(PKG_KEY, buildView("ACTIVE")));
+
+        List<PackageStatusBatchItem> items = packageService.getPackageViews(List.of(PKG_KEY, "0x12", other));
+
+        assertThat(items).extracting(PackageStatusBatchItem::packageKey).containsExactly(PKG_KEY, "0x12", other);
+        assertThat(items.get(0).status().status()).isEqualTo("ACTIVE");
+        assertThat(items.get(0).error()).isNull();
+        assertThat(items.get(1).error()).isEqualTo("INVALID_PACKAGE_KEY");
+        assertThat(items.get(2).error()).isEqualTo("READ_REVERTED");
+        verify(policyReader, never()).getPackage(any());
+    }
+
+    @Test
+    @DisplayName("Batch status reads one chunk at a time; an unavailable chunk fails only its keys")
+    void batch_chunkFailureIsolated() {
+        String k2 = "0x" + "cd".repeat(32);
+        String k3 = "0x" + "ef".repeat(32);
+        when(policyReader.getPackages(List.of(PKG_KEY, k2))).thenThrow(new RpcUnavailableException("down"));
+        when(policyReader.getPackages(List.of(k3))).thenReturn(Map.of(k3, buildView("WARNING")));
+
+        List<PackageStatusBatchItem> items = packageService.getPackageViews(List.of(PKG_KEY, k2, k3));
+
+        assertThat(items).extracting(PackageStatusBatchItem::error)
+            .containsExactly("RPC_UNAVAILABLE", "RPC_UNAVAILABLE", null);
+        assertThat(items.get(2).status().status()).isEqualTo("WARNING");
+        assertThat(items.get(2).status().liveRead()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Batch status rejects more keys than the configured maximum")
+    void batch_tooManyKeys_rejected() {
+        List<String> keys = List.of(PKG_KEY, PKG_KEY, PKG_KEY, PKG_KEY);
+
+        assertThatThrownBy(() -> packageService.getPackageViews(keys)).isInstanceOf(ValidationException.class);
+    }
+
     // ── Helper ─────────────────────────────────────────────────────────────
 
     private PackageView buildView(String status) {